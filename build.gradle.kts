@@ -4,6 +4,7 @@ plugins {
     id("java")
     id("org.ajoberstar.grgit") version "5.2.1"
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 java.sourceCompatibility = JavaVersion.VERSION_21
@@ -49,6 +50,13 @@ tasks.named<Test>("test") {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc") // Reports "gc.alloc.rate.norm" (bytes/op)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 java {
     withSourcesJar()
     withJavadocJar()
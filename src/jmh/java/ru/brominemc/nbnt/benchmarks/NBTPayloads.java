@@ -0,0 +1,354 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.benchmarks;
+
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTStringPool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Realistic NBT payloads for the benchmarks.
+ * <p>
+ * All payloads are generated from a fixed seed, so the results are reproducible between runs.
+ *
+ * @author VidTu
+ */
+public final class NBTPayloads {
+    /**
+     * Seed for the payload generation.
+     */
+    private static final long SEED = 0x4E424E54L; // "NBNT"
+
+    /**
+     * Sample item IDs.
+     */
+    private static final String[] ITEMS = {
+            "minecraft:diamond_sword", "minecraft:netherite_pickaxe", "minecraft:golden_apple",
+            "minecraft:oak_log", "minecraft:cobblestone", "minecraft:ender_pearl", "minecraft:bow",
+            "minecraft:arrow", "minecraft:cooked_beef", "minecraft:torch", "minecraft:shulker_box"
+    };
+
+    /**
+     * Sample enchantment IDs.
+     */
+    private static final String[] ENCHANTMENTS = {
+            "minecraft:sharpness", "minecraft:unbreaking", "minecraft:mending",
+            "minecraft:efficiency", "minecraft:fortune", "minecraft:looting"
+    };
+
+    /**
+     * Sample block IDs.
+     */
+    private static final String[] BLOCKS = {
+            "minecraft:air", "minecraft:stone", "minecraft:deepslate", "minecraft:dirt",
+            "minecraft:grass_block", "minecraft:water", "minecraft:coal_ore", "minecraft:iron_ore",
+            "minecraft:andesite", "minecraft:granite", "minecraft:diorite", "minecraft:gravel"
+    };
+
+    /**
+     * Sample text colors.
+     */
+    private static final String[] COLORS = {
+            "gold", "yellow", "aqua", "green", "red", "gray", "white", "dark_purple"
+    };
+
+    /**
+     * An instance of this class cannot be created.
+     *
+     * @throws AssertionError Always
+     */
+    private NBTPayloads() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Creates a new payload tree.
+     *
+     * @param payload Target payload
+     * @return A new payload tree
+     */
+    public static NBT create(Payload payload) {
+        Random random = new Random(SEED);
+        return switch (payload) {
+            case ITEM_STACK -> itemStack(random);
+            case TEXT_COMPONENT -> textComponent(random, 3);
+            case CHUNK -> chunk(random);
+            case BLOCK_STATES -> blockStates(random);
+        };
+    }
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param limiter Target limiter type
+     * @return A new limiter
+     */
+    public static NBTLimiter limiter(Limiter limiter) {
+        return switch (limiter) {
+            case UNLIMITED -> NBTLimiter.unlimited();
+            case VANILLA -> NBTLimiter.vanillaProtocol();
+            case POOLED -> new NBTLimiter(Long.MAX_VALUE, Integer.MAX_VALUE, false, true, false, NBTStringPool.local(1024));
+        };
+    }
+
+    /**
+     * Serializes the NBT via {@link NBT#writeNamed(java.io.DataOutput, String, NBT)}.
+     *
+     * @param nbt Target NBT
+     * @return Serialized NBT
+     */
+    public static byte[] named(NBT nbt) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            NBT.writeNamed(out, "", nbt);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize payload: " + nbt, e);
+        }
+    }
+
+    /**
+     * Serializes the NBT via {@link NBT#write(java.io.DataOutput, NBT)}.
+     *
+     * @param nbt Target NBT
+     * @return Serialized NBT
+     */
+    public static byte[] plain(NBT nbt) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            NBT.write(out, nbt);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize payload: " + nbt, e);
+        }
+    }
+
+    /**
+     * Serializes the NBT via {@link NBT#write(java.io.DataOutput)}, i.e. without the type.
+     *
+     * @param nbt Target NBT
+     * @return Serialized NBT
+     */
+    public static byte[] payload(NBT nbt) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            nbt.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize payload: " + nbt, e);
+        }
+    }
+
+    /**
+     * Creates an item stack with display name, lore and enchantments.
+     *
+     * @param random Random source
+     * @return A new item stack
+     */
+    static CompoundNBT itemStack(Random random) {
+        ListNBT lore = new ListNBT();
+        for (int i = 0, lines = 1 + random.nextInt(4); i < lines; i++) {
+            lore.addString("{\"text\":\"Lore line #" + i + "\",\"color\":\"" + COLORS[random.nextInt(COLORS.length)] + "\",\"italic\":false}");
+        }
+        ListNBT enchantments = new ListNBT();
+        for (int i = 0, count = random.nextInt(4); i < count; i++) {
+            enchantments.add(new CompoundNBT()
+                    .andString("id", ENCHANTMENTS[random.nextInt(ENCHANTMENTS.length)])
+                    .andShort("lvl", (short) (1 + random.nextInt(5))));
+        }
+        CompoundNBT tag = new CompoundNBT()
+                .andInt("Damage", random.nextInt(1562))
+                .andCompound("display", new CompoundNBT()
+                        .andString("Name", "{\"text\":\"Item #" + random.nextInt(1000) + "\",\"italic\":false}")
+                        .andList("Lore", lore));
+        if (!enchantments.isEmpty()) {
+            tag.andList("Enchantments", enchantments);
+        }
+        return new CompoundNBT()
+                .andString("id", ITEMS[random.nextInt(ITEMS.length)])
+                .andByte("Count", (byte) (1 + random.nextInt(64)))
+                .andByte("Slot", (byte) random.nextInt(36))
+                .andCompound("tag", tag);
+    }
+
+    /**
+     * Creates a nested chat component.
+     *
+     * @param random Random source
+     * @param depth  Remaining nesting depth
+     * @return A new text component
+     */
+    static CompoundNBT textComponent(Random random, int depth) {
+        CompoundNBT component = new CompoundNBT()
+                .andString("text", "Component text at depth " + depth + " §" + random.nextInt(10))
+                .andString("color", COLORS[random.nextInt(COLORS.length)])
+                .andBoolean("bold", random.nextBoolean())
+                .andBoolean("italic", random.nextBoolean());
+        if (random.nextBoolean()) {
+            component.andCompound("hoverEvent", new CompoundNBT()
+                    .andString("action", "show_text")
+                    .andString("contents", "Hover text — " + random.nextInt(100)));
+        }
+        if (depth > 0) {
+            ListNBT extra = new ListNBT();
+            for (int i = 0; i < 4; i++) {
+                extra.add(textComponent(random, depth - 1));
+            }
+            component.andList("extra", extra);
+        }
+        return component;
+    }
+
+    /**
+     * Creates a chunk-like compound modelled after the Anvil chunk format.
+     *
+     * @param random Random source
+     * @return A new chunk
+     */
+    static CompoundNBT chunk(Random random) {
+        ListNBT sections = new ListNBT();
+        for (int y = -4; y < 20; y++) {
+            ListNBT palette = new ListNBT();
+            for (int i = 0, size = 1 + random.nextInt(BLOCKS.length); i < size; i++) {
+                CompoundNBT state = new CompoundNBT().andString("Name", BLOCKS[i]);
+                if (random.nextInt(4) == 0) {
+                    state.andCompound("Properties", new CompoundNBT()
+                            .andString("axis", "y")
+                            .andString("waterlogged", "false"));
+                }
+                palette.add(state);
+            }
+            byte[] blockLight = new byte[2048];
+            random.nextBytes(blockLight);
+            byte[] skyLight = new byte[2048];
+            random.nextBytes(skyLight);
+            sections.add(new CompoundNBT()
+                    .andByte("Y", (byte) y)
+                    .andCompound("block_states", new CompoundNBT()
+                            .andList("palette", palette)
+                            .andLongArray("data", random.longs(256).toArray()))
+                    .andCompound("biomes", new CompoundNBT()
+                            .andList("palette", new ListNBT().andString("minecraft:plains").andString("minecraft:river"))
+                            .andLongArray("data", random.longs(1).toArray()))
+                    .andByteArray("BlockLight", blockLight)
+                    .andByteArray("SkyLight", skyLight));
+        }
+        ListNBT blockEntities = new ListNBT();
+        for (int i = 0; i < 8; i++) {
+            ListNBT items = new ListNBT();
+            for (int j = 0; j < 27; j++) {
+                items.add(itemStack(random));
+            }
+            blockEntities.add(new CompoundNBT()
+                    .andString("id", "minecraft:chest")
+                    .andInt("x", random.nextInt(16))
+                    .andInt("y", random.nextInt(320) - 64)
+                    .andInt("z", random.nextInt(16))
+                    .andBoolean("keepPacked", false)
+                    .andList("Items", items));
+        }
+        return new CompoundNBT()
+                .andInt("DataVersion", 3700)
+                .andInt("xPos", random.nextInt(64))
+                .andInt("yPos", -4)
+                .andInt("zPos", random.nextInt(64))
+                .andString("Status", "minecraft:full")
+                .andLong("LastUpdate", random.nextLong())
+                .andLong("InhabitedTime", random.nextInt(100000))
+                .andList("sections", sections)
+                .andList("block_entities", blockEntities)
+                .andCompound("Heightmaps", new CompoundNBT()
+                        .andLongArray("MOTION_BLOCKING", random.longs(37).toArray())
+                        .andLongArray("WORLD_SURFACE", random.longs(37).toArray())
+                        .andLongArray("OCEAN_FLOOR", random.longs(37).toArray()))
+                .andBoolean("isLightOn", true);
+    }
+
+    /**
+     * Creates a compound of big block state long arrays. (16 bits per block, 24 sections)
+     *
+     * @param random Random source
+     * @return A new block states compound
+     */
+    static CompoundNBT blockStates(Random random) {
+        ListNBT sections = new ListNBT();
+        for (int i = 0; i < 24; i++) {
+            sections.add(new CompoundNBT().andLongArray("data", random.longs(1024).toArray()));
+        }
+        return new CompoundNBT().andList("sections", sections);
+    }
+
+    /**
+     * Payload types.
+     *
+     * @author VidTu
+     */
+    public enum Payload {
+        /**
+         * A single item stack with display and enchantments.
+         */
+        ITEM_STACK,
+
+        /**
+         * A nested chat component.
+         */
+        TEXT_COMPONENT,
+
+        /**
+         * A chunk-like compound with sections and block entities.
+         */
+        CHUNK,
+
+        /**
+         * Big block state long arrays.
+         */
+        BLOCK_STATES
+    }
+
+    /**
+     * Limiter types.
+     *
+     * @author VidTu
+     */
+    public enum Limiter {
+        /**
+         * {@link NBTLimiter#unlimited()}
+         */
+        UNLIMITED,
+
+        /**
+         * {@link NBTLimiter#vanillaProtocol()}
+         */
+        VANILLA,
+
+        /**
+         * Unlimited {@link NBTLimiter} with the {@link NBTStringPool#local(int)} pool
+         */
+        POOLED
+    }
+}
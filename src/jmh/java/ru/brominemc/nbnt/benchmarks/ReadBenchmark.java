@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTVisitor;
+import ru.brominemc.nbnt.utils.NBTWalker;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link NBT} read entry points.
+ *
+ * @author VidTu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ReadBenchmark {
+    /**
+     * Benchmarked payload.
+     */
+    @Param
+    public NBTPayloads.Payload payload;
+
+    /**
+     * Benchmarked limiter.
+     */
+    @Param
+    public NBTPayloads.Limiter limiter;
+
+    /**
+     * Payload serialized via {@link NBT#write(java.io.DataOutput, NBT)}.
+     */
+    private byte[] plain;
+
+    /**
+     * Payload serialized via {@link NBT#writeNamed(java.io.DataOutput, String, NBT)}.
+     */
+    private byte[] named;
+
+    /**
+     * Direct buffer with {@link #named} payload.
+     */
+    private ByteBuffer namedDirect;
+
+    /**
+     * Reused limiter instance.
+     */
+    private NBTLimiter nbtLimiter;
+
+    /**
+     * Visitor that ignores every event.
+     */
+    private final NBTVisitor visitor = new NBTVisitor() {};
+
+    @Setup
+    public void setup() {
+        NBT nbt = NBTPayloads.create(this.payload);
+        this.plain = NBTPayloads.plain(nbt);
+        this.named = NBTPayloads.named(nbt);
+        this.namedDirect = ByteBuffer.allocateDirect(this.named.length).put(this.named).flip();
+        this.nbtLimiter = NBTPayloads.limiter(this.limiter);
+    }
+
+    @Benchmark
+    public NBT read() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.read(new DataInputStream(new ByteArrayInputStream(this.plain)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public Map.Entry<String, NBT> readNamed() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readNamed(new DataInputStream(new ByteArrayInputStream(this.named)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public NBT readUnnamed() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readUnnamed(new DataInputStream(new ByteArrayInputStream(this.named)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public Map.Entry<String, NBT> readNamedHeapBuffer() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readNamed(ByteBuffer.wrap(this.named), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public Map.Entry<String, NBT> readNamedDirectBuffer() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readNamed(this.namedDirect.duplicate(), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public boolean walkNamed() throws IOException {
+        this.nbtLimiter.reset();
+        return NBTWalker.walkNamed(new DataInputStream(new ByteArrayInputStream(this.named)), this.nbtLimiter, this.visitor);
+    }
+
+    @Benchmark
+    public boolean walkNamedHeapBuffer() throws IOException {
+        this.nbtLimiter.reset();
+        return NBTWalker.walkNamed(ByteBuffer.wrap(this.named), this.nbtLimiter, this.visitor);
+    }
+
+    @Benchmark
+    public boolean skipNamed() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.skipNamed(new DataInputStream(new ByteArrayInputStream(this.named)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public boolean skipNamedHeapBuffer() {
+        this.nbtLimiter.reset();
+        return NBT.skipNamed(ByteBuffer.wrap(this.named), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public Map.Entry<String, NBT> readNamedLazyHeapBuffer() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readNamedLazy(ByteBuffer.wrap(this.named), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public Map.Entry<String, NBT> readNamedParallelHeapBuffer() throws IOException {
+        this.nbtLimiter.reset();
+        return NBT.readNamedParallel(ByteBuffer.wrap(this.named), this.nbtLimiter);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link CompoundNBT} and {@link ListNBT} payload readers and writers.
+ *
+ * @author VidTu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TypeBenchmark {
+    /**
+     * Benchmarked limiter.
+     */
+    @Param
+    public NBTPayloads.Limiter limiter;
+
+    /**
+     * Chunk-like compound.
+     */
+    private CompoundNBT compound;
+
+    /**
+     * Player inventory list. (36 item stacks)
+     */
+    private ListNBT list;
+
+    /**
+     * Serialized {@link #compound} payload.
+     */
+    private byte[] compoundBytes;
+
+    /**
+     * Serialized {@link #list} payload.
+     */
+    private byte[] listBytes;
+
+    /**
+     * Reused limiter instance.
+     */
+    private NBTLimiter nbtLimiter;
+
+    /**
+     * Reused output buffer.
+     */
+    private ByteArrayOutputStream bytes;
+
+    /**
+     * Reused output.
+     */
+    private DataOutputStream out;
+
+    @Setup
+    public void setup() {
+        this.compound = (CompoundNBT) NBTPayloads.create(NBTPayloads.Payload.CHUNK);
+        Random random = new Random(0L);
+        this.list = new ListNBT();
+        for (int i = 0; i < 36; i++) {
+            this.list.add(NBTPayloads.itemStack(random));
+        }
+        this.compoundBytes = NBTPayloads.payload(this.compound);
+        this.listBytes = NBTPayloads.payload(this.list);
+        this.nbtLimiter = NBTPayloads.limiter(this.limiter);
+        this.bytes = new ByteArrayOutputStream(Math.max(this.compoundBytes.length, this.listBytes.length));
+        this.out = new DataOutputStream(this.bytes);
+    }
+
+    @Benchmark
+    public CompoundNBT compoundRead() throws IOException {
+        this.nbtLimiter.reset();
+        return CompoundNBT.read(new DataInputStream(new ByteArrayInputStream(this.compoundBytes)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public ListNBT listRead() throws IOException {
+        this.nbtLimiter.reset();
+        return ListNBT.read(new DataInputStream(new ByteArrayInputStream(this.listBytes)), this.nbtLimiter);
+    }
+
+    @Benchmark
+    public int compoundWrite() throws IOException {
+        this.bytes.reset();
+        this.compound.write(this.out);
+        return this.bytes.size();
+    }
+
+    @Benchmark
+    public int listWrite() throws IOException {
+        this.bytes.reset();
+        this.list.write(this.out);
+        return this.bytes.size();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link NBT} write entry points.
+ *
+ * @author VidTu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class WriteBenchmark {
+    /**
+     * Benchmarked payload.
+     */
+    @Param
+    public NBTPayloads.Payload payload;
+
+    /**
+     * Payload tree.
+     */
+    private NBT nbt;
+
+    /**
+     * Reused output buffer.
+     */
+    private ByteArrayOutputStream bytes;
+
+    /**
+     * Reused output.
+     */
+    private DataOutputStream out;
+
+    /**
+     * Reused heap buffer.
+     */
+    private ByteBuffer heap;
+
+    /**
+     * Reused direct buffer.
+     */
+    private ByteBuffer direct;
+
+    @Setup
+    public void setup() {
+        this.nbt = NBTPayloads.create(this.payload);
+        this.bytes = new ByteArrayOutputStream(NBTPayloads.named(this.nbt).length);
+        this.out = new DataOutputStream(this.bytes);
+        this.heap = ByteBuffer.allocate(Math.toIntExact(NBT.serializedSizeNamed("", this.nbt)));
+        this.direct = ByteBuffer.allocateDirect(this.heap.capacity());
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        this.bytes.reset();
+        NBT.write(this.out, this.nbt);
+        return this.bytes.size();
+    }
+
+    @Benchmark
+    public int writeNamed() throws IOException {
+        this.bytes.reset();
+        NBT.writeNamed(this.out, "", this.nbt);
+        return this.bytes.size();
+    }
+
+    @Benchmark
+    public int writeUnnamed() throws IOException {
+        this.bytes.reset();
+        NBT.writeUnnamed(this.out, this.nbt);
+        return this.bytes.size();
+    }
+
+    @Benchmark
+    public int writeNamedHeapBuffer() throws IOException {
+        this.heap.clear();
+        NBT.writeNamed(this.heap, "", this.nbt);
+        return this.heap.position();
+    }
+
+    @Benchmark
+    public int writeNamedDirectBuffer() throws IOException {
+        this.direct.clear();
+        NBT.writeNamed(new NBTBufferOutput(this.direct), "", this.nbt);
+        return this.direct.position();
+    }
+
+    @Benchmark
+    public long serializedSizeNamed() {
+        return NBT.serializedSizeNamed("", this.nbt);
+    }
+
+    @Benchmark
+    public int writeNamedParallelHeapBuffer() throws IOException {
+        this.heap.clear();
+        NBT.writeNamedParallel(new NBTBufferOutput(this.heap), "", this.nbt);
+        return this.heap.position();
+    }
+}
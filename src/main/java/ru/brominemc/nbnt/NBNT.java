@@ -23,8 +23,15 @@ import ru.brominemc.nbnt.types.CompoundNBT;
 import ru.brominemc.nbnt.types.ListNBT;
 import ru.brominemc.nbnt.types.NBT;
 import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTDeduplicator;
+import ru.brominemc.nbnt.utils.NBTInterner;
 
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -49,6 +56,8 @@ public final class NBNT {
      * Note that the strings are the only things that can be interned, since every
      * other data type is either primitive or mutable.
      * This method uses {@link String#intern()} as interner in {@link #internStrings(NBT, UnaryOperator)}.
+     * Consider using a bounded {@link NBTInterner} for long-running applications instead,
+     * the {@link String#intern()} table is never shrunk.
      *
      * @param nbt      Target NBT
      * @return Provided NBT
@@ -63,48 +72,181 @@ public final class NBNT {
      * Interns the strings in the NBT and children recursively.
      * Note that the strings are the only things that can be interned, since every
      * other data type is either primitive or mutable.
+     * <p>
+     * Both the string values and the compound keys are interned. The tree is traversed iteratively,
+     * so the deep trees don't overflow the stack. The {@link NBT#frozen() frozen} NBTs are skipped.
      *
      * @param nbt      Target NBT
      * @param interner Intern function
      * @return Provided NBT
+     * @throws UnsupportedOperationException If any non-frozen compound is backed by an unmodifiable map
+     * @see #internStringsParallel(NBT, UnaryOperator)
      * @since 1.5.0
      */
     @Contract("_, _ -> param1")
     public static NBT internStrings(@Nullable NBT nbt, @NotNull UnaryOperator<String> interner) {
+        // Skip nulls.
+        if (nbt == null) return null;
+
+        // Traverse iteratively.
+        ArrayDeque<NBT> stack = new ArrayDeque<>();
+        stack.push(nbt);
+        for (NBT next; (next = stack.poll()) != null; ) {
+            internNode(next, interner, stack);
+        }
+
+        // Return NBT.
+        return nbt;
+    }
+
+    /**
+     * Interns the strings in the NBT and children recursively, splitting the large trees
+     * into the {@link ForkJoinPool#commonPool()} tasks.
+     * <p>
+     * This method is identical to {@link #internStrings(NBT, UnaryOperator)}, but the interner must be thread-safe
+     * (e.g. {@link String#intern()} or {@link NBTInterner}) and the same non-frozen NBT must not appear in the tree twice.
+     *
+     * @param nbt      Target NBT
+     * @param interner Thread-safe intern function
+     * @return Provided NBT
+     * @throws UnsupportedOperationException If any non-frozen compound is backed by an unmodifiable map
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> param1")
+    public static NBT internStringsParallel(@Nullable NBT nbt, @NotNull UnaryOperator<String> interner) {
+        // Skip nulls.
+        if (nbt == null) return null;
+
+        // Traverse in parallel.
+        ArrayDeque<NBT> stack = new ArrayDeque<>();
+        stack.push(nbt);
+        new InternTask(stack, interner).invoke();
+
+        // Return NBT.
+        return nbt;
+    }
+
+    /**
+     * Deduplicates the equal subtrees of the NBT into the single shared instances.
+     * <p>
+     * The NBT and all its children are {@link NBT#freeze() frozen} in the process.
+     * Use the {@link NBTDeduplicator} directly to share the instances between multiple NBTs
+     * or to deduplicate the NBT while reading it.
+     *
+     * @param nbt Target NBT
+     * @return Frozen deduplicated NBT equal to the provided one, may be not the provided instance
+     * @see NBTDeduplicator#deduplicate(NBT)
+     * @since 1.6.0
+     */
+    @Contract("null -> null; !null -> !null")
+    @Nullable
+    public static NBT deduplicate(@Nullable NBT nbt) {
+        if (nbt == null) return null;
+        return new NBTDeduplicator().deduplicate(nbt);
+    }
+
+    /**
+     * Interns the strings of the single NBT, pushing the children containers to intern.
+     *
+     * @param nbt      Target NBT
+     * @param interner Intern function
+     * @param children Stack for the children containers
+     */
+    private static void internNode(@NotNull NBT nbt, @NotNull UnaryOperator<String> interner, @NotNull Deque<NBT> children) {
+        // Skip frozen, these can't be modified.
+        if (nbt.frozen()) return;
         switch (nbt) {
             // Optimize string value.
             case StringNBT str -> str.value(interner.apply(str.value()));
 
             // Optimize keys and continue into values.
-            case CompoundNBT map -> {
-                // Iterate over entries.
-                for (Map.Entry<String, NBT> entry : map.entrySet()) {
-                    // Extract data.
-                    String key = entry.getKey();
-                    NBT value = entry.getValue();
-
-                    // Optimize.
-                    key = interner.apply(key);
-                    internStrings(value, interner);
-
-                    // Put back in.
-                    map.put(key, value);
+            case CompoundNBT compound -> {
+                compound.internKeys(interner);
+                for (NBT value : compound.values()) {
+                    if (value instanceof StringNBT str) {
+                        if (str.frozen()) continue;
+                        str.value(interner.apply(str.value()));
+                    } else if (value instanceof CompoundNBT || value instanceof ListNBT) {
+                        children.push(value);
+                    }
                 }
             }
 
-            // Optimize entries.
+            // Optimize strings and continue into containers.
             case ListNBT list -> {
-                // Iterate over entries.
+                list.internStrings(interner);
+                Class<? extends NBT> type = list.type();
+                if (type != CompoundNBT.class && type != ListNBT.class) return;
                 for (NBT entry : list) {
-                    internStrings(entry, interner);
+                    children.push(entry);
                 }
             }
 
             // Do nothing for other types.
-            case null, default -> {}
+            default -> {}
         }
+    }
 
-        // Return NBT.
-        return nbt;
+    /**
+     * Task of the {@link #internStringsParallel(NBT, UnaryOperator)}.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class InternTask extends RecursiveAction {
+        /**
+         * Pending containers count after which the half of them is split into a new task.
+         */
+        private static final int SPLIT_THRESHOLD = 64;
+
+        /**
+         * Pending NBTs.
+         */
+        private final ArrayDeque<NBT> stack;
+
+        /**
+         * Intern function.
+         */
+        private final UnaryOperator<String> interner;
+
+        /**
+         * Creates a new task.
+         *
+         * @param stack    Pending NBTs
+         * @param interner Intern function
+         */
+        private InternTask(@NotNull ArrayDeque<NBT> stack, @NotNull UnaryOperator<String> interner) {
+            this.stack = stack;
+            this.interner = interner;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayDeque<NBT> stack = this.stack;
+            List<InternTask> forked = null;
+            for (NBT next; (next = stack.poll()) != null; ) {
+                internNode(next, this.interner, stack);
+
+                // Split if there's enough work and the pool is not saturated.
+                int size = stack.size();
+                if (size < SPLIT_THRESHOLD || getSurplusQueuedTaskCount() > 2) continue;
+                ArrayDeque<NBT> split = new ArrayDeque<>(size >> 1);
+                for (int i = size >> 1; i > 0; i--) {
+                    split.push(stack.pollLast());
+                }
+                InternTask task = new InternTask(split, this.interner);
+                task.fork();
+                if (forked == null) {
+                    forked = new ArrayList<>();
+                }
+                forked.add(task);
+            }
+
+            // Wait for the split tasks.
+            if (forked == null) return;
+            for (InternTask task : forked) {
+                task.join();
+            }
+        }
     }
 }
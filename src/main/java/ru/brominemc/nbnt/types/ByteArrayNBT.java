@@ -16,16 +16,24 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
+import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -50,6 +58,27 @@ public final class ByteArrayNBT implements NBT {
      */
     public static final NBTReader BYTE_ARRAY_NBT_READER = ByteArrayNBT::read;
 
+    /**
+     * Buffer reader that reads {@link ByteArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader BYTE_ARRAY_NBT_BUFFER_READER = ByteArrayNBT::read;
+
+    /**
+     * Skipper that skips {@link ByteArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper BYTE_ARRAY_NBT_SKIPPER = ByteArrayNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link ByteArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper BYTE_ARRAY_NBT_BUFFER_SKIPPER = ByteArrayNBT::skip;
+
     /**
      * Empty byte array.
      *
@@ -62,6 +91,16 @@ public final class ByteArrayNBT implements NBT {
      */
     private byte[] value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Cached hash code, valid only if this NBT is {@link #frozen}.
+     */
+    private transient int hash;
+
     /**
      * Creates a new byte array NBT.
      *
@@ -76,39 +115,69 @@ public final class ByteArrayNBT implements NBT {
      * Gets the NBT value.
      *
      * @return NBT value
+     * @apiNote The array is copied if this NBT is {@link #frozen()}
      */
     @Contract(pure = true)
     public byte @NotNull [] value() {
-        return this.value;
+        return this.frozen ? this.value.clone() : this.value;
     }
 
     /**
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(byte @NotNull [] value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         Objects.requireNonNull(value, "Array is null");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public ByteArrayNBT freeze() {
+        if (this.frozen) return this;
+        this.value = this.value.clone();
+        this.hash = Arrays.hashCode(this.value);
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeInt(this.value.length);
         out.write(this.value);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Integer.BYTES + (long) this.value.length;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(@Nullable Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof ByteArrayNBT that)) return false;
+        if (this.frozen && that.frozen && this.hash != that.hash) return false;
         return Arrays.equals(this.value, that.value);
     }
 
     @Contract(pure = true)
     @Override
     public int hashCode() {
+        if (this.frozen) return this.hash;
         return Arrays.hashCode(this.value);
     }
 
@@ -152,4 +221,111 @@ public final class ByteArrayNBT implements NBT {
         in.readFully(data);
         return new ByteArrayNBT(data);
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static ByteArrayNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Empty shortcut.
+        if (length == 0) return new ByteArrayNBT(EMPTY_BYTE_ARRAY);
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(BYTE_ARRAY_NBT_TYPE, length);
+        }
+
+        // Push data.
+        limiter.readUnsigned(length);
+
+        // Check for underflow before allocating.
+        if (length > buffer.remaining()) throw new BufferUnderflowException();
+
+        // Read data.
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return new ByteArrayNBT(data);
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = in.readInt();
+
+        // Empty shortcut.
+        if (length == 0) return;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(BYTE_ARRAY_NBT_TYPE, length);
+        }
+
+        // Push data.
+        long bytes = length;
+        limiter.readUnsigned(bytes);
+
+        // Skip data.
+        NBTSkipper.skipFully(in, bytes);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Empty shortcut.
+        if (length == 0) return;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(BYTE_ARRAY_NBT_TYPE, length);
+        }
+
+        // Push data.
+        long bytes = length;
+        limiter.readUnsigned(bytes);
+
+        // Skip data.
+        NBTBufferSkipper.skipFully(buffer, bytes);
+    }
 }
@@ -16,16 +16,23 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Byte NBT type.
@@ -48,11 +55,37 @@ public final class ByteNBT implements PrimitiveNBT {
      */
     public static final NBTReader BYTE_NBT_READER = ByteNBT::read;
 
+    /**
+     * Buffer reader that reads {@link ByteNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader BYTE_NBT_BUFFER_READER = ByteNBT::read;
+
+    /**
+     * Skipper that skips {@link ByteNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper BYTE_NBT_SKIPPER = ByteNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link ByteNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper BYTE_NBT_BUFFER_SKIPPER = ByteNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private byte value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
     /**
      * Creates a new byte NBT.
      *
@@ -85,16 +118,40 @@ public final class ByteNBT implements PrimitiveNBT {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(byte value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public ByteNBT freeze() {
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeByte(this.value);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Byte.BYTES;
+    }
+
     @Override
     public boolean asBoolean() {
         return this.value != 0;
@@ -169,4 +226,50 @@ public final class ByteNBT implements PrimitiveNBT {
         limiter.readUnsigned(Byte.BYTES); // Data
         return new ByteNBT(in.readByte());
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static ByteNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Byte.BYTES); // Data
+        return new ByteNBT(buffer.get());
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Data
+        NBTSkipper.skipFully(in, Byte.BYTES);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Byte.BYTES); // Data
+        NBTBufferSkipper.skipFully(buffer, Byte.BYTES);
+    }
 }
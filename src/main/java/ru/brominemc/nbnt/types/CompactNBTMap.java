@@ -0,0 +1,373 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compact compound map that stores small compounds in a flat key-value array.
+ * <p>
+ * Most compounds (item tags, display, enchantments, etc.) have only a handful of keys, for these
+ * a linear key scan is faster and much smaller than the {@link HashMap} table and nodes.
+ * The map upgrades to the {@link HashMap} after growing past {@link #THRESHOLD} entries.
+ *
+ * @author VidTu
+ * @see CompoundNBT
+ * @since 1.6.0
+ */
+final class CompactNBTMap extends AbstractMap<String, NBT> {
+    /**
+     * Maximum entries stored in the flat array.
+     */
+    static final int THRESHOLD = 8;
+
+    /**
+     * Flat array of keys (even indices) and values (odd indices), {@code null} if upgraded.
+     */
+    private Object[] table;
+
+    /**
+     * Entries count in the {@link #table}.
+     */
+    private int size;
+
+    /**
+     * Hashed map, {@code null} if not upgraded yet.
+     */
+    private HashMap<String, NBT> hashed;
+
+    /**
+     * Structural modifications count, used to fail-fast iterators.
+     */
+    private int modCount;
+
+    /**
+     * Creates a new compact map.
+     */
+    CompactNBTMap() {
+        this.table = new Object[4 << 1];
+    }
+
+    /**
+     * Creates a new compact map.
+     *
+     * @param expected Expected entries count
+     */
+    CompactNBTMap(int expected) {
+        if (expected > THRESHOLD) {
+            this.hashed = HashMap.newHashMap(expected);
+        } else {
+            this.table = new Object[Math.max(expected, 1) << 1];
+        }
+    }
+
+    /**
+     * Finds the entry index in the {@link #table}.
+     *
+     * @param key Target key
+     * @return Entry index, {@code -1} if not found
+     */
+    @Contract(pure = true)
+    private int indexOf(@Nullable Object key) {
+        if (key == null) return -1;
+        Object[] table = this.table;
+        for (int i = 0, size = this.size; i < size; i++) {
+            Object k = table[i << 1];
+            if (k == key || k.equals(key)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        HashMap<String, NBT> hashed = this.hashed;
+        return hashed != null ? hashed.size() : this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) return hashed.containsKey(key);
+        return this.indexOf(key) != -1;
+    }
+
+    @Override
+    @Nullable
+    public NBT get(@Nullable Object key) {
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) return hashed.get(key);
+        int index = this.indexOf(key);
+        return index == -1 ? null : (NBT) this.table[(index << 1) + 1];
+    }
+
+    @Override
+    @Nullable
+    public NBT put(@NotNull String key, @NotNull NBT value) {
+        Objects.requireNonNull(key, "Key is null");
+        Objects.requireNonNull(value, "NBT is null");
+
+        // Put into the hashed map.
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) return hashed.put(key, value);
+
+        // Replace the value.
+        int index = this.indexOf(key);
+        if (index != -1) {
+            NBT old = (NBT) this.table[(index << 1) + 1];
+            this.table[(index << 1) + 1] = value;
+            return old;
+        }
+
+        // Upgrade to the hashed map.
+        int size = this.size;
+        this.modCount++;
+        if (size == THRESHOLD) {
+            hashed = HashMap.newHashMap(THRESHOLD << 1);
+            for (int i = 0; i < size; i++) {
+                hashed.put((String) this.table[i << 1], (NBT) this.table[(i << 1) + 1]);
+            }
+            hashed.put(key, value);
+            this.hashed = hashed;
+            this.table = null;
+            this.size = 0;
+            return null;
+        }
+
+        // Append the entry.
+        if ((size << 1) == this.table.length) {
+            this.table = Arrays.copyOf(this.table, Math.min(size << 1, THRESHOLD) << 1);
+        }
+        this.table[size << 1] = key;
+        this.table[(size << 1) + 1] = value;
+        this.size = size + 1;
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public NBT remove(@Nullable Object key) {
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) return hashed.remove(key);
+        int index = this.indexOf(key);
+        if (index == -1) return null;
+        NBT old = (NBT) this.table[(index << 1) + 1];
+        this.removeAt(index);
+        return old;
+    }
+
+    /**
+     * Removes the entry from the {@link #table}.
+     *
+     * @param index Entry index
+     */
+    private void removeAt(int index) {
+        this.modCount++;
+        int size = this.size - 1;
+        System.arraycopy(this.table, (index + 1) << 1, this.table, index << 1, (size - index) << 1);
+        this.table[size << 1] = null;
+        this.table[(size << 1) + 1] = null;
+        this.size = size;
+    }
+
+    @Override
+    public void clear() {
+        this.modCount++;
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) {
+            hashed.clear();
+            return;
+        }
+        Arrays.fill(this.table, 0, this.size << 1, null);
+        this.size = 0;
+    }
+
+    /**
+     * Replaces the keys with the interned ones.
+     *
+     * @param interner Intern function
+     * @apiNote Unlike {@link #put(String, NBT)}, this replaces the existing key instances
+     */
+    void internKeys(@NotNull UnaryOperator<String> interner) {
+        this.modCount++;
+        HashMap<String, NBT> hashed = this.hashed;
+        if (hashed != null) {
+            HashMap<String, NBT> interned = HashMap.newHashMap(hashed.size());
+            for (Entry<String, NBT> en : hashed.entrySet()) {
+                interned.put(interner.apply(en.getKey()), en.getValue());
+            }
+            this.hashed = interned;
+            return;
+        }
+        Object[] table = this.table;
+        for (int i = 0, size = this.size; i < size; i++) {
+            table[i << 1] = interner.apply((String) table[i << 1]);
+        }
+    }
+
+    @Override
+    @NotNull
+    public Set<Entry<String, NBT>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Entry set view over the {@link #table} or the {@link #hashed} map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, NBT>> {
+        @Override
+        public int size() {
+            return CompactNBTMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            CompactNBTMap.this.clear();
+        }
+
+        @Override
+        @NotNull
+        public Iterator<Entry<String, NBT>> iterator() {
+            HashMap<String, NBT> hashed = CompactNBTMap.this.hashed;
+            return hashed != null ? hashed.entrySet().iterator() : new EntryIterator();
+        }
+    }
+
+    /**
+     * Iterator over the {@link #table} entries.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, NBT>> {
+        /**
+         * Next entry index.
+         */
+        private int next;
+
+        /**
+         * Last returned entry index, {@code -1} if none or removed.
+         */
+        private int last = -1;
+
+        /**
+         * Expected {@link #modCount}.
+         */
+        private int expectedModCount = CompactNBTMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < CompactNBTMap.this.size;
+        }
+
+        @Override
+        @NotNull
+        public Entry<String, NBT> next() {
+            if (CompactNBTMap.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+            int index = this.next;
+            if (index >= CompactNBTMap.this.size) throw new NoSuchElementException();
+            this.next = index + 1;
+            this.last = index;
+            return new CompactEntry(index);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == -1) throw new IllegalStateException();
+            if (CompactNBTMap.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+            CompactNBTMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = CompactNBTMap.this.modCount;
+        }
+    }
+
+    /**
+     * Entry of the {@link #table}, valid until the next structural modification.
+     */
+    private final class CompactEntry implements Entry<String, NBT> {
+        /**
+         * Entry index.
+         */
+        private final int index;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param index Entry index
+         */
+        private CompactEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        @NotNull
+        public String getKey() {
+            return (String) CompactNBTMap.this.table[this.index << 1];
+        }
+
+        @Override
+        @NotNull
+        public NBT getValue() {
+            return (NBT) CompactNBTMap.this.table[(this.index << 1) + 1];
+        }
+
+        @Override
+        @NotNull
+        public NBT setValue(@NotNull NBT value) {
+            Objects.requireNonNull(value, "NBT is null");
+            NBT old = this.getValue();
+            CompactNBTMap.this.table[(this.index << 1) + 1] = value;
+            return old;
+        }
+
+        @Contract(value = "null -> false", pure = true)
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Entry<?, ?> that)) return false;
+            return this.getKey().equals(that.getKey()) && this.getValue().equals(that.getValue());
+        }
+
+        @Contract(pure = true)
+        @Override
+        public int hashCode() {
+            return this.getKey().hashCode() ^ this.getValue().hashCode();
+        }
+
+        @Contract(pure = true)
+        @Override
+        @NotNull
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
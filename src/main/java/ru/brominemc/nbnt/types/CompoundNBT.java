@@ -21,18 +21,26 @@ import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Compound (map, dictionary) NBT type.
@@ -55,11 +63,42 @@ public final class CompoundNBT implements NBT, Map<String, NBT> {
      */
     public static final NBTReader COMPOUND_NBT_READER = CompoundNBT::read;
 
+    /**
+     * Buffer reader that reads {@link CompoundNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader COMPOUND_NBT_BUFFER_READER = CompoundNBT::read;
+
+    /**
+     * Skipper that skips {@link CompoundNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper COMPOUND_NBT_SKIPPER = CompoundNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link CompoundNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper COMPOUND_NBT_BUFFER_SKIPPER = CompoundNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private Map<String, NBT> value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Cached hash code, valid only if this NBT is {@link #frozen}.
+     */
+    private transient int hash;
+
     /**
      * Creates a new empty compound NBT backed by {@link HashMap#HashMap()}.
      */
@@ -92,20 +131,94 @@ public final class CompoundNBT implements NBT, Map<String, NBT> {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      * @apiNote This will unwrap any compound NBT, i.e. this compound NBT won't be backed by another compound NBT
      */
     public void value(@NotNull Map<String, NBT> value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value instanceof CompoundNBT nbt ? nbt.value : Objects.requireNonNull(value, "Map is null");
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public CompoundNBT freeze() {
+        if (this.frozen) return this;
+        Map<String, NBT> frozen = new CompactNBTMap(this.value.size());
+        for (Entry<String, NBT> en : this.value.entrySet()) {
+            frozen.put(en.getKey(), en.getValue().freeze());
+        }
+        this.value = Collections.unmodifiableMap(frozen);
+        this.hash = frozen.hashCode();
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Replaces the keys of this compound with the interned ones. Values are not interned.
+     *
+     * @param interner Intern function
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()} or the backing map is unmodifiable
+     * @apiNote Unlike {@link #put(String, NBT)}, which keeps the existing key instance, this replaces the keys
+     * @since 1.6.0
+     */
+    public void internKeys(@NotNull UnaryOperator<String> interner) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
+        Map<String, NBT> value = this.value;
+
+        // Replace in-place.
+        if (value instanceof CompactNBTMap map) {
+            map.internKeys(interner);
+            return;
+        }
+
+        // Reinsert otherwise, the map won't replace the equal key instance.
+        int size = value.size();
+        if (size == 0) return;
+        String[] keys = new String[size];
+        NBT[] values = new NBT[size];
+        int index = 0;
+        for (Entry<String, NBT> en : value.entrySet()) {
+            keys[index] = interner.apply(en.getKey());
+            values[index++] = en.getValue();
+        }
+        value.clear();
+        for (int i = 0; i < size; i++) {
+            value.put(keys[i], values[i]);
+        }
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
+        if (this.value instanceof LazyCompoundMap lazy) {
+            lazy.write(out);
+            return;
+        }
         for (Entry<String, NBT> en : this.value.entrySet()) {
             NBT.writeNamed(out, en.getKey(), en.getValue());
         }
         out.writeByte(0);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        if (this.value instanceof LazyCompoundMap lazy) return lazy.serializedSize();
+        long size = Byte.BYTES; // NBT End
+        for (Entry<String, NBT> en : this.value.entrySet()) {
+            size += NBT.serializedSizeNamed(en.getKey(), en.getValue());
+        }
+        return size;
+    }
+
     /**
      * Gets the boolean wrapper by the key.
      *
@@ -1049,12 +1162,14 @@ public final class CompoundNBT implements NBT, Map<String, NBT> {
     public boolean equals(@Nullable Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof CompoundNBT that)) return false;
+        if (this.frozen && that.frozen && this.hash != that.hash) return false;
         return Objects.equals(this.value, that.value);
     }
 
     @Contract(pure = true)
     @Override
     public int hashCode() {
+        if (this.frozen) return this.hash;
         return Objects.hashCode(this.value);
     }
 
@@ -1086,7 +1201,7 @@ public final class CompoundNBT implements NBT, Map<String, NBT> {
         limiter.push();
 
         // Create map and start reading.
-        Map<String, NBT> map = new HashMap<>(16);
+        Map<String, NBT> map = new CompactNBTMap();
         while (true) {
             // Read entry.
             Map.Entry<String, NBT> pair = NBT.readNamed(in, limiter);
@@ -1104,4 +1219,154 @@ public final class CompoundNBT implements NBT, Map<String, NBT> {
         // Return compound.
         return new CompoundNBT(map);
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @throws NullPointerException     By underlying readers
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static CompoundNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Create map and start reading.
+        Map<String, NBT> map = new CompactNBTMap();
+        while (true) {
+            // Read entry.
+            Map.Entry<String, NBT> pair = NBT.readNamed(buffer, limiter);
+
+            // NBT end - end of compound, stop.
+            if (pair == null) break;
+
+            // Put the entry.
+            map.put(pair.getKey(), pair.getValue());
+        }
+
+        // Pop stack.
+        limiter.pop();
+
+        // Return compound.
+        return new CompoundNBT(map);
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException By underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Skip entries until NBT End.
+        while (NBT.skipNamed(in, limiter)) {
+            // Skipping in the condition.
+        }
+
+        // Pop stack.
+        limiter.pop();
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push stack.
+        limiter.push();
+
+        // Skip entries until NBT End.
+        while (NBT.skipNamed(buffer, limiter)) {
+            // Skipping in the condition.
+        }
+
+        // Pop stack.
+        limiter.pop();
+    }
+
+    /**
+     * Reads the NBT from the buffer lazily.
+     * <p>
+     * The payload is validated via {@link #skip(ByteBuffer, NBTLimiter)} and copied, the entries are decoded on the first access.
+     * Untouched entries are written back with a bulk copy of the original bytes.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @apiNote The strings are validated on access, malformed strings are thrown as {@link java.io.UncheckedIOException}
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static CompoundNBT readLazy(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Validate and find the end.
+        int start = buffer.position();
+        skip(buffer, limiter);
+        int end = buffer.position();
+
+        // Copy the payload.
+        byte[] data = new byte[end - start];
+        buffer.get(start, data);
+
+        // Return lazy compound.
+        return new CompoundNBT(new LazyCompoundMap(data, 0, data.length));
+    }
+
+    /**
+     * Reads the NBT from the buffer, materializing the large subtrees concurrently.
+     * <p>
+     * The payload is validated and accounted in the limiter via {@link #skip(ByteBuffer, NBTLimiter)} first. Then the compounds
+     * and the lists of containers larger than {@code 16} KiB are split by their entries or the runs of their elements and read
+     * in the current {@link java.util.concurrent.ForkJoinPool} (or the {@link java.util.concurrent.ForkJoinPool#commonPool()})
+     * using the {@link NBTLimiter#fork() forked} limiters.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying skippers or readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @apiNote This is only faster for the large payloads, e.g. the chunks with thousands of entities or block entities
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static CompoundNBT readParallel(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Validate and find the end.
+        NBTLimiter fork = limiter.fork();
+        int start = buffer.position();
+        skip(buffer, limiter);
+        int end = buffer.position();
+
+        // Read in parallel.
+        return (CompoundNBT) ParallelNBTReader.read(buffer, COMPOUND_NBT_TYPE, start, end, fork);
+    }
 }
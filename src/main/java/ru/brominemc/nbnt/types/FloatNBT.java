@@ -16,16 +16,23 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Float NBT type.
@@ -48,11 +55,37 @@ public final class FloatNBT implements PrimitiveNBT {
      */
     public static final NBTReader FLOAT_NBT_READER = FloatNBT::read;
 
+    /**
+     * Buffer reader that reads {@link FloatNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader FLOAT_NBT_BUFFER_READER = FloatNBT::read;
+
+    /**
+     * Skipper that skips {@link FloatNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper FLOAT_NBT_SKIPPER = FloatNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link FloatNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper FLOAT_NBT_BUFFER_SKIPPER = FloatNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private float value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
     /**
      * Creates a new float NBT.
      *
@@ -76,16 +109,40 @@ public final class FloatNBT implements PrimitiveNBT {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(float value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public FloatNBT freeze() {
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeFloat(this.value);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Float.BYTES;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(@Nullable Object obj) {
@@ -160,4 +217,50 @@ public final class FloatNBT implements PrimitiveNBT {
         limiter.readUnsigned(Float.BYTES); // Data
         return new FloatNBT(in.readFloat());
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static FloatNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Float.BYTES); // Data
+        return new FloatNBT(buffer.getFloat());
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Float.BYTES); // Data
+        NBTSkipper.skipFully(in, Float.BYTES);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Float.BYTES); // Data
+        NBTBufferSkipper.skipFully(buffer, Float.BYTES);
+    }
 }
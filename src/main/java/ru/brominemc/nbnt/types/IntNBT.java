@@ -16,16 +16,23 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Int NBT type.
@@ -48,11 +55,37 @@ public final class IntNBT implements PrimitiveNBT {
      */
     public static final NBTReader INT_NBT_READER = IntNBT::read;
 
+    /**
+     * Buffer reader that reads {@link IntNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader INT_NBT_BUFFER_READER = IntNBT::read;
+
+    /**
+     * Skipper that skips {@link IntNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper INT_NBT_SKIPPER = IntNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link IntNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper INT_NBT_BUFFER_SKIPPER = IntNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private int value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
     /**
      * Creates a new int NBT.
      *
@@ -76,16 +109,40 @@ public final class IntNBT implements PrimitiveNBT {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(int value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public IntNBT freeze() {
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeInt(this.value);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Integer.BYTES;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(@Nullable Object obj) {
@@ -160,4 +217,50 @@ public final class IntNBT implements PrimitiveNBT {
         limiter.readUnsigned(Integer.BYTES); // Data
         return new IntNBT(in.readInt());
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static IntNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Integer.BYTES); // Data
+        return new IntNBT(buffer.getInt());
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Integer.BYTES); // Data
+        NBTSkipper.skipFully(in, Integer.BYTES);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Integer.BYTES); // Data
+        NBTBufferSkipper.skipFully(buffer, Integer.BYTES);
+    }
 }
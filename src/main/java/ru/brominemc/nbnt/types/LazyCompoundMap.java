@@ -0,0 +1,372 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compound map backed by the raw encoded compound payload.
+ * <p>
+ * The entries are indexed on the first access and decoded only when touched. Untouched entries
+ * (or the whole payload, if nothing was accessed) are written back with a bulk copy.
+ * Compound and list entries are decoded lazily too, sharing the same data array.
+ *
+ * @author VidTu
+ * @apiNote The payload must be validated (e.g. via {@link CompoundNBT#skip(ByteBuffer, NBTLimiter)}) before creating this map,
+ * the strings are decoded on access and malformed strings are thrown as {@link UncheckedIOException}
+ * @see CompoundNBT#readLazy(ByteBuffer, NBTLimiter)
+ * @since 1.6.0
+ */
+final class LazyCompoundMap extends AbstractMap<String, NBT> {
+    /**
+     * Encoded data, shared between the lazy tags.
+     */
+    private final byte[] data;
+
+    /**
+     * Payload start in the {@link #data}, inclusive.
+     */
+    private final int start;
+
+    /**
+     * Payload end in the {@link #data}, exclusive. (includes the "NBT End" byte)
+     */
+    private final int end;
+
+    /**
+     * Entries index, {@code null} if not indexed yet. Values are either {@link NBT} or {@link RawEntry}.
+     */
+    private LinkedHashMap<String, Object> index;
+
+    /**
+     * Creates a new lazy compound map.
+     *
+     * @param data  Encoded data
+     * @param start Payload start, inclusive
+     * @param end   Payload end, exclusive
+     */
+    LazyCompoundMap(byte @NotNull [] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the entries index, building it if required.
+     *
+     * @return Entries index
+     * @throws UncheckedIOException If a key is malformed
+     */
+    @NotNull
+    private LinkedHashMap<String, Object> index() {
+        LinkedHashMap<String, Object> index = this.index;
+        if (index != null) return index;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(this.data, this.start, this.end - this.start);
+            NBTLimiter limiter = NBTLimiter.unlimited();
+            index = new LinkedHashMap<>();
+            while (true) {
+                int entryStart = buffer.position();
+                byte type = buffer.get();
+                if (type == NBT.NULL_NBT_TYPE) break; // NBT End
+                String key = NBTLimiter.readLimitedUTF(buffer, limiter);
+                int payloadStart = buffer.position();
+                NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+                index.put(key, new RawEntry(type, entryStart, payloadStart, buffer.position()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to index lazy compound.", e);
+        }
+        this.index = index;
+        return index;
+    }
+
+    /**
+     * Decodes the raw entry, if required.
+     *
+     * @param value Indexed value
+     * @return Decoded NBT, {@code null} if the value is {@code null}
+     */
+    @Contract("null -> null; !null -> !null")
+    @Nullable
+    private NBT decode(@Nullable Object value) {
+        if (value instanceof RawEntry raw) return decode(this.data, raw.type, raw.payloadStart, raw.end);
+        return (NBT) value;
+    }
+
+    @Override
+    public int size() {
+        return this.index().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (this.index == null) return this.data[this.start] == NBT.NULL_NBT_TYPE;
+        return this.index.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return this.index().containsKey(key);
+    }
+
+    @Override
+    @Nullable
+    public NBT get(@Nullable Object key) {
+        LinkedHashMap<String, Object> index = this.index();
+        Object value = index.get(key);
+        if (!(value instanceof RawEntry)) return (NBT) value;
+        NBT nbt = this.decode(value);
+        index.put((String) key, nbt); // Not a structural modification.
+        return nbt;
+    }
+
+    @Override
+    @Nullable
+    public NBT put(@NotNull String key, @NotNull NBT value) {
+        Objects.requireNonNull(key, "Key is null");
+        Objects.requireNonNull(value, "NBT is null");
+        return this.decode(this.index().put(key, value));
+    }
+
+    @Override
+    @Nullable
+    public NBT remove(@Nullable Object key) {
+        return this.decode(this.index().remove(key));
+    }
+
+    @Override
+    public void clear() {
+        LinkedHashMap<String, Object> index = this.index;
+        if (index == null) {
+            this.index = new LinkedHashMap<>();
+            return;
+        }
+        index.clear();
+    }
+
+    @Override
+    @NotNull
+    public Set<Entry<String, NBT>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Writes the compound payload, copying the untouched entries as is.
+     *
+     * @param out Target output
+     * @throws IOException On I/O exception
+     */
+    void write(@NotNull DataOutput out) throws IOException {
+        // Not touched, copy as is.
+        LinkedHashMap<String, Object> index = this.index;
+        if (index == null) {
+            out.write(this.data, this.start, this.end - this.start);
+            return;
+        }
+
+        // Write entries.
+        for (Map.Entry<String, Object> entry : index.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof RawEntry raw) {
+                out.write(this.data, raw.entryStart, raw.end - raw.entryStart);
+            } else {
+                NBT.writeNamed(out, entry.getKey(), (NBT) value);
+            }
+        }
+        out.writeByte(NBT.NULL_NBT_TYPE);
+    }
+
+    /**
+     * Gets the serialized compound payload size.
+     *
+     * @return Serialized size in bytes
+     * @see NBT#serializedSize()
+     */
+    @Contract(pure = true)
+    long serializedSize() {
+        // Not touched.
+        LinkedHashMap<String, Object> index = this.index;
+        if (index == null) return this.end - this.start;
+
+        // Count entries.
+        long size = Byte.BYTES; // NBT End
+        for (Map.Entry<String, Object> entry : index.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof RawEntry raw) {
+                size += raw.end - raw.entryStart;
+            } else {
+                size += NBT.serializedSizeNamed(entry.getKey(), (NBT) value);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Decodes the tag payload.
+     *
+     * @param data  Encoded data
+     * @param type  Tag type
+     * @param start Payload start, inclusive
+     * @param end   Payload end, exclusive
+     * @return Decoded NBT, lazy for compounds and lists
+     * @throws UncheckedIOException If a string is malformed
+     */
+    @Contract("_, _, _, _ -> new")
+    @NotNull
+    static NBT decode(byte @NotNull [] data, byte type, int start, int end) {
+        return switch (type) {
+            case CompoundNBT.COMPOUND_NBT_TYPE -> new CompoundNBT(new LazyCompoundMap(data, start, end));
+            case ListNBT.LIST_NBT_TYPE -> new ListNBT(new LazyNBTList(data, start, end));
+            default -> {
+                try {
+                    NBTLimiter limiter = NBTLimiter.unlimited();
+                    NBT nbt = NBT.bufferReader(type, limiter).read(ByteBuffer.wrap(data, start, end - start), limiter);
+                    yield Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to decode lazy NBT.", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Raw indexed entry.
+     *
+     * @param type         Tag type
+     * @param entryStart   Entry start (type byte), inclusive
+     * @param payloadStart Payload start, inclusive
+     * @param end          Entry end, exclusive
+     */
+    private record RawEntry(byte type, int entryStart, int payloadStart, int end) {
+        // Empty
+    }
+
+    /**
+     * Entry set view that decodes the values when they're accessed.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, NBT>> {
+        @Override
+        public int size() {
+            return LazyCompoundMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            LazyCompoundMap.this.clear();
+        }
+
+        @Override
+        @NotNull
+        public Iterator<Entry<String, NBT>> iterator() {
+            Iterator<Entry<String, Object>> iterator = LazyCompoundMap.this.index().entrySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                @NotNull
+                public Entry<String, NBT> next() {
+                    return new LazyEntry(iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+    }
+
+    /**
+     * Map entry that decodes the value when it's accessed.
+     */
+    private final class LazyEntry implements Entry<String, NBT> {
+        /**
+         * Index entry.
+         */
+        private final Entry<String, Object> entry;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param entry Index entry
+         */
+        private LazyEntry(@NotNull Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        @NotNull
+        public String getKey() {
+            return this.entry.getKey();
+        }
+
+        @Override
+        @NotNull
+        public NBT getValue() {
+            Object value = this.entry.getValue();
+            if (!(value instanceof RawEntry)) return (NBT) value;
+            NBT nbt = LazyCompoundMap.this.decode(value);
+            this.entry.setValue(nbt);
+            return nbt;
+        }
+
+        @Override
+        @NotNull
+        public NBT setValue(@NotNull NBT value) {
+            Objects.requireNonNull(value, "NBT is null");
+            return LazyCompoundMap.this.decode(this.entry.setValue(value));
+        }
+
+        @Contract(value = "null -> false", pure = true)
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Entry<?, ?> that)) return false;
+            return Objects.equals(this.getKey(), that.getKey()) && Objects.equals(this.getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        @NotNull
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
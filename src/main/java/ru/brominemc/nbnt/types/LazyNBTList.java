@@ -0,0 +1,307 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * List backed by the raw encoded list payload.
+ * <p>
+ * The elements are decoded only when touched. Untouched elements (or the whole payload, if nothing was accessed)
+ * are written back with a bulk copy. Any structural modification materializes the list into the {@link ArrayList}.
+ *
+ * @author VidTu
+ * @apiNote The payload must be validated (e.g. via {@link ListNBT#skip(ByteBuffer, NBTLimiter)}) before creating this list,
+ * the strings are decoded on access and malformed strings are thrown as {@link java.io.UncheckedIOException}
+ * @see ListNBT#readLazy(ByteBuffer, NBTLimiter)
+ * @since 1.6.0
+ */
+final class LazyNBTList extends AbstractList<NBT> implements RandomAccess {
+    /**
+     * Encoded data, shared between the lazy tags.
+     */
+    private final byte[] data;
+
+    /**
+     * Payload start in the {@link #data}, inclusive.
+     */
+    private final int start;
+
+    /**
+     * Payload end in the {@link #data}, exclusive.
+     */
+    private final int end;
+
+    /**
+     * Elements type.
+     */
+    private final byte type;
+
+    /**
+     * Decoded elements, {@code null} for elements that weren't touched.
+     */
+    private final NBT[] decoded;
+
+    /**
+     * Element offsets, {@code size + 1} entries, {@code null} if not indexed yet.
+     */
+    private int[] offsets;
+
+    /**
+     * Whether any element was decoded.
+     */
+    private boolean touched;
+
+    /**
+     * Materialized list, {@code null} if the list wasn't structurally modified.
+     */
+    private List<NBT> materialized;
+
+    /**
+     * Creates a new lazy list.
+     *
+     * @param data  Encoded data
+     * @param start Payload start, inclusive
+     * @param end   Payload end, exclusive
+     */
+    LazyNBTList(byte @NotNull [] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+        ByteBuffer buffer = ByteBuffer.wrap(data, start, end - start);
+        this.type = buffer.get();
+        this.decoded = new NBT[buffer.getInt()];
+    }
+
+    /**
+     * Gets the elements type.
+     *
+     * @return Elements type, {@code null} if the list is empty
+     */
+    @Contract(pure = true)
+    @Nullable
+    Class<? extends NBT> elementType() {
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized.isEmpty() ? null : materialized.getFirst().getClass();
+        return this.decoded.length == 0 ? null : ListNBT.typeClass(this.type);
+    }
+
+    /**
+     * Gets the element offsets, indexing them if required.
+     *
+     * @return Element offsets
+     */
+    private int @NotNull [] offsets() {
+        int[] offsets = this.offsets;
+        if (offsets != null) return offsets;
+        int size = this.decoded.length;
+        offsets = new int[size + 1];
+        int offset = this.start + Byte.BYTES + Integer.BYTES; // Type + Length
+        int fixed = ListNBT.fixedSize(this.type);
+        if (fixed != 0) {
+            // Fixed size elements.
+            for (int i = 0; i <= size; i++) {
+                offsets[i] = offset + i * fixed;
+            }
+        } else {
+            // Variable size elements.
+            ByteBuffer buffer = ByteBuffer.wrap(this.data, offset, this.end - offset);
+            NBTLimiter limiter = NBTLimiter.unlimited();
+            NBTBufferSkipper skipper = NBT.bufferSkipper(this.type, limiter);
+            for (int i = 0; i < size; i++) {
+                offsets[i] = buffer.position();
+                skipper.skip(buffer, limiter);
+            }
+            offsets[size] = buffer.position();
+        }
+        this.offsets = offsets;
+        return offsets;
+    }
+
+    /**
+     * Materializes the list for the structural modification.
+     *
+     * @return Materialized list
+     */
+    @NotNull
+    private List<NBT> materialize() {
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized;
+        int size = this.decoded.length;
+        materialized = new ArrayList<>(Math.max(size + (size >> 1), 16));
+        for (int i = 0; i < size; i++) {
+            materialized.add(this.get(i));
+        }
+        this.materialized = materialized;
+        return materialized;
+    }
+
+    @Override
+    public int size() {
+        List<NBT> materialized = this.materialized;
+        return materialized != null ? materialized.size() : this.decoded.length;
+    }
+
+    @Override
+    @NotNull
+    public NBT get(int index) {
+        // Delegate if materialized.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized.get(index);
+
+        // Decode if not decoded.
+        Objects.checkIndex(index, this.decoded.length);
+        NBT nbt = this.decoded[index];
+        if (nbt != null) return nbt;
+        int[] offsets = this.offsets();
+        nbt = LazyCompoundMap.decode(this.data, this.type, offsets[index], offsets[index + 1]);
+        this.decoded[index] = nbt;
+        this.touched = true;
+        return nbt;
+    }
+
+    @Override
+    @NotNull
+    public NBT set(int index, @NotNull NBT element) {
+        Objects.requireNonNull(element, "NBT is null");
+
+        // Replace in place if the type matches.
+        if (this.materialized == null && NBT.type(element) == this.type) {
+            NBT old = this.get(index);
+            this.decoded[index] = element;
+            return old;
+        }
+
+        // Replace in the materialized list otherwise.
+        return this.materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, @NotNull NBT element) {
+        Objects.requireNonNull(element, "NBT is null");
+        this.materialize().add(index, element);
+        this.modCount++;
+    }
+
+    @Override
+    @NotNull
+    public NBT remove(int index) {
+        NBT old = this.materialize().remove(index);
+        this.modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            materialized.clear();
+        } else {
+            this.materialized = new ArrayList<>(16);
+        }
+        this.modCount++;
+    }
+
+    /**
+     * Writes the list payload, copying the untouched elements as is.
+     *
+     * @param out Target output
+     * @throws IOException On I/O exception
+     * @see ListNBT#write(DataOutput)
+     */
+    void write(@NotNull DataOutput out) throws IOException {
+        // Write as a regular list if materialized.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            out.writeByte(materialized.isEmpty() ? NBT.NULL_NBT_TYPE : NBT.type(materialized.getFirst()));
+            out.writeInt(materialized.size());
+            for (NBT nbt : materialized) {
+                nbt.write(out);
+            }
+            return;
+        }
+
+        // Not touched, copy as is.
+        if (!this.touched) {
+            out.write(this.data, this.start, this.end - this.start);
+            return;
+        }
+
+        // Write elements, coalescing the untouched runs.
+        out.write(this.data, this.start, Byte.BYTES + Integer.BYTES); // Type + Length
+        int[] offsets = this.offsets();
+        int run = -1;
+        for (int i = 0, size = this.decoded.length; i < size; i++) {
+            NBT nbt = this.decoded[i];
+            if (nbt == null) {
+                if (run == -1) run = i;
+                continue;
+            }
+            if (run != -1) {
+                out.write(this.data, offsets[run], offsets[i] - offsets[run]);
+                run = -1;
+            }
+            nbt.write(out);
+        }
+        if (run != -1) {
+            out.write(this.data, offsets[run], offsets[this.decoded.length] - offsets[run]);
+        }
+    }
+
+    /**
+     * Gets the serialized list payload size.
+     *
+     * @return Serialized size in bytes
+     * @see ListNBT#serializedSize()
+     */
+    @Contract(pure = true)
+    long serializedSize() {
+        // Count as a regular list if materialized.
+        List<NBT> materialized = this.materialized;
+        long size = Byte.BYTES + Integer.BYTES; // Type + Length
+        if (materialized != null) {
+            for (NBT nbt : materialized) {
+                size += nbt.serializedSize();
+            }
+            return size;
+        }
+
+        // Not touched.
+        if (!this.touched) return this.end - this.start;
+
+        // Count elements.
+        int[] offsets = this.offsets();
+        for (int i = 0, length = this.decoded.length; i < length; i++) {
+            NBT nbt = this.decoded[i];
+            size += nbt != null ? nbt.serializedSize() : offsets[i + 1] - offsets[i];
+        }
+        return size;
+    }
+}
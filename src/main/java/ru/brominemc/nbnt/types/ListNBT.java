@@ -16,17 +16,24 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -35,6 +42,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.function.UnaryOperator;
 
 /**
  * List NBT type.
@@ -57,11 +65,42 @@ public final class ListNBT implements NBT, List<NBT> {
      */
     public static final NBTReader LIST_NBT_READER = ListNBT::read;
 
+    /**
+     * Buffer reader that reads {@link ListNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader LIST_NBT_BUFFER_READER = ListNBT::read;
+
+    /**
+     * Skipper that skips {@link ListNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper LIST_NBT_SKIPPER = ListNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link ListNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper LIST_NBT_BUFFER_SKIPPER = ListNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private List<NBT> value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Cached hash code, valid only if this NBT is {@link #frozen}.
+     */
+    private transient int hash;
+
     /**
      * Creates a new empty list NBT backed by {@link ArrayList#ArrayList()}.
      */
@@ -109,14 +148,70 @@ public final class ListNBT implements NBT, List<NBT> {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      * @apiNote This will unwrap any list NBT, i.e. this list NBT won't be backed by another list NBT
      */
     public void value(@NotNull List<NBT> value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value instanceof ListNBT nbt ? nbt.value : Objects.requireNonNull(value, "List is null");
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public ListNBT freeze() {
+        if (this.frozen) return this;
+        PrimitiveNBTList primitive = this.value instanceof PrimitiveNBTList list ? list.frozenCopy() : null;
+        if (primitive != null) {
+            this.value = primitive;
+        } else {
+            for (NBT nbt : this.value) {
+                nbt.freeze();
+            }
+            this.value = List.copyOf(this.value);
+        }
+        this.hash = this.value.hashCode();
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Interns the string elements of this list. Nested lists and compounds are not interned.
+     *
+     * @param interner Intern function
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
+     * @apiNote Unlike iterating the elements, this doesn't expand the compactly stored strings into the tags
+     * @since 1.6.0
+     */
+    public void internStrings(@NotNull UnaryOperator<String> interner) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
+        if (this.value instanceof PrimitiveNBTList list && list.internStrings(interner)) return;
+        if (this.type() != StringNBT.class) return;
+        for (NBT nbt : this.value) {
+            StringNBT str = (StringNBT) nbt;
+            if (str.frozen()) continue;
+            str.value(interner.apply(str.value()));
+        }
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
+        if (this.value instanceof PrimitiveNBTList list) {
+            list.write(out);
+            return;
+        }
+        if (this.value instanceof LazyNBTList list) {
+            list.write(out);
+            return;
+        }
         out.writeByte(this.value.isEmpty() ? NBT.NULL_NBT_TYPE : NBT.type(this.value.getFirst()));
         out.writeInt(this.value.size());
         for (NBT nbt : this.value) {
@@ -124,6 +219,18 @@ public final class ListNBT implements NBT, List<NBT> {
         }
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        if (this.value instanceof PrimitiveNBTList list) return list.serializedSize();
+        if (this.value instanceof LazyNBTList list) return list.serializedSize();
+        long size = Byte.BYTES + Integer.BYTES; // Type + Length
+        for (NBT nbt : this.value) {
+            size += nbt.serializedSize();
+        }
+        return size;
+    }
+
     /**
      * Gets the list type.
      *
@@ -132,7 +239,11 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract(pure = true)
     @Nullable
     public Class<? extends NBT> type() {
-        return this.value.isEmpty() ? null : this.value.getFirst().getClass();
+        return switch (this.value) {
+            case PrimitiveNBTList list -> list.elementType();
+            case LazyNBTList list -> list.elementType();
+            default -> this.value.isEmpty() ? null : this.value.getFirst().getClass();
+        };
     }
 
     /**
@@ -158,6 +269,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addBoolean(boolean value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            list.addIntegral(value ? 1 : 0);
+            return;
+        }
         this.add(new ByteNBT(value));
     }
 
@@ -170,6 +285,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addByte(byte value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            list.addIntegral(value);
+            return;
+        }
         this.add(new ByteNBT(value));
     }
 
@@ -182,6 +301,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addShort(short value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ShortNBT.SHORT_NBT_TYPE)) {
+            list.addIntegral(value);
+            return;
+        }
         this.add(new ShortNBT(value));
     }
 
@@ -194,6 +317,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addInt(int value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(IntNBT.INT_NBT_TYPE)) {
+            list.addIntegral(value);
+            return;
+        }
         this.add(new IntNBT(value));
     }
 
@@ -206,6 +333,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addLong(long value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(LongNBT.LONG_NBT_TYPE)) {
+            list.addIntegral(value);
+            return;
+        }
         this.add(new LongNBT(value));
     }
 
@@ -218,6 +349,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addFloat(float value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(FloatNBT.FLOAT_NBT_TYPE)) {
+            list.addFloating(value);
+            return;
+        }
         this.add(new FloatNBT(value));
     }
 
@@ -230,6 +365,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addDouble(float value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(DoubleNBT.DOUBLE_NBT_TYPE)) {
+            list.addFloating(value);
+            return;
+        }
         this.add(new DoubleNBT(value));
     }
 
@@ -254,6 +393,10 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public void addString(@NotNull String value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(StringNBT.STRING_NBT_TYPE)) {
+            list.addString(value);
+            return;
+        }
         this.add(new StringNBT(value));
     }
 
@@ -314,6 +457,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeBoolean(boolean value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            int index = list.indexOfIntegral(value ? 1 : 0);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!ByteNBT.class.equals(this.type())) return false;
         return this.remove(new ByteNBT(value));
     }
@@ -327,6 +476,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeByte(byte value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            int index = list.indexOfIntegral(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!ByteNBT.class.equals(this.type())) return false;
         return this.remove(new ByteNBT(value));
     }
@@ -340,6 +495,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeShort(short value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ShortNBT.SHORT_NBT_TYPE)) {
+            int index = list.indexOfIntegral(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!ShortNBT.class.equals(this.type())) return false;
         return this.remove(new ShortNBT(value));
     }
@@ -353,6 +514,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeInt(int value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(IntNBT.INT_NBT_TYPE)) {
+            int index = list.indexOfIntegral(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!IntNBT.class.equals(this.type())) return false;
         return this.remove(new IntNBT(value));
     }
@@ -366,6 +533,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeLong(long value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(LongNBT.LONG_NBT_TYPE)) {
+            int index = list.indexOfIntegral(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!LongNBT.class.equals(this.type())) return false;
         return this.remove(new LongNBT(value));
     }
@@ -379,6 +552,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeFloat(float value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(FloatNBT.FLOAT_NBT_TYPE)) {
+            int index = list.indexOfFloating(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!FloatNBT.class.equals(this.type())) return false;
         return this.remove(new FloatNBT(value));
     }
@@ -392,6 +571,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeDouble(double value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(DoubleNBT.DOUBLE_NBT_TYPE)) {
+            int index = list.indexOfFloating(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!DoubleNBT.class.equals(this.type())) return false;
         return this.remove(new DoubleNBT(value));
     }
@@ -418,6 +603,12 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean removeString(@NotNull String value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(StringNBT.STRING_NBT_TYPE)) {
+            int index = list.indexOfString(value);
+            if (index == -1) return false;
+            list.delete(index);
+            return true;
+        }
         if (!StringNBT.class.equals(this.type())) return false;
         return this.remove(new StringNBT(value));
     }
@@ -483,6 +674,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsBoolean(boolean value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            return list.indexOfIntegral(value ? 1 : 0) != -1;
+        }
         if (!ByteNBT.class.equals(this.type())) return false;
         return this.contains(new ByteNBT(value));
     }
@@ -496,6 +690,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsByte(byte value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ByteNBT.BYTE_NBT_TYPE)) {
+            return list.indexOfIntegral(value) != -1;
+        }
         if (!ByteNBT.class.equals(this.type())) return false;
         return this.contains(new ByteNBT(value));
     }
@@ -509,6 +706,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsShort(short value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(ShortNBT.SHORT_NBT_TYPE)) {
+            return list.indexOfIntegral(value) != -1;
+        }
         if (!ShortNBT.class.equals(this.type())) return false;
         return this.contains(new ShortNBT(value));
     }
@@ -522,6 +722,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsInt(int value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(IntNBT.INT_NBT_TYPE)) {
+            return list.indexOfIntegral(value) != -1;
+        }
         if (!IntNBT.class.equals(this.type())) return false;
         return this.contains(new IntNBT(value));
     }
@@ -535,6 +738,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsLong(long value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(LongNBT.LONG_NBT_TYPE)) {
+            return list.indexOfIntegral(value) != -1;
+        }
         if (!LongNBT.class.equals(this.type())) return false;
         return this.contains(new LongNBT(value));
     }
@@ -548,6 +754,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsFloat(float value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(FloatNBT.FLOAT_NBT_TYPE)) {
+            return list.indexOfFloating(value) != -1;
+        }
         if (!FloatNBT.class.equals(this.type())) return false;
         return this.contains(new FloatNBT(value));
     }
@@ -561,6 +770,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsDouble(double value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(DoubleNBT.DOUBLE_NBT_TYPE)) {
+            return list.indexOfFloating(value) != -1;
+        }
         if (!DoubleNBT.class.equals(this.type())) return false;
         return this.contains(new DoubleNBT(value));
     }
@@ -587,6 +799,9 @@ public final class ListNBT implements NBT, List<NBT> {
      * @since 1.1.0
      */
     public boolean containsString(@NotNull String value) {
+        if (this.value instanceof PrimitiveNBTList list && list.specialized(StringNBT.STRING_NBT_TYPE)) {
+            return list.indexOfString(value) != -1;
+        }
         if (!StringNBT.class.equals(this.type())) return false;
         return this.contains(new StringNBT(value));
     }
@@ -689,7 +904,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andBoolean(boolean value) {
-        this.add(new ByteNBT(value));
+        this.addBoolean(value);
         return this;
     }
 
@@ -705,7 +920,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andByte(byte value) {
-        this.add(new ByteNBT(value));
+        this.addByte(value);
         return this;
     }
 
@@ -721,7 +936,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andShort(short value) {
-        this.add(new ShortNBT(value));
+        this.addShort(value);
         return this;
     }
 
@@ -737,7 +952,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andInt(int value) {
-        this.add(new IntNBT(value));
+        this.addInt(value);
         return this;
     }
 
@@ -753,7 +968,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andLong(long value) {
-        this.add(new LongNBT(value));
+        this.addLong(value);
         return this;
     }
 
@@ -769,7 +984,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andFloat(float value) {
-        this.add(new FloatNBT(value));
+        this.addFloat(value);
         return this;
     }
 
@@ -785,7 +1000,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andDouble(float value) {
-        this.add(new DoubleNBT(value));
+        this.addDouble(value);
         return this;
     }
 
@@ -817,7 +1032,7 @@ public final class ListNBT implements NBT, List<NBT> {
     @Contract("_ -> this")
     @NotNull
     public ListNBT andString(@NotNull String value) {
-        this.add(new StringNBT(value));
+        this.addString(value);
         return this;
     }
 
@@ -1032,12 +1247,14 @@ public final class ListNBT implements NBT, List<NBT> {
     public boolean equals(@Nullable Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof ListNBT that)) return false;
+        if (this.frozen && that.frozen && this.hash != that.hash) return false;
         return Objects.equals(this.value, that.value);
     }
 
     @Contract(pure = true)
     @Override
     public int hashCode() {
+        if (this.frozen) return this.hash;
         return Objects.hashCode(this.value);
     }
 
@@ -1087,12 +1304,19 @@ public final class ListNBT implements NBT, List<NBT> {
                 throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
             }
 
+            // Pop stack.
+            limiter.pop();
+
             // Return a new empty list.
             return new ListNBT(new ArrayList<>(0));
         }
 
         // Return a new empty list.
         if (length == 0) {
+            // Pop stack.
+            limiter.pop();
+
+            // Return a new empty list.
             return new ListNBT(new ArrayList<>(0));
         }
 
@@ -1101,6 +1325,18 @@ public final class ListNBT implements NBT, List<NBT> {
             throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
         }
 
+        // Read primitives into the array.
+        if (PrimitiveNBTList.supports(type)) {
+            // Read list.
+            PrimitiveNBTList list = PrimitiveNBTList.read(type, length, in, limiter);
+
+            // Pop stack.
+            limiter.pop();
+
+            // Return list.
+            return new ListNBT(list);
+        }
+
         // Load reader.
         NBTReader reader = NBT.reader(type, limiter);
 
@@ -1123,4 +1359,346 @@ public final class ListNBT implements NBT, List<NBT> {
         // Return list.
         return new ListNBT(list);
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is negative, non-zero for {@code null} ("NBT End") type or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @throws NullPointerException     If there's {@code null} ("NBT End") tag in the list or by underlying readers
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static ListNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Push type.
+        limiter.readUnsigned(Byte.BYTES);
+
+        // Read type.
+        byte type = buffer.get();
+
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Type is END.
+        if (type == NBT.NULL_NBT_TYPE) {
+            // Check for length.
+            if (length != 0) {
+                throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+            }
+
+            // Pop stack.
+            limiter.pop();
+
+            // Return a new empty list.
+            return new ListNBT(new ArrayList<>(0));
+        }
+
+        // Return a new empty list.
+        if (length == 0) {
+            // Pop stack.
+            limiter.pop();
+
+            // Return a new empty list.
+            return new ListNBT(new ArrayList<>(0));
+        }
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+        }
+
+        // Read primitives into the array.
+        if (PrimitiveNBTList.supports(type)) {
+            // Read list.
+            PrimitiveNBTList list = PrimitiveNBTList.read(type, length, buffer, limiter);
+
+            // Pop stack.
+            limiter.pop();
+
+            // Return list.
+            return new ListNBT(list);
+        }
+
+        // Load reader.
+        NBTBufferReader reader = NBT.bufferReader(type, limiter);
+
+        // Load full list. (every tag is at least one byte long, don't preallocate more than remaining)
+        List<NBT> list = new ArrayList<>(Math.min(length, buffer.remaining()));
+        for (int i = 0; i < length; i++) {
+            // Read every tag.
+            NBT nbt = reader.read(buffer, limiter);
+
+            // Verify it's not END. (shouldn't happen)
+            Objects.requireNonNull(nbt, "Unexpected null NBT for type " + type + " at " + i + " out of " + length);
+
+            // Add to list.
+            list.add(nbt);
+        }
+
+        // Pop stack.
+        limiter.pop();
+
+        // Return list.
+        return new ListNBT(list);
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided length is negative, non-zero for {@code null} ("NBT End") type or by underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Push type.
+        limiter.readUnsigned(Byte.BYTES);
+
+        // Read type.
+        byte type = in.readByte();
+
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = in.readInt();
+
+        // Type is END.
+        if (type == NBT.NULL_NBT_TYPE) {
+            // Check for length.
+            if (length != 0) {
+                throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+            }
+
+            // Pop stack.
+            limiter.pop();
+            return;
+        }
+
+        // Empty list.
+        if (length == 0) {
+            // Pop stack.
+            limiter.pop();
+            return;
+        }
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+        }
+
+        // Load skipper. (also validates the type)
+        NBTSkipper skipper = NBT.skipper(type, limiter);
+
+        // Skip fixed-size elements at once.
+        int size = fixedSize(type);
+        if (size != 0) {
+            long bytes = (long) length * size;
+            limiter.readUnsigned(bytes);
+            NBTSkipper.skipFully(in, bytes);
+        } else {
+            // Skip every tag.
+            for (int i = 0; i < length; i++) {
+                skipper.skip(in, limiter);
+            }
+        }
+
+        // Pop stack.
+        limiter.pop();
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is negative, non-zero for {@code null} ("NBT End") type or by underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push stack.
+        limiter.push();
+
+        // Push type.
+        limiter.readUnsigned(Byte.BYTES);
+
+        // Read type.
+        byte type = buffer.get();
+
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Type is END.
+        if (type == NBT.NULL_NBT_TYPE) {
+            // Check for length.
+            if (length != 0) {
+                throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+            }
+
+            // Pop stack.
+            limiter.pop();
+            return;
+        }
+
+        // Empty list.
+        if (length == 0) {
+            // Pop stack.
+            limiter.pop();
+            return;
+        }
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+        }
+
+        // Load skipper. (also validates the type)
+        NBTBufferSkipper skipper = NBT.bufferSkipper(type, limiter);
+
+        // Skip fixed-size elements at once.
+        int size = fixedSize(type);
+        if (size != 0) {
+            long bytes = (long) length * size;
+            limiter.readUnsigned(bytes);
+            NBTBufferSkipper.skipFully(buffer, bytes);
+        } else {
+            // Skip every tag.
+            for (int i = 0; i < length; i++) {
+                skipper.skip(buffer, limiter);
+            }
+        }
+
+        // Pop stack.
+        limiter.pop();
+    }
+
+    /**
+     * Gets the payload size of the fixed-size NBT type.
+     *
+     * @param type NBT type
+     * @return Payload size in bytes, {@code 0} if the type is not fixed-size
+     */
+    @Contract(pure = true)
+    static int fixedSize(byte type) {
+        return switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> Byte.BYTES;
+            case ShortNBT.SHORT_NBT_TYPE -> Short.BYTES;
+            case IntNBT.INT_NBT_TYPE, FloatNBT.FLOAT_NBT_TYPE -> Integer.BYTES;
+            case LongNBT.LONG_NBT_TYPE, DoubleNBT.DOUBLE_NBT_TYPE -> Long.BYTES;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the NBT class of the type.
+     *
+     * @param type NBT type
+     * @return NBT class, {@code null} for {@code null} ("NBT End") or unknown type
+     */
+    @Contract(pure = true)
+    @Nullable
+    static Class<? extends NBT> typeClass(byte type) {
+        return switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> ByteNBT.class;
+            case ShortNBT.SHORT_NBT_TYPE -> ShortNBT.class;
+            case IntNBT.INT_NBT_TYPE -> IntNBT.class;
+            case LongNBT.LONG_NBT_TYPE -> LongNBT.class;
+            case FloatNBT.FLOAT_NBT_TYPE -> FloatNBT.class;
+            case DoubleNBT.DOUBLE_NBT_TYPE -> DoubleNBT.class;
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> ByteArrayNBT.class;
+            case StringNBT.STRING_NBT_TYPE -> StringNBT.class;
+            case LIST_NBT_TYPE -> ListNBT.class;
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.class;
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> IntArrayNBT.class;
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> LongArrayNBT.class;
+            default -> null;
+        };
+    }
+
+    /**
+     * Reads the NBT from the buffer lazily.
+     * <p>
+     * The payload is validated via {@link #skip(ByteBuffer, NBTLimiter)} and copied, the elements are decoded on the first access.
+     * Untouched elements are written back with a bulk copy of the original bytes.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying skippers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @apiNote The strings are validated on access, malformed strings are thrown as {@link java.io.UncheckedIOException}
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static ListNBT readLazy(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Validate and find the end.
+        int start = buffer.position();
+        skip(buffer, limiter);
+        int end = buffer.position();
+
+        // Copy the payload.
+        byte[] data = new byte[end - start];
+        buffer.get(start, data);
+
+        // Return lazy list.
+        return new ListNBT(new LazyNBTList(data, 0, data.length));
+    }
+
+    /**
+     * Reads the NBT from the buffer, materializing the large subtrees concurrently.
+     * <p>
+     * The payload is validated and accounted in the limiter via {@link #skip(ByteBuffer, NBTLimiter)} first. Then the compounds
+     * and the lists of containers larger than {@code 16} KiB are split by their entries or the runs of their elements and read
+     * in the current {@link java.util.concurrent.ForkJoinPool} (or the {@link java.util.concurrent.ForkJoinPool#commonPool()})
+     * using the {@link NBTLimiter#fork() forked} limiters.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException By underlying skippers or readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying skippers
+     * @apiNote This is only faster for the large payloads, e.g. the chunks with thousands of entities or block entities
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static ListNBT readParallel(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Validate and find the end.
+        NBTLimiter fork = limiter.fork();
+        int start = buffer.position();
+        skip(buffer, limiter);
+        int end = buffer.position();
+
+        // Read in parallel.
+        return (ListNBT) ParallelNBTReader.read(buffer, LIST_NBT_TYPE, start, end, fork);
+    }
 }
@@ -16,17 +16,26 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTArrays;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
+import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
 import ru.brominemc.nbnt.utils.exceptions.UnknownNBTException;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -51,6 +60,27 @@ public final class LongArrayNBT implements NBT {
      */
     public static final NBTReader LONG_ARRAY_NBT_READER = LongArrayNBT::read;
 
+    /**
+     * Buffer reader that reads {@link LongArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader LONG_ARRAY_NBT_BUFFER_READER = LongArrayNBT::read;
+
+    /**
+     * Skipper that skips {@link LongArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper LONG_ARRAY_NBT_SKIPPER = LongArrayNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link LongArrayNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper LONG_ARRAY_NBT_BUFFER_SKIPPER = LongArrayNBT::skip;
+
     /**
      * Empty long array.
      *
@@ -63,6 +93,16 @@ public final class LongArrayNBT implements NBT {
      */
     private long[] value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Cached hash code, valid only if this NBT is {@link #frozen}.
+     */
+    private transient int hash;
+
     /**
      * Creates a new long array NBT.
      *
@@ -77,28 +117,54 @@ public final class LongArrayNBT implements NBT {
      * Gets the NBT value.
      *
      * @return NBT value
+     * @apiNote The array is copied if this NBT is {@link #frozen()}
      */
     @Contract(pure = true)
     public long @NotNull [] value() {
-        return this.value;
+        return this.frozen ? this.value.clone() : this.value;
     }
 
     /**
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(long @NotNull [] value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         Objects.requireNonNull(value, "Array is null");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public LongArrayNBT freeze() {
+        if (this.frozen) return this;
+        this.value = this.value.clone();
+        this.hash = Arrays.hashCode(this.value);
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeInt(this.value.length);
-        for (long l : this.value) {
-            out.writeLong(l);
-        }
+        NBTArrays.writeLongs(out, this.value);
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Integer.BYTES + (long) this.value.length * Long.BYTES;
     }
 
     @Contract(value = "null -> false", pure = true)
@@ -106,12 +172,14 @@ public final class LongArrayNBT implements NBT {
     public boolean equals(@Nullable Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof LongArrayNBT that)) return false;
+        if (this.frozen && that.frozen && this.hash != that.hash) return false;
         return Arrays.equals(this.value, that.value);
     }
 
     @Contract(pure = true)
     @Override
     public int hashCode() {
+        if (this.frozen) return this.hash;
         return Arrays.hashCode(this.value);
     }
 
@@ -156,11 +224,118 @@ public final class LongArrayNBT implements NBT {
         // Push data.
         limiter.readSigned((long) length * Long.BYTES);
 
-        // Read data.
+        // Read data. (bulk)
         long[] data = new long[length];
-        for (int i = 0; i < length; i++) {
-            data[i] = in.readLong();
+        NBTArrays.readLongs(in, data);
+        return new LongArrayNBT(data);
+    }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static LongArrayNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Empty shortcut.
+        if (length == 0) return new LongArrayNBT(EMPTY_LONG_ARRAY);
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(LONG_ARRAY_NBT_TYPE, length);
         }
+
+        // Push data.
+        long bytes = (long) length * Long.BYTES;
+        limiter.readUnsigned(bytes);
+
+        // Check for underflow before allocating.
+        if (bytes > buffer.remaining()) throw new BufferUnderflowException();
+
+        // Read data. (bulk)
+        long[] data = new long[length];
+        buffer.asLongBuffer().get(data);
+        buffer.position(buffer.position() + (int) bytes);
         return new LongArrayNBT(data);
     }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = in.readInt();
+
+        // Empty shortcut.
+        if (length == 0) return;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(LONG_ARRAY_NBT_TYPE, length);
+        }
+
+        // Push data.
+        long bytes = (long) length * Long.BYTES;
+        limiter.readUnsigned(bytes);
+
+        // Skip data.
+        NBTSkipper.skipFully(in, bytes);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the provided length is smaller than zero
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        // Push length.
+        limiter.readUnsigned(Integer.BYTES);
+
+        // Read length.
+        int length = buffer.getInt();
+
+        // Empty shortcut.
+        if (length == 0) return;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(LONG_ARRAY_NBT_TYPE, length);
+        }
+
+        // Push data.
+        long bytes = (long) length * Long.BYTES;
+        limiter.readUnsigned(bytes);
+
+        // Skip data.
+        NBTBufferSkipper.skipFully(buffer, bytes);
+    }
 }
@@ -16,16 +16,23 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Long NBT type.
@@ -48,11 +55,37 @@ public final class LongNBT implements PrimitiveNBT {
      */
     public static final NBTReader LONG_NBT_READER = LongNBT::read;
 
+    /**
+     * Buffer reader that reads {@link LongNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader LONG_NBT_BUFFER_READER = LongNBT::read;
+
+    /**
+     * Skipper that skips {@link LongNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper LONG_NBT_SKIPPER = LongNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link LongNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper LONG_NBT_BUFFER_SKIPPER = LongNBT::skip;
+
     /**
      * Hold NBT value.
      */
     private long value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
     /**
      * Creates a new long NBT.
      *
@@ -76,16 +109,40 @@ public final class LongNBT implements PrimitiveNBT {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(long value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public LongNBT freeze() {
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
         out.writeLong(this.value);
     }
 
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        return Long.BYTES;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(@Nullable Object obj) {
@@ -160,4 +217,50 @@ public final class LongNBT implements PrimitiveNBT {
         limiter.readUnsigned(Long.BYTES); // Data
         return new LongNBT(in.readLong());
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static LongNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Long.BYTES); // Data
+        return new LongNBT(buffer.getLong());
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Long.BYTES); // Data
+        NBTSkipper.skipFully(in, Long.BYTES);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Long.BYTES); // Data
+        NBTBufferSkipper.skipFully(buffer, Long.BYTES);
+    }
 }
@@ -16,19 +16,31 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
 import ru.brominemc.nbnt.utils.exceptions.UnknownNBTException;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
 import java.util.Map;
 import java.util.Objects;
 
@@ -55,6 +67,41 @@ public sealed interface NBT permits PrimitiveNBT, ByteArrayNBT, StringNBT, ListN
      */
     void write(@NotNull DataOutput out) throws IOException;
 
+    /**
+     * Gets the exact size of this NBT as written by {@link #write(DataOutput)}.
+     *
+     * @return NBT size in bytes
+     * @apiNote The size doesn't include the NBT type and name, see {@link #serializedSize(NBT)}, {@link #serializedSizeNamed(String, NBT)} and {@link #serializedSizeUnnamed(NBT)}
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    long serializedSize();
+
+    /**
+     * Freezes this NBT and all of its children, making them deeply immutable.
+     * <p>
+     * Frozen NBTs cache their hash codes, reject any modification with {@link UnsupportedOperationException}
+     * and can be shared between threads (e.g. as keys or values of concurrent maps) without copying.
+     * Freezing is irreversible, freezing a frozen NBT does nothing.
+     *
+     * @return This NBT
+     * @apiNote The container and array values are copied into immutable storage on freezing, mutable references obtained before are detached
+     * @since 1.6.0
+     */
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @NotNull
+    NBT freeze();
+
+    /**
+     * Gets whether this NBT is frozen.
+     *
+     * @return Whether this NBT is frozen via {@link #freeze()}
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    boolean frozen();
+
     /**
      * Reads the named NBT from the input.
      *
@@ -133,6 +180,379 @@ public sealed interface NBT permits PrimitiveNBT, ByteArrayNBT, StringNBT, ListN
         return nbt;
     }
 
+    /**
+     * Reads the named NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static Map.Entry<String, NBT> readNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        String name = NBTLimiter.readLimitedUTF(buffer, limiter);
+        NBTBufferReader reader = bufferReader(type, limiter);
+        NBT nbt = reader.read(buffer, limiter);
+        Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+        return Map.entry(name, nbt);
+    }
+
+    /**
+     * Reads the unnamed NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length, strict empty names policy violation or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static NBT readUnnamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        if (length > buffer.remaining()) throw new BufferUnderflowException();
+        buffer.position(buffer.position() + length);
+        NBTBufferReader reader = bufferReader(type, limiter);
+        NBT nbt = reader.read(buffer, limiter);
+        Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+        return nbt;
+    }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static NBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        NBTBufferReader reader = bufferReader(type, limiter);
+        NBT nbt = reader.read(buffer, limiter);
+        Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+        return nbt;
+    }
+
+    /**
+     * Reads the named NBT from the buffer lazily.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see CompoundNBT#readLazy(ByteBuffer, NBTLimiter)
+     * @see ListNBT#readLazy(ByteBuffer, NBTLimiter)
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static Map.Entry<String, NBT> readNamedLazy(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        String name = NBTLimiter.readLimitedUTF(buffer, limiter);
+        return Map.entry(name, readLazy(type, buffer, limiter));
+    }
+
+    /**
+     * Reads the NBT from the buffer lazily.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see CompoundNBT#readLazy(ByteBuffer, NBTLimiter)
+     * @see ListNBT#readLazy(ByteBuffer, NBTLimiter)
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static NBT readLazy(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        return readLazy(type, buffer, limiter);
+    }
+
+    /**
+     * Reads the NBT payload from the buffer lazily, if the type supports it.
+     *
+     * @param type    NBT type
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException If a string is malformed
+     */
+    @CheckReturnValue
+    @NotNull
+    private static NBT readLazy(byte type, @NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        return switch (type) {
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.readLazy(buffer, limiter);
+            case ListNBT.LIST_NBT_TYPE -> ListNBT.readLazy(buffer, limiter);
+            default -> Objects.requireNonNull(bufferReader(type, limiter).read(buffer, limiter), "NBT of non-zero type is null");
+        };
+    }
+
+    /**
+     * Reads the named NBT from the buffer, materializing the large subtrees concurrently.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see CompoundNBT#readParallel(ByteBuffer, NBTLimiter)
+     * @see ListNBT#readParallel(ByteBuffer, NBTLimiter)
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static Map.Entry<String, NBT> readNamedParallel(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        String name = NBTLimiter.readLimitedUTF(buffer, limiter);
+        return Map.entry(name, readParallel(type, buffer, limiter));
+    }
+
+    /**
+     * Reads the NBT from the buffer, materializing the large subtrees concurrently.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, read bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @throws IllegalStateException    By underlying reader
+     * @throws NullPointerException     By underlying reader
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see CompoundNBT#readParallel(ByteBuffer, NBTLimiter)
+     * @see ListNBT#readParallel(ByteBuffer, NBTLimiter)
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    static NBT readParallel(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return null; // NBT End
+        return readParallel(type, buffer, limiter);
+    }
+
+    /**
+     * Reads the NBT payload from the buffer concurrently, if the type supports it.
+     *
+     * @param type    NBT type
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException If a string is malformed
+     */
+    @CheckReturnValue
+    @NotNull
+    private static NBT readParallel(byte type, @NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        return switch (type) {
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.readParallel(buffer, limiter);
+            case ListNBT.LIST_NBT_TYPE -> ListNBT.readParallel(buffer, limiter);
+            default -> Objects.requireNonNull(bufferReader(type, limiter).read(buffer, limiter), "NBT of non-zero type is null");
+        };
+    }
+
+    /**
+     * Skips the named NBT from the input without reading it.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided NBT type is unknown or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings (including the name) are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skipNamed(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        StringNBT.skip(in, limiter); // Name
+        skipper(type, limiter).skip(in, limiter);
+        return true;
+    }
+
+    /**
+     * Skips the unnamed NBT from the input without reading it.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided NBT type is unknown, strict empty names policy violation or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skipUnnamed(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = in.readUnsignedShort();
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTSkipper.skipFully(in, length);
+        skipper(type, limiter).skip(in, limiter);
+        return true;
+    }
+
+    /**
+     * Skips the NBT from the input without reading it.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the provided NBT type is unknown or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        skipper(type, limiter).skip(in, limiter);
+        return true;
+    }
+
+    /**
+     * Skips the named NBT from the buffer without reading it.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings (including the name) are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skipNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        StringNBT.skip(buffer, limiter); // Name
+        bufferSkipper(type, limiter).skip(buffer, limiter);
+        return true;
+    }
+
+    /**
+     * Skips the unnamed NBT from the buffer without reading it.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown, strict empty names policy violation or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skipUnnamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTBufferSkipper.skipFully(buffer, length);
+        bufferSkipper(type, limiter).skip(buffer, limiter);
+        return true;
+    }
+
+    /**
+     * Skips the NBT from the buffer without reading it.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Whether the tag was skipped, {@code false} if read the "NBT End" type
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the provided NBT type is unknown or by underlying skipper
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or by underlying skipper
+     * @apiNote Strings are not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    static boolean skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NULL_NBT_TYPE) return false; // NBT End
+        bufferSkipper(type, limiter).skip(buffer, limiter);
+        return true;
+    }
+
     /**
      * Writes the named NBT to the output.
      *
@@ -144,7 +564,7 @@ public sealed interface NBT permits PrimitiveNBT, ByteArrayNBT, StringNBT, ListN
     static void writeNamed(@NotNull DataOutput out, @NotNull String name, @Nullable NBT nbt) throws IOException {
         out.writeByte(type(nbt));
         if (nbt == null) return;
-        out.writeUTF(name);
+        ModifiedUTF8.write(out, name);
         nbt.write(out);
     }
 
@@ -176,6 +596,188 @@ public sealed interface NBT permits PrimitiveNBT, ByteArrayNBT, StringNBT, ListN
         nbt.write(out);
     }
 
+    /**
+     * Writes the named NBT to the buffer.
+     *
+     * @param buffer Target buffer
+     * @param name   Target name
+     * @param nbt    Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException              If a string is too long
+     * @throws BufferOverflowException  If the buffer doesn't have enough space remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian
+     * @apiNote The NBT is written at the current position of the buffer, the position is advanced past the written NBT
+     * @see NBTBufferOutput
+     * @since 1.6.0
+     */
+    static void writeNamed(@NotNull ByteBuffer buffer, @NotNull String name, @Nullable NBT nbt) throws IOException {
+        writeNamed(new NBTBufferOutput(buffer), name, nbt);
+    }
+
+    /**
+     * Writes the unnamed NBT to the buffer.
+     *
+     * @param buffer Target buffer
+     * @param nbt    Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException              If a string is too long
+     * @throws BufferOverflowException  If the buffer doesn't have enough space remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian
+     * @apiNote The NBT is written at the current position of the buffer, the position is advanced past the written NBT
+     * @see NBTBufferOutput
+     * @since 1.6.0
+     */
+    static void writeUnnamed(@NotNull ByteBuffer buffer, @Nullable NBT nbt) throws IOException {
+        writeUnnamed(new NBTBufferOutput(buffer), nbt);
+    }
+
+    /**
+     * Writes the NBT to the buffer.
+     *
+     * @param buffer Target buffer
+     * @param nbt    Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException              If a string is too long
+     * @throws BufferOverflowException  If the buffer doesn't have enough space remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian
+     * @apiNote The NBT is written at the current position of the buffer, the position is advanced past the written NBT
+     * @see NBTBufferOutput
+     * @since 1.6.0
+     */
+    static void write(@NotNull ByteBuffer buffer, @Nullable NBT nbt) throws IOException {
+        write(new NBTBufferOutput(buffer), nbt);
+    }
+
+    /**
+     * Writes the named NBT to the output, encoding the large subtrees concurrently.
+     * <p>
+     * The children of the compounds and lists larger than {@code 16} KiB are encoded in the runs into the separate exactly sized
+     * buffers in the current {@link java.util.concurrent.ForkJoinPool} (or the {@link java.util.concurrent.ForkJoinPool#commonPool()}),
+     * then the buffers are written to the output in order.
+     *
+     * @param out  Target output
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException On I/O exception
+     * @apiNote The NBT must not be modified while writing, this is only faster for the large NBTs
+     * @since 1.6.0
+     */
+    static void writeNamedParallel(@NotNull DataOutput out, @NotNull String name, @Nullable NBT nbt) throws IOException {
+        for (ByteBuffer segment : ParallelNBTWriter.encode(Objects.requireNonNull(name, "Name is null"), nbt)) {
+            out.write(segment.array(), segment.arrayOffset() + segment.position(), segment.remaining());
+        }
+    }
+
+    /**
+     * Writes the NBT to the output, encoding the large subtrees concurrently.
+     *
+     * @param out Target output
+     * @param nbt Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException On I/O exception
+     * @apiNote The NBT must not be modified while writing, this is only faster for the large NBTs
+     * @see #writeNamedParallel(DataOutput, String, NBT)
+     * @since 1.6.0
+     */
+    static void writeParallel(@NotNull DataOutput out, @Nullable NBT nbt) throws IOException {
+        for (ByteBuffer segment : ParallelNBTWriter.encode(null, nbt)) {
+            out.write(segment.array(), segment.arrayOffset() + segment.position(), segment.remaining());
+        }
+    }
+
+    /**
+     * Writes the named NBT to the channel, encoding the large subtrees concurrently and writing them with a gathering write.
+     *
+     * @param channel Target blocking channel
+     * @param name    Target name
+     * @param nbt     Target NBT, {@code null} for the "NBT End" type
+     * @return Written bytes
+     * @throws IOException              On I/O exception or if the channel accepts no bytes
+     * @throws IllegalArgumentException If the channel is non-blocking
+     * @apiNote The NBT must not be modified while writing, this is only faster for the large NBTs
+     * @see #writeNamedParallel(DataOutput, String, NBT)
+     * @since 1.6.0
+     */
+    static long writeNamedParallel(@NotNull GatheringByteChannel channel, @NotNull String name, @Nullable NBT nbt) throws IOException {
+        return writeFully(channel, ParallelNBTWriter.encode(Objects.requireNonNull(name, "Name is null"), nbt));
+    }
+
+    /**
+     * Writes the NBT to the channel, encoding the large subtrees concurrently and writing them with a gathering write.
+     *
+     * @param channel Target blocking channel
+     * @param nbt     Target NBT, {@code null} for the "NBT End" type
+     * @return Written bytes
+     * @throws IOException              On I/O exception or if the channel accepts no bytes
+     * @throws IllegalArgumentException If the channel is non-blocking
+     * @apiNote The NBT must not be modified while writing, this is only faster for the large NBTs
+     * @see #writeNamedParallel(DataOutput, String, NBT)
+     * @since 1.6.0
+     */
+    static long writeParallel(@NotNull GatheringByteChannel channel, @Nullable NBT nbt) throws IOException {
+        return writeFully(channel, ParallelNBTWriter.encode(null, nbt));
+    }
+
+    /**
+     * Writes all segments to the channel.
+     *
+     * @param channel  Target channel
+     * @param segments Target segments
+     * @return Written bytes
+     * @throws IOException              On I/O exception or if the channel accepts no bytes
+     * @throws IllegalArgumentException If the channel is non-blocking
+     */
+    private static long writeFully(@NotNull GatheringByteChannel channel, ByteBuffer @NotNull [] segments) throws IOException {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) throw new IllegalArgumentException("Channel is non-blocking: " + channel);
+        long written = 0L;
+        for (int offset = 0; offset < segments.length; ) {
+            long chunk = channel.write(segments, offset, segments.length - offset);
+            if (chunk == 0L && segments[offset].hasRemaining()) throw new IOException("Channel accepted no bytes, it must be blocking: " + channel);
+            written += chunk;
+            while (offset < segments.length && !segments[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Gets the exact size of the named NBT as written by {@link #writeNamed(DataOutput, String, NBT)}.
+     *
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @return NBT size in bytes
+     * @apiNote Names longer than {@link ModifiedUTF8#MAX_LENGTH} bytes are counted, but can't be written
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    static long serializedSizeNamed(@NotNull String name, @Nullable NBT nbt) {
+        if (nbt == null) return Byte.BYTES; // Type
+        return Byte.BYTES + Short.BYTES + ModifiedUTF8.length(name) + nbt.serializedSize(); // Type + Name (Length) + Name + Data
+    }
+
+    /**
+     * Gets the exact size of the unnamed NBT as written by {@link #writeUnnamed(DataOutput, NBT)}.
+     *
+     * @param nbt Target NBT, {@code null} for the "NBT End" type
+     * @return NBT size in bytes
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    static long serializedSizeUnnamed(@Nullable NBT nbt) {
+        if (nbt == null) return Byte.BYTES; // Type
+        return Byte.BYTES + Short.BYTES + nbt.serializedSize(); // Type + Name (Length) + Data
+    }
+
+    /**
+     * Gets the exact size of the NBT as written by {@link #write(DataOutput, NBT)}.
+     *
+     * @param nbt Target NBT, {@code null} for the "NBT End" type
+     * @return NBT size in bytes
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    static long serializedSize(@Nullable NBT nbt) {
+        if (nbt == null) return Byte.BYTES; // Type
+        return Byte.BYTES + nbt.serializedSize(); // Type + Data
+    }
+
     /**
      * Gets the reader for the NBT type.
      * <p>
@@ -227,6 +829,105 @@ public sealed interface NBT permits PrimitiveNBT, ByteArrayNBT, StringNBT, ListN
         };
     }
 
+    /**
+     * Gets the buffer reader for the NBT type.
+     *
+     * @param type    NBT type
+     * @param limiter Target limiter
+     * @return Buffer reader for the NBT type
+     * @throws UnknownNBTException If the NBT type is unknown
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @NotNull
+    static NBTBufferReader bufferReader(byte type, @NotNull NBTLimiter limiter) {
+        return switch (type) {
+            case NULL_NBT_TYPE -> NBTBufferReader.NULL_READER;
+            case ByteNBT.BYTE_NBT_TYPE -> ByteNBT.BYTE_NBT_BUFFER_READER;
+            case ShortNBT.SHORT_NBT_TYPE -> ShortNBT.SHORT_NBT_BUFFER_READER;
+            case IntNBT.INT_NBT_TYPE -> IntNBT.INT_NBT_BUFFER_READER;
+            case LongNBT.LONG_NBT_TYPE -> LongNBT.LONG_NBT_BUFFER_READER;
+            case FloatNBT.FLOAT_NBT_TYPE -> FloatNBT.FLOAT_NBT_BUFFER_READER;
+            case DoubleNBT.DOUBLE_NBT_TYPE -> DoubleNBT.DOUBLE_NBT_BUFFER_READER;
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> ByteArrayNBT.BYTE_ARRAY_NBT_BUFFER_READER;
+            case StringNBT.STRING_NBT_TYPE -> StringNBT.STRING_NBT_BUFFER_READER;
+            case ListNBT.LIST_NBT_TYPE -> ListNBT.LIST_NBT_BUFFER_READER;
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.COMPOUND_NBT_BUFFER_READER;
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> IntArrayNBT.INT_ARRAY_NBT_BUFFER_READER;
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> {
+                if (limiter.longArrays()) yield LongArrayNBT.LONG_ARRAY_NBT_BUFFER_READER;
+                throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+            }
+            default -> throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        };
+    }
+
+    /**
+     * Gets the skipper for the NBT type.
+     *
+     * @param type    NBT type
+     * @param limiter Target limiter
+     * @return Skipper for the NBT type
+     * @throws UnknownNBTException If the NBT type is unknown
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @NotNull
+    static NBTSkipper skipper(byte type, @NotNull NBTLimiter limiter) {
+        return switch (type) {
+            case NULL_NBT_TYPE -> NBTSkipper.NULL_SKIPPER;
+            case ByteNBT.BYTE_NBT_TYPE -> ByteNBT.BYTE_NBT_SKIPPER;
+            case ShortNBT.SHORT_NBT_TYPE -> ShortNBT.SHORT_NBT_SKIPPER;
+            case IntNBT.INT_NBT_TYPE -> IntNBT.INT_NBT_SKIPPER;
+            case LongNBT.LONG_NBT_TYPE -> LongNBT.LONG_NBT_SKIPPER;
+            case FloatNBT.FLOAT_NBT_TYPE -> FloatNBT.FLOAT_NBT_SKIPPER;
+            case DoubleNBT.DOUBLE_NBT_TYPE -> DoubleNBT.DOUBLE_NBT_SKIPPER;
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> ByteArrayNBT.BYTE_ARRAY_NBT_SKIPPER;
+            case StringNBT.STRING_NBT_TYPE -> StringNBT.STRING_NBT_SKIPPER;
+            case ListNBT.LIST_NBT_TYPE -> ListNBT.LIST_NBT_SKIPPER;
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.COMPOUND_NBT_SKIPPER;
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> IntArrayNBT.INT_ARRAY_NBT_SKIPPER;
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> {
+                if (limiter.longArrays()) yield LongArrayNBT.LONG_ARRAY_NBT_SKIPPER;
+                throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+            }
+            default -> throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        };
+    }
+
+    /**
+     * Gets the buffer skipper for the NBT type.
+     *
+     * @param type    NBT type
+     * @param limiter Target limiter
+     * @return Buffer skipper for the NBT type
+     * @throws UnknownNBTException If the NBT type is unknown
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @NotNull
+    static NBTBufferSkipper bufferSkipper(byte type, @NotNull NBTLimiter limiter) {
+        return switch (type) {
+            case NULL_NBT_TYPE -> NBTBufferSkipper.NULL_SKIPPER;
+            case ByteNBT.BYTE_NBT_TYPE -> ByteNBT.BYTE_NBT_BUFFER_SKIPPER;
+            case ShortNBT.SHORT_NBT_TYPE -> ShortNBT.SHORT_NBT_BUFFER_SKIPPER;
+            case IntNBT.INT_NBT_TYPE -> IntNBT.INT_NBT_BUFFER_SKIPPER;
+            case LongNBT.LONG_NBT_TYPE -> LongNBT.LONG_NBT_BUFFER_SKIPPER;
+            case FloatNBT.FLOAT_NBT_TYPE -> FloatNBT.FLOAT_NBT_BUFFER_SKIPPER;
+            case DoubleNBT.DOUBLE_NBT_TYPE -> DoubleNBT.DOUBLE_NBT_BUFFER_SKIPPER;
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> ByteArrayNBT.BYTE_ARRAY_NBT_BUFFER_SKIPPER;
+            case StringNBT.STRING_NBT_TYPE -> StringNBT.STRING_NBT_BUFFER_SKIPPER;
+            case ListNBT.LIST_NBT_TYPE -> ListNBT.LIST_NBT_BUFFER_SKIPPER;
+            case CompoundNBT.COMPOUND_NBT_TYPE -> CompoundNBT.COMPOUND_NBT_BUFFER_SKIPPER;
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> IntArrayNBT.INT_ARRAY_NBT_BUFFER_SKIPPER;
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> {
+                if (limiter.longArrays()) yield LongArrayNBT.LONG_ARRAY_NBT_BUFFER_SKIPPER;
+                throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+            }
+            default -> throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        };
+    }
+
     /**
      * Gets the NBT type from the NBT instance.
      *
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTStringPool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reader of the in-memory NBT payloads, that materializes the large subtrees concurrently.
+ * <p>
+ * The payload must be validated (and accounted in the limiter) by the skipper before reading, e.g. via
+ * {@link CompoundNBT#skip(ByteBuffer, NBTLimiter)}. The compounds and the lists of the containers larger than
+ * {@link #SPLIT_THRESHOLD} are split into the {@link ForkJoinTask}s by their entries or the runs of their elements,
+ * every task reads using its own {@link NBTLimiter#fork(NBTStringPool) forked} limiter. The string pool is forked
+ * once per worker thread and shared by all tasks run by that thread.
+ *
+ * @author VidTu
+ * @see CompoundNBT#readParallel(ByteBuffer, NBTLimiter)
+ * @see ListNBT#readParallel(ByteBuffer, NBTLimiter)
+ * @since 1.6.0
+ */
+final class ParallelNBTReader {
+    /**
+     * Minimum payload length in bytes to split into the tasks.
+     */
+    static final int SPLIT_THRESHOLD = 1 << 14;
+
+    /**
+     * An instance of this class cannot be created.
+     *
+     * @throws AssertionError Always
+     */
+    @Contract(value = "-> fail", pure = true)
+    private ParallelNBTReader() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Reads the validated NBT payload.
+     *
+     * @param buffer  Source buffer, won't be modified
+     * @param type    NBT type
+     * @param start   Payload start, inclusive
+     * @param end     Payload end, exclusive
+     * @param limiter Limiter to fork the task limiters from, won't be modified
+     * @return Read NBT
+     * @throws IOException If a string is malformed
+     */
+    @Contract("_, _, _, _, _ -> new")
+    @NotNull
+    static NBT read(@NotNull ByteBuffer buffer, byte type, int start, int end, @NotNull NBTLimiter limiter) throws IOException {
+        try {
+            return new ReadTask(buffer, type, start, end, limiter, new ConcurrentHashMap<>()).invoke();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks whether the NBT type is a container, that can be split.
+     *
+     * @param type NBT type
+     * @return Whether the type is a compound or a list
+     */
+    @Contract(pure = true)
+    private static boolean container(byte type) {
+        return type == CompoundNBT.COMPOUND_NBT_TYPE || type == ListNBT.LIST_NBT_TYPE;
+    }
+
+    /**
+     * Forks the limiter for the task, reusing the string pool forked for the current thread.
+     *
+     * @param limiter Limiter to fork the task limiter from
+     * @param pools   String pools forked for the worker threads
+     * @return Task limiter
+     */
+    @NotNull
+    private static NBTLimiter forkLimiter(@NotNull NBTLimiter limiter, @NotNull Map<Thread, NBTStringPool> pools) {
+        NBTStringPool pool = limiter.stringPool();
+        if (pool == null) return limiter.fork(null);
+        return limiter.fork(pools.computeIfAbsent(Thread.currentThread(), thread -> pool.fork()));
+    }
+
+    /**
+     * Reads the payload sequentially.
+     *
+     * @param buffer  Source buffer
+     * @param type    NBT type
+     * @param start   Payload start, inclusive
+     * @param end     Payload end, exclusive
+     * @param limiter Task limiter
+     * @return Read NBT
+     * @throws IOException If a string is malformed
+     */
+    @NotNull
+    private static NBT readSequential(@NotNull ByteBuffer buffer, byte type, int start, int end, @NotNull NBTLimiter limiter) throws IOException {
+        NBT nbt = NBT.bufferReader(type, limiter).read(buffer.slice(start, end - start), limiter);
+        return Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+    }
+
+    /**
+     * Task that reads a single payload, splitting it if it's large.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class ReadTask extends RecursiveTask<NBT> {
+        /**
+         * Source buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * NBT type.
+         */
+        private final byte type;
+
+        /**
+         * Payload start, inclusive.
+         */
+        private final int start;
+
+        /**
+         * Payload end, exclusive.
+         */
+        private final int end;
+
+        /**
+         * Limiter to fork the task limiter from.
+         */
+        private final NBTLimiter limiter;
+
+        /**
+         * String pools forked for the worker threads.
+         */
+        private final Map<Thread, NBTStringPool> pools;
+
+        /**
+         * Creates a new task.
+         *
+         * @param buffer  Source buffer
+         * @param type    NBT type
+         * @param start   Payload start, inclusive
+         * @param end     Payload end, exclusive
+         * @param limiter Limiter to fork the task limiter from
+         * @param pools   String pools forked for the worker threads
+         */
+        private ReadTask(@NotNull ByteBuffer buffer, byte type, int start, int end, @NotNull NBTLimiter limiter,
+                         @NotNull Map<Thread, NBTStringPool> pools) {
+            this.buffer = buffer;
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.limiter = limiter;
+            this.pools = pools;
+        }
+
+        @Override
+        @NotNull
+        protected NBT compute() {
+            try {
+                NBTLimiter limiter = forkLimiter(this.limiter, this.pools);
+                if (this.end - this.start < SPLIT_THRESHOLD) {
+                    return readSequential(this.buffer, this.type, this.start, this.end, limiter);
+                }
+                return switch (this.type) {
+                    case CompoundNBT.COMPOUND_NBT_TYPE -> this.readCompound(limiter);
+                    case ListNBT.LIST_NBT_TYPE -> this.readList(limiter);
+                    default -> readSequential(this.buffer, this.type, this.start, this.end, limiter);
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Reads the compound, forking the large entries.
+         *
+         * @param limiter Task limiter
+         * @return Read compound
+         * @throws IOException If a string is malformed
+         */
+        @NotNull
+        private CompoundNBT readCompound(@NotNull NBTLimiter limiter) throws IOException {
+            // Scan the entries, forking the large ones.
+            ByteBuffer scan = this.buffer.slice(this.start, this.end - this.start);
+            NBTLimiter unlimited = NBTLimiter.unlimited();
+            List<String> keys = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            while (true) {
+                byte type = scan.get();
+                if (type == NBT.NULL_NBT_TYPE) break; // NBT End
+                keys.add(NBTLimiter.readLimitedUTF(scan, limiter));
+
+                // Read the non-containers in place.
+                if (!container(type)) {
+                    values.add(NBT.bufferReader(type, limiter).read(scan, limiter));
+                    continue;
+                }
+
+                // Find the container end.
+                int payloadStart = this.start + scan.position();
+                NBT.bufferSkipper(type, unlimited).skip(scan, unlimited);
+                int payloadEnd = this.start + scan.position();
+
+                // Fork or read.
+                if (payloadEnd - payloadStart < SPLIT_THRESHOLD) {
+                    values.add(readSequential(this.buffer, type, payloadStart, payloadEnd, limiter));
+                } else {
+                    values.add(new ReadTask(this.buffer, type, payloadStart, payloadEnd, this.limiter, this.pools).fork());
+                }
+            }
+
+            // Join the entries in order, the later duplicate keys replace the earlier ones.
+            int size = keys.size();
+            Map<String, NBT> map = new CompactNBTMap(size);
+            for (int i = 0; i < size; i++) {
+                Object value = values.get(i);
+                map.put(keys.get(i), value instanceof ReadTask task ? task.join() : (NBT) value);
+            }
+            return new CompoundNBT(map);
+        }
+
+        /**
+         * Reads the list, forking the runs of its elements if the elements are containers.
+         *
+         * @param limiter Task limiter
+         * @return Read list
+         * @throws IOException If a string is malformed
+         */
+        @NotNull
+        private ListNBT readList(@NotNull NBTLimiter limiter) throws IOException {
+            // Read the primitive lists sequentially.
+            ByteBuffer scan = this.buffer.slice(this.start, this.end - this.start);
+            byte type = scan.get();
+            int length = scan.getInt();
+            if (!container(type) || length <= 0) {
+                return (ListNBT) readSequential(this.buffer, ListNBT.LIST_NBT_TYPE, this.start, this.end, limiter);
+            }
+
+            // Split into the runs of the elements.
+            NBT[] elements = new NBT[length];
+            NBTLimiter unlimited = NBTLimiter.unlimited();
+            List<ElementsTask> tasks = new ArrayList<>();
+            int runIndex = 0;
+            int runStart = this.start + scan.position();
+            for (int i = 0; i < length; i++) {
+                int elementStart = this.start + scan.position();
+                NBT.bufferSkipper(type, unlimited).skip(scan, unlimited);
+                int elementEnd = this.start + scan.position();
+
+                // Give the large element its own task, so it can be split further.
+                if (elementEnd - elementStart >= SPLIT_THRESHOLD) {
+                    if (runIndex < i) {
+                        tasks.add(new ElementsTask(this.buffer, type, runStart, elementStart, elements, runIndex, i, this.limiter, this.pools));
+                    }
+                    tasks.add(new ElementsTask(this.buffer, type, elementStart, elementEnd, elements, i, i + 1, this.limiter, this.pools));
+                } else if (elementEnd - runStart >= SPLIT_THRESHOLD || i == length - 1) {
+                    tasks.add(new ElementsTask(this.buffer, type, runStart, elementEnd, elements, runIndex, i + 1, this.limiter, this.pools));
+                } else {
+                    continue;
+                }
+                runIndex = i + 1;
+                runStart = elementEnd;
+            }
+
+            // Read and join.
+            ForkJoinTask.invokeAll(tasks);
+            return new ListNBT(new ArrayList<>(Arrays.asList(elements)));
+        }
+    }
+
+    /**
+     * Task that reads a run of the list elements.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class ElementsTask extends RecursiveAction {
+        /**
+         * Source buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Elements NBT type.
+         */
+        private final byte type;
+
+        /**
+         * Run start, inclusive.
+         */
+        private final int start;
+
+        /**
+         * Run end, exclusive.
+         */
+        private final int end;
+
+        /**
+         * Target elements array.
+         */
+        private final NBT[] elements;
+
+        /**
+         * Index of the first element in the run, inclusive.
+         */
+        private final int from;
+
+        /**
+         * Index of the last element in the run, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Limiter to fork the task limiter from.
+         */
+        private final NBTLimiter limiter;
+
+        /**
+         * String pools forked for the worker threads.
+         */
+        private final Map<Thread, NBTStringPool> pools;
+
+        /**
+         * Creates a new task.
+         *
+         * @param buffer   Source buffer
+         * @param type     Elements NBT type
+         * @param start    Run start, inclusive
+         * @param end      Run end, exclusive
+         * @param elements Target elements array
+         * @param from     Index of the first element in the run, inclusive
+         * @param to       Index of the last element in the run, exclusive
+         * @param limiter  Limiter to fork the task limiter from
+         * @param pools    String pools forked for the worker threads
+         */
+        private ElementsTask(@NotNull ByteBuffer buffer, byte type, int start, int end, NBT @NotNull [] elements,
+                             int from, int to, @NotNull NBTLimiter limiter, @NotNull Map<Thread, NBTStringPool> pools) {
+            this.buffer = buffer;
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.limiter = limiter;
+            this.pools = pools;
+        }
+
+        @Override
+        protected void compute() {
+            // Split the single large element further.
+            if (this.to - this.from == 1 && this.end - this.start >= SPLIT_THRESHOLD) {
+                this.elements[this.from] = new ReadTask(this.buffer, this.type, this.start, this.end, this.limiter, this.pools).invoke();
+                return;
+            }
+
+            // Read the run sequentially.
+            try {
+                NBTLimiter limiter = forkLimiter(this.limiter, this.pools);
+                ByteBuffer run = this.buffer.slice(this.start, this.end - this.start);
+                NBTBufferReader reader = NBT.bufferReader(this.type, limiter);
+                for (int i = this.from; i < this.to; i++) {
+                    this.elements[i] = Objects.requireNonNull(reader.read(run, limiter), "NBT of non-zero type is null");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
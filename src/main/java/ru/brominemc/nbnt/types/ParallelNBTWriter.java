@@ -0,0 +1,312 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writer that encodes the large NBT trees concurrently into the ordered segments.
+ * <p>
+ * The tree is split using the exact {@link NBT#serializedSize()} of the children: the headers of the large
+ * compounds and lists are written in place, their children are grouped into the runs of about {@link #SPLIT_THRESHOLD}
+ * bytes, each run is encoded by a {@link ForkJoinTask} into its own exactly sized buffer. The large children
+ * are split recursively. The resulting segments can be written with a single gathering write.
+ *
+ * @author VidTu
+ * @see NBT#writeParallel(java.io.DataOutput, NBT)
+ * @see NBT#writeParallel(java.nio.channels.GatheringByteChannel, NBT)
+ * @since 1.6.0
+ */
+final class ParallelNBTWriter {
+    /**
+     * Minimum payload length in bytes to split and target length of the runs.
+     */
+    static final int SPLIT_THRESHOLD = 1 << 14;
+
+    /**
+     * Ordered segments.
+     */
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Tasks encoding the segments.
+     */
+    private final List<RunTask> tasks = new ArrayList<>();
+
+    /**
+     * Pending header bytes.
+     */
+    private final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+
+    /**
+     * Pending header output.
+     */
+    private final DataOutputStream header = new DataOutputStream(this.headerBytes);
+
+    /**
+     * Names of the pending run, {@code null} for the list elements.
+     */
+    private List<String> runNames;
+
+    /**
+     * Values of the pending run.
+     */
+    private final List<NBT> runValues = new ArrayList<>();
+
+    /**
+     * Size of the pending run.
+     */
+    private long runSize;
+
+    /**
+     * Creates a new writer.
+     */
+    private ParallelNBTWriter() {
+        // Private
+    }
+
+    /**
+     * Encodes the NBT.
+     *
+     * @param name Target name, {@code null} to write without the name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @return Ordered segments, from the position to the limit of each
+     * @throws IOException If a string is too long
+     */
+    @Contract("_, _ -> new")
+    static ByteBuffer @NotNull [] encode(@Nullable String name, @Nullable NBT nbt) throws IOException {
+        // Split.
+        ParallelNBTWriter writer = new ParallelNBTWriter();
+        writer.header.writeByte(NBT.type(nbt));
+        if (nbt != null) {
+            if (name != null) {
+                ModifiedUTF8.write(writer.header, name);
+            }
+            writer.payload(nbt, nbt.serializedSize());
+        }
+        writer.flushHeader();
+
+        // Encode.
+        try {
+            ForkJoinTask.invokeAll(writer.tasks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.segments.toArray(ByteBuffer[]::new);
+    }
+
+    /**
+     * Splits the NBT payload.
+     *
+     * @param nbt  Target NBT
+     * @param size Payload size
+     * @throws IOException If a string is too long
+     */
+    private void payload(@NotNull NBT nbt, long size) throws IOException {
+        if (size >= SPLIT_THRESHOLD) {
+            if (nbt instanceof CompoundNBT compound && !(compound.value() instanceof LazyCompoundMap)) {
+                this.compound(compound);
+                return;
+            }
+            if (nbt instanceof ListNBT list && splittable(list)) {
+                this.list(list);
+                return;
+            }
+        }
+        this.runNames = null;
+        this.runValues.add(nbt);
+        this.runSize = size;
+        this.closeRun();
+    }
+
+    /**
+     * Splits the compound payload.
+     *
+     * @param compound Target compound
+     * @throws IOException If a string is too long
+     */
+    private void compound(@NotNull CompoundNBT compound) throws IOException {
+        this.runNames = new ArrayList<>();
+        for (Map.Entry<String, NBT> en : compound.value().entrySet()) {
+            String key = en.getKey();
+            NBT value = en.getValue();
+            long size = value.serializedSize();
+
+            // Split the large containers further.
+            if (size >= SPLIT_THRESHOLD && (value instanceof CompoundNBT || value instanceof ListNBT)) {
+                this.closeRun();
+                this.header.writeByte(NBT.type(value));
+                ModifiedUTF8.write(this.header, key);
+                this.payload(value, size);
+                this.runNames = new ArrayList<>();
+                continue;
+            }
+
+            // Add to the run otherwise.
+            this.runNames.add(key);
+            this.runValues.add(value);
+            this.runSize += Byte.BYTES + Short.BYTES + ModifiedUTF8.length(key) + size; // Type + Name (Length) + Name + Data
+            if (this.runSize < SPLIT_THRESHOLD) continue;
+            this.closeRun();
+        }
+        this.closeRun();
+        this.header.writeByte(NBT.NULL_NBT_TYPE); // NBT End
+    }
+
+    /**
+     * Splits the list payload.
+     *
+     * @param list Target list
+     * @throws IOException If a string is too long
+     */
+    private void list(@NotNull ListNBT list) throws IOException {
+        List<NBT> value = list.value();
+        this.header.writeByte(NBT.type(value.getFirst()));
+        this.header.writeInt(value.size());
+        this.runNames = null;
+        for (NBT element : value) {
+            long size = element.serializedSize();
+
+            // Split the large containers further.
+            if (size >= SPLIT_THRESHOLD) {
+                this.closeRun();
+                this.payload(element, size);
+                this.runNames = null;
+                continue;
+            }
+
+            // Add to the run otherwise.
+            this.runValues.add(element);
+            this.runSize += size;
+            if (this.runSize < SPLIT_THRESHOLD) continue;
+            this.closeRun();
+        }
+        this.closeRun();
+    }
+
+    /**
+     * Adds the pending run as the segment, if any.
+     */
+    private void closeRun() {
+        if (this.runValues.isEmpty()) return;
+        this.flushHeader();
+        ByteBuffer segment = ByteBuffer.allocate(Math.toIntExact(this.runSize));
+        this.segments.add(segment);
+        List<String> names = this.runNames;
+        this.tasks.add(new RunTask(segment, names != null ? List.copyOf(names) : null, List.copyOf(this.runValues)));
+        if (names != null) {
+            names.clear();
+        }
+        this.runValues.clear();
+        this.runSize = 0L;
+    }
+
+    /**
+     * Adds the pending header bytes as the segment, if any.
+     */
+    private void flushHeader() {
+        if (this.headerBytes.size() == 0) return;
+        this.segments.add(ByteBuffer.wrap(this.headerBytes.toByteArray()));
+        this.headerBytes.reset();
+    }
+
+    /**
+     * Checks whether the list elements can be written separately.
+     *
+     * @param list Target list
+     * @return Whether the list is not empty and holds containers in a regular list
+     */
+    @Contract(pure = true)
+    private static boolean splittable(@NotNull ListNBT list) {
+        List<NBT> value = list.value();
+        if (value instanceof PrimitiveNBTList || value instanceof LazyNBTList || value.isEmpty()) return false;
+        NBT first = value.getFirst();
+        return first instanceof CompoundNBT || first instanceof ListNBT;
+    }
+
+    /**
+     * Task that encodes a run of the compound entries or the list elements into its segment.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class RunTask extends RecursiveAction {
+        /**
+         * Target segment.
+         */
+        private final ByteBuffer segment;
+
+        /**
+         * Entry names, {@code null} for the list elements.
+         */
+        @Nullable
+        private final List<String> names;
+
+        /**
+         * Entry values or list elements.
+         */
+        private final List<NBT> values;
+
+        /**
+         * Creates a new task.
+         *
+         * @param segment Target segment
+         * @param names   Entry names, {@code null} for the list elements
+         * @param values  Entry values or list elements
+         */
+        private RunTask(@NotNull ByteBuffer segment, @Nullable List<String> names, @NotNull List<NBT> values) {
+            this.segment = segment;
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        protected void compute() {
+            ByteBuffer buffer = this.segment.duplicate();
+            NBTBufferOutput out = new NBTBufferOutput(buffer);
+            try {
+                List<String> names = this.names;
+                List<NBT> values = this.values;
+                for (int i = 0, size = values.size(); i < size; i++) {
+                    if (names != null) {
+                        NBT.writeNamed(out, names.get(i), values.get(i));
+                    } else {
+                        values.get(i).write(out);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (buffer.hasRemaining()) throw new IllegalStateException("Written less than serialized size: " + buffer);
+        }
+    }
+}
@@ -0,0 +1,920 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.types;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTArrays;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * List of byte, short, int, long, float, double or string tags backed by a primitive (or string) array.
+ * <p>
+ * The tags are created on the first access and cached next to the array, so the same tag is returned
+ * for the same element and the changes to the tag are reflected in the list. The cached tag replaces
+ * the array element, the tags passed to the {@link List} methods are cached the same way.
+ * Reading the list never changes the array, so the concurrent reads are safe, same as with the {@link ArrayList}.
+ * The {@link ListNBT} primitive methods (e.g. {@link ListNBT#addInt(int)}) work with the array directly.
+ * The list is materialized into the {@link ArrayList} of tags only if a tag of another type is added.
+ *
+ * @author VidTu
+ * @see ListNBT#read(DataInput, NBTLimiter)
+ * @see ListNBT#read(ByteBuffer, NBTLimiter)
+ * @since 1.6.0
+ */
+final class PrimitiveNBTList extends AbstractList<NBT> implements RandomAccess {
+    /**
+     * Handle for the {@link #tags} field.
+     */
+    private static final VarHandle TAGS;
+
+    /**
+     * Handle for the {@link #tags} elements.
+     */
+    private static final VarHandle TAG = MethodHandles.arrayElementVarHandle(NBT[].class);
+
+    static {
+        try {
+            TAGS = MethodHandles.lookup().findVarHandle(PrimitiveNBTList.class, "tags", NBT[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Elements type.
+     */
+    private final byte type;
+
+    /**
+     * Elements array, one of {@code byte[]}, {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]},
+     * {@code double[]} or {@code String[]}, {@code null} if materialized.
+     */
+    private Object array;
+
+    /**
+     * Cached tags, the same length as the {@link #array}, {@code null} if no tags are cached.
+     * The cached tag overrides the array element.
+     */
+    private NBT[] tags;
+
+    /**
+     * Elements count in the {@link #array}.
+     */
+    private int size;
+
+    /**
+     * Materialized list, {@code null} if not materialized.
+     */
+    private List<NBT> materialized;
+
+    /**
+     * Whether this list is frozen, frozen lists hand out frozen tags and are never materialized.
+     */
+    private final boolean frozen;
+
+    /**
+     * Creates a new primitive list.
+     *
+     * @param type   Elements type
+     * @param array  Elements array
+     * @param tags   Cached tags, {@code null} if none
+     * @param size   Elements count
+     * @param frozen Whether the list is frozen
+     */
+    private PrimitiveNBTList(byte type, @NotNull Object array, @Nullable NBT[] tags, int size, boolean frozen) {
+        this.type = type;
+        this.array = array;
+        this.tags = tags;
+        this.size = size;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Checks whether the type can be stored in the primitive list.
+     *
+     * @param type Target type
+     * @return Whether the type is byte, short, int, long, float, double or string
+     */
+    @Contract(pure = true)
+    static boolean supports(byte type) {
+        return type == StringNBT.STRING_NBT_TYPE || ListNBT.fixedSize(type) != 0;
+    }
+
+    /**
+     * Checks whether the list is backed by the array of this type.
+     *
+     * @param type Target type
+     * @return Whether the list is not materialized and has this type
+     */
+    @Contract(pure = true)
+    boolean specialized(byte type) {
+        return this.materialized == null && this.type == type;
+    }
+
+    /**
+     * Gets the elements type.
+     *
+     * @return Elements type, {@code null} if the list is empty
+     */
+    @Contract(pure = true)
+    @Nullable
+    Class<? extends NBT> elementType() {
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized.isEmpty() ? null : materialized.getFirst().getClass();
+        return this.size == 0 ? null : ListNBT.typeClass(this.type);
+    }
+
+    /**
+     * Creates a frozen copy of this list. The cached tags are frozen and kept in the copy.
+     *
+     * @return A new frozen list with the trimmed copy of the array, {@code null} if this list is materialized
+     */
+    @Nullable
+    PrimitiveNBTList frozenCopy() {
+        if (this.materialized != null) return null;
+        int size = this.size;
+        Object array = allocate(this.type, size);
+        System.arraycopy(this.array, 0, array, 0, size);
+        NBT[] tags = this.tags;
+        if (tags == null) return new PrimitiveNBTList(this.type, array, null, size, true);
+
+        // Freeze the cached tags and store their values.
+        NBT[] frozenTags = new NBT[size];
+        for (int i = 0; i < size; i++) {
+            NBT tag = tags[i];
+            if (tag == null) continue;
+            frozenTags[i] = tag.freeze();
+            store(array, i, tag);
+        }
+        return new PrimitiveNBTList(this.type, array, frozenTags, size, true);
+    }
+
+    /**
+     * Ensures that the list is not frozen.
+     *
+     * @throws UnsupportedOperationException If the list is frozen
+     */
+    private void ensureMutable() {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
+    }
+
+    /**
+     * Allocates the array for the type.
+     *
+     * @param type     Elements type
+     * @param capacity Array capacity
+     * @return Allocated array
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    @NotNull
+    private static Object allocate(byte type, int capacity) {
+        return switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> new byte[capacity];
+            case ShortNBT.SHORT_NBT_TYPE -> new short[capacity];
+            case IntNBT.INT_NBT_TYPE -> new int[capacity];
+            case LongNBT.LONG_NBT_TYPE -> new long[capacity];
+            case FloatNBT.FLOAT_NBT_TYPE -> new float[capacity];
+            case DoubleNBT.DOUBLE_NBT_TYPE -> new double[capacity];
+            case StringNBT.STRING_NBT_TYPE -> new String[capacity];
+            default -> throw new IllegalArgumentException("Unsupported primitive list type: " + type);
+        };
+    }
+
+    /**
+     * Creates a tag from the array element.
+     *
+     * @param index Element index
+     * @return A new tag
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    private NBT tag(int index) {
+        return switch (this.type) {
+            case ByteNBT.BYTE_NBT_TYPE -> new ByteNBT(((byte[]) this.array)[index]);
+            case ShortNBT.SHORT_NBT_TYPE -> new ShortNBT(((short[]) this.array)[index]);
+            case IntNBT.INT_NBT_TYPE -> new IntNBT(((int[]) this.array)[index]);
+            case LongNBT.LONG_NBT_TYPE -> new LongNBT(((long[]) this.array)[index]);
+            case FloatNBT.FLOAT_NBT_TYPE -> new FloatNBT(((float[]) this.array)[index]);
+            case DoubleNBT.DOUBLE_NBT_TYPE -> new DoubleNBT(((double[]) this.array)[index]);
+            default -> new StringNBT(((String[]) this.array)[index]);
+        };
+    }
+
+    /**
+     * Gets the cached tag.
+     *
+     * @param index Element index
+     * @return Cached tag, {@code null} if not cached
+     */
+    @Contract(pure = true)
+    @Nullable
+    private NBT cached(int index) {
+        NBT[] tags = (NBT[]) TAGS.getAcquire(this);
+        return tags != null ? (NBT) TAG.getAcquire(tags, index) : null;
+    }
+
+    /**
+     * Gets the cached tag or a new uncached tag from the array element.
+     *
+     * @param index Element index
+     * @return Cached or a new tag
+     */
+    @Contract(pure = true)
+    @NotNull
+    private NBT peek(int index) {
+        NBT cached = this.cached(index);
+        return cached != null ? cached : this.tag(index);
+    }
+
+    /**
+     * Gets the cached tag, creating and caching it if not cached.
+     * <p>
+     * This only publishes the tag, so the concurrent readers get the same tag.
+     *
+     * @param index Element index
+     * @return Cached tag
+     */
+    @NotNull
+    private NBT cache(int index) {
+        // Get or publish the tags.
+        NBT[] tags = (NBT[]) TAGS.getAcquire(this);
+        if (tags == null) {
+            NBT[] created = new NBT[Array.getLength(this.array)];
+            NBT[] witness = (NBT[]) TAGS.compareAndExchangeRelease(this, null, created);
+            tags = witness != null ? witness : created;
+        }
+
+        // Get or publish the tag.
+        NBT tag = (NBT) TAG.getAcquire(tags, index);
+        if (tag != null) return tag;
+        tag = this.tag(index);
+        if (this.frozen) tag.freeze();
+        NBT witness = (NBT) TAG.compareAndExchangeRelease(tags, index, null, tag);
+        return witness != null ? witness : tag;
+    }
+
+    /**
+     * Stores the tag and its value into the list element.
+     *
+     * @param index Element index
+     * @param nbt   Tag of the list type
+     */
+    private void put(int index, @NotNull NBT nbt) {
+        store(this.array, index, nbt);
+        NBT[] tags = this.tags;
+        if (tags == null) {
+            tags = new NBT[Array.getLength(this.array)];
+            this.tags = tags;
+        }
+        tags[index] = nbt;
+    }
+
+    /**
+     * Stores the tag value into the array element.
+     *
+     * @param array Target array of the tag type
+     * @param index Element index
+     * @param nbt   Tag of the array type
+     */
+    private static void store(@NotNull Object array, int index, @NotNull NBT nbt) {
+        switch (nbt) {
+            case ByteNBT tag -> ((byte[]) array)[index] = tag.value();
+            case ShortNBT tag -> ((short[]) array)[index] = tag.value();
+            case IntNBT tag -> ((int[]) array)[index] = tag.value();
+            case LongNBT tag -> ((long[]) array)[index] = tag.value();
+            case FloatNBT tag -> ((float[]) array)[index] = tag.value();
+            case DoubleNBT tag -> ((double[]) array)[index] = tag.value();
+            default -> ((String[]) array)[index] = ((StringNBT) nbt).value();
+        }
+    }
+
+    /**
+     * Gets the integral element value.
+     *
+     * @param index Element index
+     * @return Element value, from the cached tag if cached
+     * @apiNote The list must be {@link #specialized(byte)} for byte, short, int or long
+     */
+    @Contract(pure = true)
+    private long integral(int index) {
+        return switch (this.cached(index)) {
+            case ByteNBT tag -> tag.value();
+            case ShortNBT tag -> tag.value();
+            case IntNBT tag -> tag.value();
+            case LongNBT tag -> tag.value();
+            case null, default -> switch (this.type) {
+                case ByteNBT.BYTE_NBT_TYPE -> ((byte[]) this.array)[index];
+                case ShortNBT.SHORT_NBT_TYPE -> ((short[]) this.array)[index];
+                case IntNBT.INT_NBT_TYPE -> ((int[]) this.array)[index];
+                default -> ((long[]) this.array)[index];
+            };
+        };
+    }
+
+    /**
+     * Gets the floating element value.
+     *
+     * @param index Element index
+     * @return Element value, from the cached tag if cached
+     * @apiNote The list must be {@link #specialized(byte)} for float or double
+     */
+    @Contract(pure = true)
+    private double floating(int index) {
+        return switch (this.cached(index)) {
+            case FloatNBT tag -> tag.value();
+            case DoubleNBT tag -> tag.value();
+            case null, default -> this.type == FloatNBT.FLOAT_NBT_TYPE ? ((float[]) this.array)[index] : ((double[]) this.array)[index];
+        };
+    }
+
+    /**
+     * Gets the string element value.
+     *
+     * @param index Element index
+     * @return Element value, from the cached tag if cached
+     * @apiNote The list must be {@link #specialized(byte)} for string
+     */
+    @Contract(pure = true)
+    @NotNull
+    private String string(int index) {
+        return this.cached(index) instanceof StringNBT tag ? tag.value() : ((String[]) this.array)[index];
+    }
+
+    /**
+     * Opens a gap for the new element, growing the array if required.
+     *
+     * @param index Gap index
+     */
+    private void open(int index) {
+        Object array = this.array;
+        NBT[] tags = this.tags;
+        int size = this.size;
+        int capacity = Array.getLength(array);
+        if (size == capacity) {
+            int grownCapacity = Math.max(capacity + (capacity >> 1), 16);
+            Object grown = allocate(this.type, grownCapacity);
+            System.arraycopy(array, 0, grown, 0, index);
+            System.arraycopy(array, index, grown, index + 1, size - index);
+            this.array = grown;
+            if (tags != null) {
+                NBT[] grownTags = new NBT[grownCapacity];
+                System.arraycopy(tags, 0, grownTags, 0, index);
+                System.arraycopy(tags, index, grownTags, index + 1, size - index);
+                this.tags = grownTags;
+            }
+        } else {
+            System.arraycopy(array, index, array, index + 1, size - index);
+            if (tags != null) {
+                System.arraycopy(tags, index, tags, index + 1, size - index);
+                tags[index] = null;
+            }
+        }
+        this.size = size + 1;
+    }
+
+    /**
+     * Materializes the list into the tags, keeping the cached tags.
+     *
+     * @return Materialized list
+     */
+    @NotNull
+    private List<NBT> materialize() {
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized;
+        int size = this.size;
+        materialized = new ArrayList<>(Math.max(size + (size >> 1), 16));
+        for (int i = 0; i < size; i++) {
+            materialized.add(this.cache(i));
+        }
+        this.materialized = materialized;
+        this.array = null;
+        this.tags = null;
+        return materialized;
+    }
+
+    @Override
+    public int size() {
+        List<NBT> materialized = this.materialized;
+        return materialized != null ? materialized.size() : this.size;
+    }
+
+    @Override
+    public NBT get(int index) {
+        // Get from the materialized list.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized.get(index);
+
+        // Get the cached tag.
+        Objects.checkIndex(index, this.size);
+        return this.cache(index);
+    }
+
+    @Override
+    public NBT set(int index, @NotNull NBT element) {
+        this.ensureMutable();
+        Objects.requireNonNull(element, "NBT is null");
+
+        // Store into the array, keeping the tag.
+        if (this.materialized == null && NBT.type(element) == this.type) {
+            Objects.checkIndex(index, this.size);
+            NBT old = this.peek(index);
+            this.put(index, element);
+            return old;
+        }
+
+        // Set in the materialized list.
+        return this.materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, @NotNull NBT element) {
+        this.ensureMutable();
+        Objects.requireNonNull(element, "NBT is null");
+        this.modCount++;
+
+        // Insert into the array, keeping the tag.
+        if (this.materialized == null && NBT.type(element) == this.type) {
+            Objects.checkIndex(index, this.size + 1);
+            this.open(index);
+            this.put(index, element);
+            return;
+        }
+
+        // Add to the materialized list.
+        this.materialize().add(index, element);
+    }
+
+    @Override
+    public NBT remove(int index) {
+        this.ensureMutable();
+        // Remove from the materialized list.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            this.modCount++;
+            return materialized.remove(index);
+        }
+
+        // Remove from the array.
+        Objects.checkIndex(index, this.size);
+        NBT old = this.peek(index);
+        this.delete(index);
+        return old;
+    }
+
+    @Override
+    public int indexOf(@Nullable Object o) {
+        // Search in the materialized list.
+        if (this.materialized != null) return this.materialized.indexOf(o);
+
+        // Search in the array.
+        return switch (o) {
+            case ByteNBT nbt when this.type == ByteNBT.BYTE_NBT_TYPE -> this.indexOfIntegral(nbt.value());
+            case ShortNBT nbt when this.type == ShortNBT.SHORT_NBT_TYPE -> this.indexOfIntegral(nbt.value());
+            case IntNBT nbt when this.type == IntNBT.INT_NBT_TYPE -> this.indexOfIntegral(nbt.value());
+            case LongNBT nbt when this.type == LongNBT.LONG_NBT_TYPE -> this.indexOfIntegral(nbt.value());
+            case FloatNBT nbt when this.type == FloatNBT.FLOAT_NBT_TYPE -> this.indexOfFloating(nbt.value());
+            case DoubleNBT nbt when this.type == DoubleNBT.DOUBLE_NBT_TYPE -> this.indexOfFloating(nbt.value());
+            case StringNBT nbt when this.type == StringNBT.STRING_NBT_TYPE -> this.indexOfString(nbt.value());
+            case null, default -> -1;
+        };
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        return this.indexOf(o) != -1;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object o) {
+        this.ensureMutable();
+        // Remove from the materialized list.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            if (!materialized.remove(o)) return false;
+            this.modCount++;
+            return true;
+        }
+
+        // Remove from the array.
+        int index = this.indexOf(o);
+        if (index == -1) return false;
+        this.delete(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.ensureMutable();
+        this.modCount++;
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            materialized.clear();
+            return;
+        }
+        if (this.array instanceof String[] strings) {
+            Arrays.fill(strings, 0, this.size, null);
+        }
+        this.tags = null;
+        this.size = 0;
+    }
+
+    /**
+     * Removes the array element without creating the tag.
+     *
+     * @param index Element index
+     * @apiNote The list must not be materialized
+     */
+    void delete(int index) {
+        this.ensureMutable();
+        this.modCount++;
+        Object array = this.array;
+        NBT[] tags = this.tags;
+        int size = this.size - 1;
+        System.arraycopy(array, index + 1, array, index, size - index);
+        if (array instanceof String[] strings) {
+            strings[size] = null;
+        }
+        if (tags != null) {
+            System.arraycopy(tags, index + 1, tags, index, size - index);
+            tags[size] = null;
+        }
+        this.size = size;
+    }
+
+    /**
+     * Adds the integral value into the array.
+     *
+     * @param value Target value, narrowed to the list type
+     * @apiNote The list must be {@link #specialized(byte)} for byte, short, int or long
+     */
+    void addIntegral(long value) {
+        this.ensureMutable();
+        this.modCount++;
+        int index = this.size;
+        this.open(index);
+        switch (this.type) {
+            case ByteNBT.BYTE_NBT_TYPE -> ((byte[]) this.array)[index] = (byte) value;
+            case ShortNBT.SHORT_NBT_TYPE -> ((short[]) this.array)[index] = (short) value;
+            case IntNBT.INT_NBT_TYPE -> ((int[]) this.array)[index] = (int) value;
+            default -> ((long[]) this.array)[index] = value;
+        }
+    }
+
+    /**
+     * Adds the floating value into the array.
+     *
+     * @param value Target value, narrowed to the list type
+     * @apiNote The list must be {@link #specialized(byte)} for float or double
+     */
+    void addFloating(double value) {
+        this.ensureMutable();
+        this.modCount++;
+        int index = this.size;
+        this.open(index);
+        if (this.type == FloatNBT.FLOAT_NBT_TYPE) {
+            ((float[]) this.array)[index] = (float) value;
+        } else {
+            ((double[]) this.array)[index] = value;
+        }
+    }
+
+    /**
+     * Adds the string into the array.
+     *
+     * @param value Target value
+     * @apiNote The list must be {@link #specialized(byte)} for string
+     */
+    void addString(@NotNull String value) {
+        this.ensureMutable();
+        Objects.requireNonNull(value, "String is null");
+        this.modCount++;
+        int index = this.size;
+        this.open(index);
+        ((String[]) this.array)[index] = value;
+    }
+
+    /**
+     * Interns the strings in the array and in the cached tags.
+     *
+     * @param interner Intern function
+     * @return Whether the strings were interned, {@code false} if this list doesn't hold strings in the array
+     */
+    boolean internStrings(@NotNull UnaryOperator<String> interner) {
+        if (!(this.array instanceof String[] strings)) return false;
+        this.ensureMutable();
+        NBT[] tags = this.tags;
+        for (int i = 0, size = this.size; i < size; i++) {
+            strings[i] = interner.apply(strings[i]);
+            if (tags != null && tags[i] instanceof StringNBT tag && !tag.frozen()) {
+                tag.value(interner.apply(tag.value()));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the integral value in the array.
+     *
+     * @param value Target value of the list type
+     * @return Index of the first matching element, {@code -1} if not found
+     * @apiNote The list must be {@link #specialized(byte)} for byte, short, int or long
+     */
+    @Contract(pure = true)
+    int indexOfIntegral(long value) {
+        for (int i = 0, size = this.size; i < size; i++) {
+            if (this.integral(i) == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the floating value in the array.
+     *
+     * @param value Target value of the list type
+     * @return Index of the first matching element (as per {@link Double#compare(double, double)}), {@code -1} if not found
+     * @apiNote The list must be {@link #specialized(byte)} for float or double
+     */
+    @Contract(pure = true)
+    int indexOfFloating(double value) {
+        for (int i = 0, size = this.size; i < size; i++) {
+            if (Double.compare(this.floating(i), value) == 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the string in the array.
+     *
+     * @param value Target value
+     * @return Index of the first matching element, {@code -1} if not found
+     * @apiNote The list must be {@link #specialized(byte)} for string
+     */
+    @Contract(pure = true)
+    int indexOfString(@NotNull String value) {
+        for (int i = 0, size = this.size; i < size; i++) {
+            if (value.equals(this.string(i))) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the list payload.
+     *
+     * @param out Target output
+     * @throws IOException On I/O exception
+     * @see ListNBT#write(DataOutput)
+     */
+    void write(@NotNull DataOutput out) throws IOException {
+        // Write as a regular list if materialized.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            out.writeByte(materialized.isEmpty() ? NBT.NULL_NBT_TYPE : NBT.type(materialized.getFirst()));
+            out.writeInt(materialized.size());
+            for (NBT nbt : materialized) {
+                nbt.write(out);
+            }
+            return;
+        }
+
+        // Write the header.
+        int size = this.size;
+        out.writeByte(size == 0 ? NBT.NULL_NBT_TYPE : this.type);
+        out.writeInt(size);
+
+        // Write the elements one by one if any tags are cached.
+        if (TAGS.getAcquire(this) != null) {
+            for (int i = 0; i < size; i++) {
+                this.peek(i).write(out);
+            }
+            return;
+        }
+
+        // Write the array.
+        switch (this.type) {
+            case ByteNBT.BYTE_NBT_TYPE -> out.write((byte[]) this.array, 0, size);
+            case ShortNBT.SHORT_NBT_TYPE -> NBTArrays.writeShorts(out, (short[]) this.array, 0, size);
+            case IntNBT.INT_NBT_TYPE -> NBTArrays.writeInts(out, (int[]) this.array, 0, size);
+            case LongNBT.LONG_NBT_TYPE -> NBTArrays.writeLongs(out, (long[]) this.array, 0, size);
+            case FloatNBT.FLOAT_NBT_TYPE -> NBTArrays.writeFloats(out, (float[]) this.array, 0, size);
+            case DoubleNBT.DOUBLE_NBT_TYPE -> NBTArrays.writeDoubles(out, (double[]) this.array, 0, size);
+            default -> {
+                String[] array = (String[]) this.array;
+                for (int i = 0; i < size; i++) {
+                    ModifiedUTF8.write(out, array[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the serialized list payload size.
+     *
+     * @return Serialized size in bytes
+     * @see ListNBT#serializedSize()
+     */
+    @Contract(pure = true)
+    long serializedSize() {
+        // Count as a regular list if materialized.
+        long size = Byte.BYTES + Integer.BYTES; // Type + Length
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) {
+            for (NBT nbt : materialized) {
+                size += nbt.serializedSize();
+            }
+            return size;
+        }
+
+        // Count strings.
+        if (this.type == StringNBT.STRING_NBT_TYPE) {
+            for (int i = 0, length = this.size; i < length; i++) {
+                size += Short.BYTES + ModifiedUTF8.length(this.string(i)); // Length + Data
+            }
+            return size;
+        }
+
+        // Count fixed-size elements.
+        return size + (long) this.size * ListNBT.fixedSize(this.type);
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) return true;
+        if (this.materialized != null) return super.equals(obj);
+
+        // Compare with other lists without caching the tags.
+        if (!(obj instanceof PrimitiveNBTList that) || that.materialized != null) {
+            if (!(obj instanceof List<?> list) || list.size() != this.size) return false;
+            int index = 0;
+            for (Object element : list) {
+                if (!this.peek(index++).equals(element)) return false;
+            }
+            return true;
+        }
+        if (this.size != that.size) return false;
+        if (this.size == 0) return true;
+        if (this.type != that.type) return false;
+
+        // Compare the values one by one if any tags are cached.
+        int size = this.size;
+        if (TAGS.getAcquire(this) != null || TAGS.getAcquire(that) != null) {
+            for (int i = 0; i < size; i++) {
+                boolean equal = switch (this.type) {
+                    case FloatNBT.FLOAT_NBT_TYPE, DoubleNBT.DOUBLE_NBT_TYPE -> Double.compare(this.floating(i), that.floating(i)) == 0;
+                    case StringNBT.STRING_NBT_TYPE -> this.string(i).equals(that.string(i));
+                    default -> this.integral(i) == that.integral(i);
+                };
+                if (!equal) return false;
+            }
+            return true;
+        }
+
+        // Compare the arrays.
+        return switch (this.type) {
+            case ByteNBT.BYTE_NBT_TYPE -> Arrays.equals((byte[]) this.array, 0, size, (byte[]) that.array, 0, size);
+            case ShortNBT.SHORT_NBT_TYPE -> Arrays.equals((short[]) this.array, 0, size, (short[]) that.array, 0, size);
+            case IntNBT.INT_NBT_TYPE -> Arrays.equals((int[]) this.array, 0, size, (int[]) that.array, 0, size);
+            case LongNBT.LONG_NBT_TYPE -> Arrays.equals((long[]) this.array, 0, size, (long[]) that.array, 0, size);
+            case FloatNBT.FLOAT_NBT_TYPE -> Arrays.equals((float[]) this.array, 0, size, (float[]) that.array, 0, size);
+            case DoubleNBT.DOUBLE_NBT_TYPE -> Arrays.equals((double[]) this.array, 0, size, (double[]) that.array, 0, size);
+            default -> Arrays.equals((String[]) this.array, 0, size, (String[]) that.array, 0, size);
+        };
+    }
+
+    @Contract(pure = true)
+    @Override
+    public int hashCode() {
+        // Hash as a regular list if materialized.
+        List<NBT> materialized = this.materialized;
+        if (materialized != null) return materialized.hashCode();
+
+        // Hash the values the same way as the list of tags.
+        int hash = 1;
+        for (int i = 0, size = this.size; i < size; i++) {
+            hash = 31 * hash + switch (this.type) {
+                case ByteNBT.BYTE_NBT_TYPE -> Byte.hashCode((byte) this.integral(i));
+                case ShortNBT.SHORT_NBT_TYPE -> Short.hashCode((short) this.integral(i));
+                case IntNBT.INT_NBT_TYPE -> Integer.hashCode((int) this.integral(i));
+                case LongNBT.LONG_NBT_TYPE -> Long.hashCode(this.integral(i));
+                case FloatNBT.FLOAT_NBT_TYPE -> Float.hashCode((float) this.floating(i));
+                case DoubleNBT.DOUBLE_NBT_TYPE -> Double.hashCode(this.floating(i));
+                default -> this.string(i).hashCode();
+            };
+        }
+        return hash;
+    }
+
+    /**
+     * Reads the list elements from the input.
+     *
+     * @param type    Elements type, must be {@link #supports(byte) supported}
+     * @param length  Elements count, must be positive
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Read list
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     */
+    @Contract("_, _, _, _ -> new")
+    @NotNull
+    static PrimitiveNBTList read(byte type, int length, @NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Read strings.
+        if (type == StringNBT.STRING_NBT_TYPE) {
+            String[] array = new String[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = NBTLimiter.readLimitedUTF(in, limiter);
+            }
+            return new PrimitiveNBTList(type, array, null, length, false);
+        }
+
+        // Read fixed-size elements at once.
+        limiter.readUnsigned((long) length * ListNBT.fixedSize(type)); // Data
+        Object array = allocate(type, length);
+        switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> in.readFully((byte[]) array);
+            case ShortNBT.SHORT_NBT_TYPE -> NBTArrays.readShorts(in, (short[]) array, 0, length);
+            case IntNBT.INT_NBT_TYPE -> NBTArrays.readInts(in, (int[]) array, 0, length);
+            case LongNBT.LONG_NBT_TYPE -> NBTArrays.readLongs(in, (long[]) array, 0, length);
+            case FloatNBT.FLOAT_NBT_TYPE -> NBTArrays.readFloats(in, (float[]) array, 0, length);
+            default -> NBTArrays.readDoubles(in, (double[]) array, 0, length);
+        }
+        return new PrimitiveNBTList(type, array, null, length, false);
+    }
+
+    /**
+     * Reads the list elements from the buffer.
+     *
+     * @param type    Elements type, must be {@link #supports(byte) supported}
+     * @param length  Elements count, must be positive
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read list
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     */
+    @Contract("_, _, _, _ -> new")
+    @NotNull
+    static PrimitiveNBTList read(byte type, int length, @NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Read strings. (every string is at least two bytes long, don't preallocate more than remaining)
+        if (type == StringNBT.STRING_NBT_TYPE) {
+            if ((long) length * Short.BYTES > buffer.remaining()) throw new BufferUnderflowException();
+            String[] array = new String[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = NBTLimiter.readLimitedUTF(buffer, limiter);
+            }
+            return new PrimitiveNBTList(type, array, null, length, false);
+        }
+
+        // Read fixed-size elements at once.
+        long bytes = (long) length * ListNBT.fixedSize(type);
+        limiter.readUnsigned(bytes); // Data
+        if (bytes > buffer.remaining()) throw new BufferUnderflowException();
+        Object array = allocate(type, length);
+        switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> buffer.get((byte[]) array);
+            case ShortNBT.SHORT_NBT_TYPE -> buffer.asShortBuffer().get((short[]) array);
+            case IntNBT.INT_NBT_TYPE -> buffer.asIntBuffer().get((int[]) array);
+            case LongNBT.LONG_NBT_TYPE -> buffer.asLongBuffer().get((long[]) array);
+            case FloatNBT.FLOAT_NBT_TYPE -> buffer.asFloatBuffer().get((float[]) array);
+            default -> buffer.asDoubleBuffer().get((double[]) array);
+        }
+        if (type != ByteNBT.BYTE_NBT_TYPE) {
+            buffer.position(buffer.position() + (int) bytes);
+        }
+        return new PrimitiveNBTList(type, array, null, length, false);
+    }
+}
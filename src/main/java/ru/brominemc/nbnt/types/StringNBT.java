@@ -16,20 +16,33 @@
 
 package ru.brominemc.nbnt.types;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTBufferReader;
+import ru.brominemc.nbnt.utils.NBTBufferSkipper;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 import ru.brominemc.nbnt.utils.NBTReader;
+import ru.brominemc.nbnt.utils.NBTSkipper;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
  * String NBT type.
+ * <p>
+ * The encoded form of the value of the {@link #frozen() frozen} tag is cached on the first write, so writing the same
+ * shared tag again is a bulk copy. Mutable tags are encoded on every write and don't hold the second copy of the value,
+ * so the tags that are written repeatedly (e.g. item names and lore) must be {@link #freeze() frozen} to use the cache.
  *
  * @author VidTu
  * @author threefusii
@@ -49,11 +62,58 @@ public final class StringNBT implements NBT {
      */
     public static final NBTReader STRING_NBT_READER = StringNBT::read;
 
+    /**
+     * Buffer reader that reads {@link StringNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferReader STRING_NBT_BUFFER_READER = StringNBT::read;
+
+    /**
+     * Skipper that skips {@link StringNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTSkipper STRING_NBT_SKIPPER = StringNBT::skip;
+
+    /**
+     * Buffer skipper that skips {@link StringNBT}.
+     *
+     * @since 1.6.0
+     */
+    public static final NBTBufferSkipper STRING_NBT_BUFFER_SKIPPER = StringNBT::skip;
+
+    /**
+     * Handle for the {@link #encoded} field.
+     */
+    private static final VarHandle ENCODED;
+
+    static {
+        try {
+            ENCODED = MethodHandles.lookup().findVarHandle(StringNBT.class, "encoded", byte[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * Hold NBT value.
      */
     private String value;
 
+    /**
+     * Whether this NBT is frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Cached length-prefixed modified UTF-8 form of the {@link #value}, {@code null} if not yet encoded or not frozen.
+     * Accessed via {@link #ENCODED} to safely share the written tags between threads.
+     *
+     * @since 1.6.0
+     */
+    private transient byte @Nullable [] encoded;
+
     /**
      * Creates a new string NBT.
      *
@@ -79,15 +139,53 @@ public final class StringNBT implements NBT {
      * Sets the NBT value.
      *
      * @param value New NBT value
+     * @throws UnsupportedOperationException If this NBT is {@link #frozen()}
      */
     public void value(@NotNull String value) {
+        if (this.frozen) throw new UnsupportedOperationException("NBT is frozen");
         Objects.requireNonNull(value, "String is null");
         this.value = value;
     }
 
+    @Contract("-> this")
+    @CanIgnoreReturnValue
+    @Override
+    @NotNull
+    public StringNBT freeze() {
+        this.frozen = true;
+        VarHandle.releaseFence();
+        return this;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean frozen() {
+        return this.frozen;
+    }
+
     @Override
     public void write(@NotNull DataOutput out) throws IOException {
-        out.writeUTF(this.value);
+        // Don't cache the mutable tags.
+        if (!this.frozen) {
+            ModifiedUTF8.write(out, this.value);
+            return;
+        }
+
+        // Write the cached form.
+        byte[] encoded = (byte[]) ENCODED.getAcquire(this);
+        if (encoded == null) {
+            encoded = ModifiedUTF8.encodePrefixed(this.value);
+            ENCODED.setRelease(this, encoded);
+        }
+        out.write(encoded);
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long serializedSize() {
+        byte[] encoded = (byte[]) ENCODED.getAcquire(this);
+        if (encoded != null) return encoded.length;
+        return Short.BYTES + ModifiedUTF8.length(this.value);
     }
 
     @Contract(value = "null -> false", pure = true)
@@ -128,4 +226,56 @@ public final class StringNBT implements NBT {
     public static StringNBT read(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
         return new StringNBT(NBTLimiter.readLimitedUTF(in, limiter));
     }
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException              If the string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> new")
+    @CheckReturnValue
+    @NotNull
+    public static StringNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        return new StringNBT(NBTLimiter.readLimitedUTF(buffer, limiter));
+    }
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException           On I/O exception
+     * @throws IllegalStateException If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @apiNote The string is not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Short.BYTES); // Length
+        int length = in.readUnsignedShort();
+        limiter.readUnsigned(length); // Data
+        NBTSkipper.skipFully(in, length);
+    }
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length
+     * @apiNote The string is not decoded, so malformed strings are not detected
+     * @since 1.6.0
+     */
+    public static void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        limiter.readUnsigned(Short.BYTES); // Length
+        int length = Short.toUnsignedInt(buffer.getShort());
+        limiter.readUnsigned(length); // Data
+        NBTBufferSkipper.skipFully(buffer, length);
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Bounded direct-mapped string pool for single-threaded use.
+ *
+ * @author VidTu
+ * @see NBTStringPool#local(int)
+ * @since 1.6.0
+ */
+final class LocalNBTStringPool implements NBTStringPool {
+    /**
+     * Maximum length of the pooled string in bytes.
+     */
+    private static final int MAX_POOLED_LENGTH = 64;
+
+    /**
+     * Maximum pool capacity.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Encoded keys of the slots.
+     */
+    private final byte[][] keys;
+
+    /**
+     * Pooled strings of the slots.
+     */
+    private final String[] values;
+
+    /**
+     * Slot index mask.
+     */
+    private final int mask;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param capacity Pool capacity, rounded up to the power of two
+     * @throws IllegalArgumentException If the capacity is not positive or too large
+     */
+    LocalNBTStringPool(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Invalid pool capacity: " + capacity);
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.keys = new byte[size][];
+        this.values = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Hashes the encoded string.
+     *
+     * @param data   Encoded data
+     * @param offset Data offset
+     * @param length Data length
+     * @return Spread hash
+     */
+    @Contract(pure = true)
+    static int hash(byte @NotNull [] data, int offset, int length) {
+        int hash = length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + data[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    @Contract(pure = true)
+    @Override
+    @Nullable
+    public String get(byte @NotNull [] data, int offset, int length) {
+        if (length > MAX_POOLED_LENGTH) return null;
+        int slot = hash(data, offset, length) & this.mask;
+        byte[] key = this.keys[slot];
+        if (key == null || !Arrays.equals(key, 0, key.length, data, offset, offset + length)) return null;
+        return this.values[slot];
+    }
+
+    @Override
+    @NotNull
+    public String put(byte @NotNull [] data, int offset, int length, @NotNull String str) {
+        if (length > MAX_POOLED_LENGTH) return str;
+        int slot = hash(data, offset, length) & this.mask;
+        byte[] key = this.keys[slot];
+        if (key != null && Arrays.equals(key, 0, key.length, data, offset, offset + length)) return this.values[slot];
+        this.keys[slot] = Arrays.copyOfRange(data, offset, offset + length);
+        this.values[slot] = str;
+        return str;
+    }
+
+    @Contract(value = "-> new", pure = true)
+    @Override
+    @NotNull
+    public NBTStringPool fork() {
+        return new LocalNBTStringPool(this.keys.length);
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "LocalNBTStringPool{" +
+                "capacity=" + this.keys.length +
+                '}';
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Utilities for the modified UTF-8 used by NBT strings.
+ *
+ * @author VidTu
+ * @see DataInput
+ * @since 1.6.0
+ */
+public final class ModifiedUTF8 {
+    /**
+     * Maximum length of the encoded string in bytes.
+     */
+    public static final int MAX_LENGTH = 65535;
+
+    /**
+     * Simple empty string.
+     */
+    private static final String EMPTY_STRING = "";
+
+    /**
+     * Handle for reading byte arrays as longs.
+     */
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Mask of the high bits of every byte in a long.
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Length of the shared scratch buffer, longer strings are encoded in chunks.
+     */
+    private static final int SCRATCH_LENGTH = 8192;
+
+    /**
+     * Shared per-thread scratch buffer for encoding.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_LENGTH]);
+
+    /**
+     * An instance of this class cannot be created.
+     *
+     * @throws AssertionError Always
+     */
+    @Contract(value = "-> fail", pure = true)
+    private ModifiedUTF8() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Gets the length of the string encoded in modified UTF-8, without the length prefix.
+     *
+     * @param str Target string
+     * @return Encoded length in bytes, may be greater than {@link #MAX_LENGTH}
+     */
+    @Contract(pure = true)
+    public static long length(@NotNull String str) {
+        int strLength = str.length();
+        long length = strLength;
+        for (int i = 0; i < strLength; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                length += (c >= 0x800) ? 2 : 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the length-prefixed modified UTF-8 string to the output.
+     * <p>
+     * Unlike {@link DataOutputStream#writeUTF(String)}, this encodes the string into a reused buffer
+     * (or directly into the {@link NBTBufferOutput} buffer) and writes it in one call, unless the string
+     * is too long for the reused buffer, in which case it's written in multiple chunks.
+     *
+     * @param out Target output
+     * @param str Target string
+     * @throws UTFDataFormatException If the encoded string is longer than {@link #MAX_LENGTH}
+     * @throws IOException            On I/O exception
+     * @see DataOutput#writeUTF(String)
+     */
+    public static void write(@NotNull DataOutput out, @NotNull String str) throws IOException {
+        // Write directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            bufferOut.writeUTF(str);
+            return;
+        }
+
+        // Encode and write.
+        writeEncoded(out, str);
+    }
+
+    /**
+     * Encodes the string in length-prefixed modified UTF-8, i.e. in the form written by {@link DataOutput#writeUTF(String)}.
+     *
+     * @param str Target string
+     * @return A new array with the encoded string
+     * @throws UTFDataFormatException If the encoded string is longer than {@link #MAX_LENGTH}
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public static byte @NotNull [] encodePrefixed(@NotNull String str) throws UTFDataFormatException {
+        // Check the length.
+        long length = length(str);
+        if (length > MAX_LENGTH) throw tooLong(str, length);
+
+        // Encode into the exactly sized array.
+        byte[] data = new byte[Short.BYTES + (int) length];
+        data[0] = (byte) (length >>> 8);
+        data[1] = (byte) length;
+        encode(str, data, Short.BYTES);
+        return data;
+    }
+
+    /**
+     * Encodes the string in modified UTF-8, without the length prefix.
+     *
+     * @param str    Target string
+     * @param data   Target array, must have at least {@link #length(String)} bytes after the offset, {@code str.length() * 3} bytes are always enough
+     * @param offset Array offset
+     * @return Encoded length in bytes
+     * @throws UTFDataFormatException    If the encoded string is longer than {@link #MAX_LENGTH}
+     * @throws IndexOutOfBoundsException If the array is too small, the array may be partially written in this case
+     */
+    public static int encode(@NotNull String str, byte @NotNull [] data, int offset) throws UTFDataFormatException {
+        int strLength = str.length();
+        if (strLength > MAX_LENGTH) throw tooLong(str, length(str));
+        Objects.checkFromIndexSize(offset, strLength, data.length);
+        int position = offset;
+        int i = 0;
+
+        // ASCII prefix.
+        for (; i < strLength; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80 || c == 0) break;
+            data[position++] = (byte) c;
+        }
+
+        // Everything else.
+        for (; i < strLength; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80 && c != 0) {
+                data[position++] = (byte) c;
+            } else if (c < 0x800) {
+                data[position++] = (byte) (0xC0 | (c >> 6));
+                data[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                data[position++] = (byte) (0xE0 | (c >> 12));
+                data[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        // Check the length.
+        int length = position - offset;
+        if (length > MAX_LENGTH) throw tooLong(str, length);
+        return length;
+    }
+
+    /**
+     * Writes the length-prefixed modified UTF-8 string to the output via the scratch buffer.
+     *
+     * @param out Target output
+     * @param str Target string
+     * @throws UTFDataFormatException If the encoded string is longer than {@link #MAX_LENGTH}
+     * @throws IOException            On I/O exception
+     * @see #write(DataOutput, String)
+     */
+    static void writeEncoded(@NotNull DataOutput out, @NotNull String str) throws IOException {
+        byte[] data = SCRATCH.get();
+        int strLength = str.length();
+
+        // Check the exact length, if the worst case doesn't fit.
+        if (Short.BYTES + strLength * 3L > SCRATCH_LENGTH) {
+            long length = length(str);
+            if (length > MAX_LENGTH) throw tooLong(str, length);
+
+            // Encode in chunks, if the exact length doesn't fit.
+            if (Short.BYTES + length > SCRATCH_LENGTH) {
+                data[0] = (byte) (length >>> 8);
+                data[1] = (byte) length;
+                int position = Short.BYTES;
+                for (int i = 0; i < strLength; i++) {
+                    // Flush the chunk, if the next char may not fit.
+                    if (position > SCRATCH_LENGTH - 3) {
+                        out.write(data, 0, position);
+                        position = 0;
+                    }
+
+                    // Encode the char.
+                    char c = str.charAt(i);
+                    if (c < 0x80 && c != 0) {
+                        data[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        data[position++] = (byte) (0xC0 | (c >> 6));
+                        data[position++] = (byte) (0x80 | (c & 0x3F));
+                    } else {
+                        data[position++] = (byte) (0xE0 | (c >> 12));
+                        data[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        data[position++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+                out.write(data, 0, position);
+                return;
+            }
+        }
+
+        // Encode and write in one call.
+        int length = encode(str, data, Short.BYTES);
+        data[0] = (byte) (length >>> 8);
+        data[1] = (byte) length;
+        out.write(data, 0, Short.BYTES + length);
+    }
+
+    /**
+     * Creates the exception for strings that are too long.
+     *
+     * @param str    Target string
+     * @param length Encoded length
+     * @return A new exception
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    @NotNull
+    static UTFDataFormatException tooLong(@NotNull String str, long length) {
+        String shortened = str.length() > 16 ? str.substring(0, 8) + "..." + str.substring(str.length() - 8) : str;
+        return new UTFDataFormatException("encoded string (" + shortened + ") too long: " + length + " bytes");
+    }
+
+    /**
+     * Checks whether every byte in the range is ASCII, i.e. is in the {@code [0, 127]} range.
+     *
+     * @param data   Target data
+     * @param offset Range offset
+     * @param length Range length
+     * @return Whether the range is ASCII-only
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    @Contract(pure = true)
+    public static boolean isAscii(byte @NotNull [] data, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        int i = offset;
+        int end = offset + length;
+
+        // Check 8 bytes at once.
+        for (int longEnd = end - Long.BYTES; i <= longEnd; i += Long.BYTES) {
+            if (((long) LONG_VIEW.get(data, i) & HIGH_BITS) != 0L) return false;
+        }
+
+        // Check the remaining bytes.
+        for (; i < end; i++) {
+            if (data[i] < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the modified UTF-8 string, without the length prefix.
+     *
+     * @param data   Encoded data
+     * @param offset Data offset
+     * @param length Data length
+     * @return Decoded string
+     * @throws UTFDataFormatException    If the data is malformed
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     * @see #decode(byte[], int, int, char[])
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static String decode(byte @NotNull [] data, int offset, int length) throws UTFDataFormatException {
+        if (length == 0) return EMPTY_STRING;
+        if (isAscii(data, offset, length)) return new String(data, offset, length, StandardCharsets.ISO_8859_1);
+        return decode(data, offset, length, new char[length]);
+    }
+
+    /**
+     * Decodes the modified UTF-8 string, without the length prefix.
+     * <p>
+     * The validation is identical to {@link DataInputStream#readUTF(DataInput)}.
+     *
+     * @param data   Encoded data
+     * @param offset Data offset
+     * @param length Data length
+     * @param chars  Scratch char buffer, must be at least {@code length} long
+     * @return Decoded string
+     * @throws UTFDataFormatException    If the data is malformed
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds or the scratch buffer is too small
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static String decode(byte @NotNull [] data, int offset, int length, char @NotNull [] chars) throws UTFDataFormatException {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.checkFromIndexSize(0, length, chars.length);
+        int count = 0;
+        int charCount = 0;
+
+        // ASCII prefix.
+        while (count < length) {
+            int c = data[offset + count] & 0xFF;
+            if (c > 127) break;
+            count++;
+            chars[charCount++] = (char) c;
+        }
+
+        // Everything else.
+        while (count < length) {
+            int c = data[offset + count] & 0xFF;
+            switch (c >> 4) {
+                case 0, 1, 2, 3, 4, 5, 6, 7 -> {
+                    // 0xxxxxxx
+                    count++;
+                    chars[charCount++] = (char) c;
+                }
+                case 12, 13 -> {
+                    // 110xxxxx 10xxxxxx
+                    count += 2;
+                    if (count > length) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = data[offset + count - 1];
+                    if ((c2 & 0xC0) != 0x80) {
+                        throw new UTFDataFormatException("malformed input around byte " + count);
+                    }
+                    chars[charCount++] = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                }
+                case 14 -> {
+                    // 1110xxxx 10xxxxxx 10xxxxxx
+                    count += 3;
+                    if (count > length) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = data[offset + count - 2];
+                    int c3 = data[offset + count - 1];
+                    if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80)) {
+                        throw new UTFDataFormatException("malformed input around byte " + (count - 1));
+                    }
+                    chars[charCount++] = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                }
+                // 10xxxxxx, 1111xxxx
+                default -> throw new UTFDataFormatException("malformed input around byte " + count);
+            }
+        }
+
+        // Create the string.
+        return new String(chars, 0, charCount);
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Bulk big-endian codecs for the NBT int and long arrays and primitive lists.
+ * <p>
+ * The data is transferred in chunks via {@link DataInput#readFully(byte[], int, int)} and
+ * {@link DataOutput#write(byte[], int, int)} and converted with the byte array view {@link VarHandle}s,
+ * instead of calling {@link DataInput#readInt()} or {@link DataOutput#writeInt(int)} for every element.
+ *
+ * @author VidTu
+ * @since 1.6.0
+ */
+public final class NBTArrays {
+    /**
+     * Length of the transfer chunk in bytes.
+     */
+    private static final int CHUNK_LENGTH = 8192;
+
+    /**
+     * Shared per-thread transfer chunk.
+     */
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_LENGTH]);
+
+    /**
+     * Handle for accessing byte arrays as big-endian shorts.
+     */
+    private static final VarHandle SHORTS = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Handle for accessing byte arrays as big-endian ints.
+     */
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Handle for accessing byte arrays as big-endian longs.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * An instance of this class cannot be created.
+     *
+     * @throws AssertionError Always
+     */
+    @Contract(value = "-> fail", pure = true)
+    private NBTArrays() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Reads the big-endian ints from the input, filling the whole array.
+     *
+     * @param in   Target input
+     * @param data Target array
+     * @throws IOException On I/O exception
+     */
+    public static void readInts(@NotNull DataInput in, int @NotNull [] data) throws IOException {
+        readInts(in, data, 0, data.length);
+    }
+
+    /**
+     * Reads the big-endian longs from the input, filling the whole array.
+     *
+     * @param in   Target input
+     * @param data Target array
+     * @throws IOException On I/O exception
+     */
+    public static void readLongs(@NotNull DataInput in, long @NotNull [] data) throws IOException {
+        readLongs(in, data, 0, data.length);
+    }
+
+    /**
+     * Reads the big-endian shorts from the input into the array range.
+     *
+     * @param in     Target input
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void readShorts(@NotNull DataInput in, short @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Short.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            in.readFully(chunk, 0, count * Short.BYTES);
+            for (int i = 0; i < count; i++) {
+                data[offset + i] = (short) SHORTS.get(chunk, i * Short.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Reads the big-endian ints from the input into the array range.
+     *
+     * @param in     Target input
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void readInts(@NotNull DataInput in, int @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Integer.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            in.readFully(chunk, 0, count * Integer.BYTES);
+            for (int i = 0; i < count; i++) {
+                data[offset + i] = (int) INTS.get(chunk, i * Integer.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Reads the big-endian longs from the input into the array range.
+     *
+     * @param in     Target input
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void readLongs(@NotNull DataInput in, long @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Long.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            in.readFully(chunk, 0, count * Long.BYTES);
+            for (int i = 0; i < count; i++) {
+                data[offset + i] = (long) LONGS.get(chunk, i * Long.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Reads the big-endian floats from the input into the array range.
+     *
+     * @param in     Target input
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void readFloats(@NotNull DataInput in, float @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Float.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            in.readFully(chunk, 0, count * Float.BYTES);
+            for (int i = 0; i < count; i++) {
+                data[offset + i] = Float.intBitsToFloat((int) INTS.get(chunk, i * Float.BYTES));
+            }
+        }
+    }
+
+    /**
+     * Reads the big-endian doubles from the input into the array range.
+     *
+     * @param in     Target input
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void readDoubles(@NotNull DataInput in, double @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Double.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            in.readFully(chunk, 0, count * Double.BYTES);
+            for (int i = 0; i < count; i++) {
+                data[offset + i] = Double.longBitsToDouble((long) LONGS.get(chunk, i * Double.BYTES));
+            }
+        }
+    }
+
+    /**
+     * Writes the whole array as big-endian ints to the output.
+     *
+     * @param out  Target output
+     * @param data Target array
+     * @throws IOException On I/O exception
+     */
+    public static void writeInts(@NotNull DataOutput out, int @NotNull [] data) throws IOException {
+        writeInts(out, data, 0, data.length);
+    }
+
+    /**
+     * Writes the whole array as big-endian longs to the output.
+     *
+     * @param out  Target output
+     * @param data Target array
+     * @throws IOException On I/O exception
+     */
+    public static void writeLongs(@NotNull DataOutput out, long @NotNull [] data) throws IOException {
+        writeLongs(out, data, 0, data.length);
+    }
+
+    /**
+     * Writes the array range as big-endian shorts to the output.
+     *
+     * @param out    Target output
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void writeShorts(@NotNull DataOutput out, short @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+
+        // Put directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            ByteBuffer buffer = bufferOut.buffer();
+            long bytes = (long) length * Short.BYTES;
+            if (bytes <= buffer.remaining()) {
+                buffer.asShortBuffer().put(data, off, length);
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+        }
+
+        // Write in chunks.
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Short.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            for (int i = 0; i < count; i++) {
+                SHORTS.set(chunk, i * Short.BYTES, data[offset + i]);
+            }
+            out.write(chunk, 0, count * Short.BYTES);
+        }
+    }
+
+    /**
+     * Writes the array range as big-endian ints to the output.
+     *
+     * @param out    Target output
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void writeInts(@NotNull DataOutput out, int @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+
+        // Put directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            ByteBuffer buffer = bufferOut.buffer();
+            long bytes = (long) length * Integer.BYTES;
+            if (bytes <= buffer.remaining()) {
+                buffer.asIntBuffer().put(data, off, length);
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+        }
+
+        // Write in chunks.
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Integer.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            for (int i = 0; i < count; i++) {
+                INTS.set(chunk, i * Integer.BYTES, data[offset + i]);
+            }
+            out.write(chunk, 0, count * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Writes the array range as big-endian longs to the output.
+     *
+     * @param out    Target output
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void writeLongs(@NotNull DataOutput out, long @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+
+        // Put directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            ByteBuffer buffer = bufferOut.buffer();
+            long bytes = (long) length * Long.BYTES;
+            if (bytes <= buffer.remaining()) {
+                buffer.asLongBuffer().put(data, off, length);
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+        }
+
+        // Write in chunks.
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Long.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            for (int i = 0; i < count; i++) {
+                LONGS.set(chunk, i * Long.BYTES, data[offset + i]);
+            }
+            out.write(chunk, 0, count * Long.BYTES);
+        }
+    }
+
+    /**
+     * Writes the array range as big-endian floats to the output.
+     *
+     * @param out    Target output
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void writeFloats(@NotNull DataOutput out, float @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+
+        // Put directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            ByteBuffer buffer = bufferOut.buffer();
+            long bytes = (long) length * Float.BYTES;
+            if (bytes <= buffer.remaining()) {
+                buffer.asFloatBuffer().put(data, off, length);
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+        }
+
+        // Write in chunks.
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Float.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            for (int i = 0; i < count; i++) {
+                INTS.set(chunk, i * Float.BYTES, Float.floatToIntBits(data[offset + i]));
+            }
+            out.write(chunk, 0, count * Float.BYTES);
+        }
+    }
+
+    /**
+     * Writes the array range as big-endian doubles to the output.
+     *
+     * @param out    Target output
+     * @param data   Target array
+     * @param off    Range offset
+     * @param length Range length
+     * @throws IOException               On I/O exception
+     * @throws IndexOutOfBoundsException If the range is out of the array bounds
+     */
+    public static void writeDoubles(@NotNull DataOutput out, double @NotNull [] data, int off, int length) throws IOException {
+        Objects.checkFromIndexSize(off, length, data.length);
+
+        // Put directly into the buffer.
+        if (out instanceof NBTBufferOutput bufferOut) {
+            ByteBuffer buffer = bufferOut.buffer();
+            long bytes = (long) length * Double.BYTES;
+            if (bytes <= buffer.remaining()) {
+                buffer.asDoubleBuffer().put(data, off, length);
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+        }
+
+        // Write in chunks.
+        byte[] chunk = CHUNK.get();
+        int perChunk = CHUNK_LENGTH / Double.BYTES;
+        for (int offset = off, end = off + length; offset < end; offset += perChunk) {
+            int count = Math.min(perChunk, end - offset);
+            for (int i = 0; i < count; i++) {
+                LONGS.set(chunk, i * Double.BYTES, Double.doubleToLongBits(data[offset + i]));
+            }
+            out.write(chunk, 0, count * Double.BYTES);
+        }
+    }
+}
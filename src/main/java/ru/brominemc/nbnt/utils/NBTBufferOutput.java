@@ -0,0 +1,327 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * NBT output that writes directly into the heap or direct {@link ByteBuffer}, optionally
+ * spilling to the {@link WritableByteChannel} once the buffer is full.
+ * <p>
+ * Every NBT can be written to this output via the regular {@link ru.brominemc.nbnt.types.NBT#write(DataOutput)} methods,
+ * no intermediate {@link java.io.ByteArrayOutputStream} or copying is required.
+ *
+ * @author VidTu
+ * @apiNote NBT buffer outputs are not thread-safe!
+ * @since 1.6.0
+ */
+public final class NBTBufferOutput implements DataOutput, Flushable {
+    /**
+     * Target buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Target channel, {@code null} if none.
+     */
+    @Nullable
+    private final WritableByteChannel channel;
+
+    /**
+     * Bytes written to the channel.
+     */
+    private long flushed;
+
+    /**
+     * Creates a new output without a channel.
+     *
+     * @param buffer Target buffer
+     * @throws IllegalArgumentException If the buffer is not big-endian
+     * @apiNote Writing more bytes than the buffer has remaining will throw {@link BufferOverflowException}
+     */
+    public NBTBufferOutput(@NotNull ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "Buffer is null");
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        this.buffer = buffer;
+        this.channel = null;
+    }
+
+    /**
+     * Creates a new output with a channel.
+     *
+     * @param buffer  Target buffer, bytes from zero to the position of the buffer will be written to the channel on spill
+     * @param channel Target blocking channel
+     * @throws IllegalArgumentException If the buffer is not big-endian, its capacity is smaller than {@link Long#BYTES} or the channel is non-blocking
+     * @apiNote The buffer contents are written to the channel once the buffer is full, call {@link #flush()} to write the remaining bytes;
+     * the writes throw {@link IOException} if the channel accepts no bytes, e.g. if it has been switched to the non-blocking mode
+     */
+    public NBTBufferOutput(@NotNull ByteBuffer buffer, @NotNull WritableByteChannel channel) {
+        Objects.requireNonNull(buffer, "Buffer is null");
+        Objects.requireNonNull(channel, "Channel is null");
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        if (buffer.capacity() < Long.BYTES) throw new IllegalArgumentException("Buffer is too small: " + buffer);
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) throw new IllegalArgumentException("Channel is non-blocking: " + channel);
+        this.buffer = buffer;
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the target buffer.
+     *
+     * @return Target buffer
+     */
+    @Contract(pure = true)
+    @NotNull
+    public ByteBuffer buffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Gets the target channel.
+     *
+     * @return Target channel, {@code null} if none
+     */
+    @Contract(pure = true)
+    @Nullable
+    public WritableByteChannel channel() {
+        return this.channel;
+    }
+
+    /**
+     * Gets the amount of bytes written into this output.
+     *
+     * @return Bytes written to the channel plus bytes in the buffer
+     */
+    @Contract(pure = true)
+    public long written() {
+        return this.flushed + this.buffer.position();
+    }
+
+    /**
+     * Ensures the buffer has enough space remaining, spilling to the channel if required.
+     *
+     * @param bytes Required bytes, must not be greater than {@link Long#BYTES}
+     * @throws IOException             On I/O exception
+     * @throws BufferOverflowException If there's no channel and the buffer doesn't have enough space remaining
+     */
+    private void ensure(int bytes) throws IOException {
+        if (this.buffer.remaining() >= bytes) return;
+        this.spill();
+    }
+
+    /**
+     * Writes the buffer contents into the channel and clears the buffer.
+     *
+     * @throws IOException             On I/O exception or if the channel accepts no bytes
+     * @throws BufferOverflowException If there's no channel
+     */
+    private void spill() throws IOException {
+        WritableByteChannel channel = this.channel;
+        if (channel == null) throw new BufferOverflowException();
+        ByteBuffer buffer = this.buffer;
+        buffer.flip();
+        this.drain(channel, buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes all remaining bytes of the source into the channel.
+     *
+     * @param channel Target channel
+     * @param source  Source buffer
+     * @throws IOException On I/O exception or if the channel accepts no bytes
+     */
+    private void drain(@NotNull WritableByteChannel channel, @NotNull ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            int written = channel.write(source);
+            if (written == 0) throw new IOException("Channel accepted no bytes, it must be blocking: " + channel);
+            this.flushed += written;
+        }
+    }
+
+    /**
+     * Writes the buffered bytes into the channel, if any.
+     *
+     * @throws IOException On I/O exception
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.channel == null || this.buffer.position() == 0) return;
+        this.spill();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensure(Byte.BYTES);
+        this.buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte @NotNull [] b) throws IOException {
+        this.write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte @NotNull [] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ByteBuffer buffer = this.buffer;
+
+        // Fits into the buffer.
+        if (len <= buffer.remaining()) {
+            buffer.put(b, off, len);
+            return;
+        }
+
+        // Doesn't fit and there's nothing to spill into.
+        WritableByteChannel channel = this.channel;
+        if (channel == null) throw new BufferOverflowException();
+
+        // Gathering write: buffered bytes and the array in one call, without copying the array.
+        ByteBuffer array = ByteBuffer.wrap(b, off, len);
+        buffer.flip();
+        if (channel instanceof GatheringByteChannel gathering) {
+            ByteBuffer[] sources = {buffer, array};
+            while (array.hasRemaining()) {
+                long written = gathering.write(sources);
+                if (written == 0L) throw new IOException("Channel accepted no bytes, it must be blocking: " + channel);
+                this.flushed += written;
+            }
+        } else {
+            this.drain(channel, buffer);
+            this.drain(channel, array);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        this.ensure(Byte.BYTES);
+        this.buffer.put((byte) (v ? 1 : 0));
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        this.ensure(Byte.BYTES);
+        this.buffer.put((byte) v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        this.ensure(Short.BYTES);
+        this.buffer.putShort((short) v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        this.ensure(Character.BYTES);
+        this.buffer.putChar((char) v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        this.ensure(Integer.BYTES);
+        this.buffer.putInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        this.ensure(Long.BYTES);
+        this.buffer.putLong(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        this.ensure(Float.BYTES);
+        this.buffer.putFloat(v);
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        this.ensure(Double.BYTES);
+        this.buffer.putDouble(v);
+    }
+
+    @Override
+    public void writeBytes(@NotNull String s) throws IOException {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            this.writeByte(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(@NotNull String s) throws IOException {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            this.writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(@NotNull String s) throws IOException {
+        int strLength = s.length();
+        if (strLength > ModifiedUTF8.MAX_LENGTH) throw ModifiedUTF8.tooLong(s, ModifiedUTF8.length(s));
+        ByteBuffer buffer = this.buffer;
+        int required = Short.BYTES + strLength * 3;
+
+        // Use the exact length, if the worst case doesn't fit.
+        if (required > buffer.remaining()) {
+            long length = ModifiedUTF8.length(s);
+            if (length > ModifiedUTF8.MAX_LENGTH) throw ModifiedUTF8.tooLong(s, length);
+            required = Short.BYTES + (int) length;
+        }
+
+        // Make space, if possible.
+        if (required > buffer.remaining() && this.channel != null && required <= buffer.capacity()) {
+            this.spill();
+        }
+
+        // Encode directly into the heap buffer.
+        if (required <= buffer.remaining() && buffer.hasArray()) {
+            int position = buffer.position();
+            int length = ModifiedUTF8.encode(s, buffer.array(), buffer.arrayOffset() + position + Short.BYTES);
+            buffer.putShort(position, (short) length);
+            buffer.position(position + Short.BYTES + length);
+            return;
+        }
+
+        // Encode and write.
+        ModifiedUTF8.writeEncoded(this, s);
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTBufferOutput{" +
+                "buffer=" + this.buffer +
+                ", channel=" + this.channel +
+                ", flushed=" + this.flushed +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.NBT;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Functional interface for reading the NBT from the {@link ByteBuffer}.
+ *
+ * @author VidTu
+ * @apiNote Buffer readers expect the buffer to be in the {@link java.nio.ByteOrder#BIG_ENDIAN} byte order
+ * @see NBTReader
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface NBTBufferReader {
+    /**
+     * Reader that reads {@code null}.
+     */
+    NBTBufferReader NULL_READER = (buffer, limiter) -> null;
+
+    /**
+     * Reads the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read NBT
+     * @throws IOException If the data is malformed
+     */
+    @CheckReturnValue
+    @Nullable
+    NBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Functional interface for skipping the NBT in the buffer without reading it.
+ *
+ * @author VidTu
+ * @apiNote Buffers must use the {@link java.nio.ByteOrder#BIG_ENDIAN} order
+ * @see NBTBufferReader
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface NBTBufferSkipper {
+    /**
+     * Skipper that skips nothing.
+     */
+    NBTBufferSkipper NULL_SKIPPER = (buffer, limiter) -> {};
+
+    /**
+     * Skips the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     */
+    void skip(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter);
+
+    /**
+     * Skips exactly the provided amount of bytes from the buffer.
+     *
+     * @param buffer Target buffer
+     * @param bytes  Amount of bytes to skip
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     */
+    static void skipFully(@NotNull ByteBuffer buffer, long bytes) {
+        if (bytes > buffer.remaining()) throw new BufferUnderflowException();
+        buffer.position(buffer.position() + (int) bytes);
+    }
+}
@@ -0,0 +1,788 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.exceptions.LongNBTException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Compression of the NBT files, e.g. {@code level.dat}, player data or region chunks.
+ * <p>
+ * Unlike wrapping the {@link java.util.zip.GZIPInputStream} or similar streams, the {@link Inflater} and {@link Deflater}
+ * instances and the I/O buffers are pooled per thread. The data is decompressed fully into the pooled buffer and read
+ * with the {@link NBT#readNamed(ByteBuffer, NBTLimiter)}, the NBT is written into the pooled buffer with the
+ * {@link NBT#writeNamed(ByteBuffer, String, NBT)} and compressed at once.
+ *
+ * @author VidTu
+ * @apiNote The pooled native compression state is released when the thread dies
+ * @since 1.6.0
+ */
+public enum NBTCompression {
+    /**
+     * GZIP format. (RFC 1952, used by {@code level.dat} and player data)
+     */
+    GZIP,
+
+    /**
+     * Zlib format. (RFC 1950, used by region chunks)
+     */
+    ZLIB,
+
+    /**
+     * Raw deflate format without any header. (RFC 1951)
+     */
+    DEFLATE,
+
+    /**
+     * No compression.
+     */
+    NONE;
+
+    /**
+     * Maximum length of the pooled data buffer, larger buffers are not reused.
+     */
+    private static final int MAX_POOLED_LENGTH = 1 << 22;
+
+    /**
+     * Maximum length of the decompressed data.
+     */
+    private static final int MAX_DATA_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Length of the pooled buffer for the compressed chunks.
+     */
+    private static final int CHUNK_LENGTH = 1 << 16;
+
+    /**
+     * Length of the uncompressed block compressed by a single task in the parallel compression.
+     */
+    private static final int BLOCK_LENGTH = 1 << 17;
+
+    /**
+     * Length of the preset dictionary for the parallel compression blocks. (deflate window size)
+     */
+    private static final int DICTIONARY_LENGTH = 1 << 15;
+
+    /**
+     * GZIP header without the optional fields. (magic, deflate method, no flags, no time, no extra flags, unknown OS)
+     */
+    private static final byte[] GZIP_HEADER = {0x1F, (byte) 0x8B, 8, 0, 0, 0, 0, 0, 0, (byte) 0xFF};
+
+    /**
+     * Pooled per-thread state.
+     */
+    private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+    /**
+     * Reads the named NBT from the compressed stream. The stream is read until its end, but not closed.
+     *
+     * @param in      Target stream
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              On I/O exception or if the compressed data is malformed
+     * @throws IllegalArgumentException If the provided NBT type is unknown or by underlying reader
+     * @throws IllegalStateException    If read or decompressed bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @see #readNamed(ByteBuffer, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public Map.Entry<String, NBT> readNamed(@NotNull InputStream in, @NotNull NBTLimiter limiter) throws IOException {
+        Pool pool = POOL.get();
+        byte[] compressed = pool.compressed;
+        int length = 0;
+        for (int read; (read = in.read(compressed, length, compressed.length - length)) != -1; ) {
+            length += read;
+            if (length < compressed.length) continue;
+            if (length >= MAX_DATA_LENGTH) throw new IOException("Compressed data is too long.");
+            compressed = Arrays.copyOf(compressed, (int) Math.min((long) compressed.length << 1, MAX_DATA_LENGTH));
+            if (compressed.length <= MAX_POOLED_LENGTH) {
+                pool.compressed = compressed;
+            }
+        }
+        return this.readNamed(ByteBuffer.wrap(compressed, 0, length), limiter);
+    }
+
+    /**
+     * Reads the named NBT from the compressed buffer.
+     *
+     * @param buffer  Target buffer, from the position to the limit, the position is advanced past the read data
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If the compressed data is malformed or a string is malformed
+     * @throws IllegalArgumentException If the provided NBT type is unknown, if the format is {@link #NONE} and the buffer is not big-endian or by underlying reader
+     * @throws IllegalStateException    If read or decompressed bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     */
+    @CheckReturnValue
+    @Nullable
+    public Map.Entry<String, NBT> readNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        return this.readNamed(buffer, limiter, null);
+    }
+
+    /**
+     * Reads the named NBT from the buffer compressed with the preset dictionary.
+     *
+     * @param buffer     Target buffer, from the position to the limit, the position is advanced past the read data
+     * @param limiter    Target limiter
+     * @param dictionary Preset dictionary, {@code null} if none
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If the compressed data is malformed, compressed with other dictionary or a string is malformed
+     * @throws IllegalArgumentException If the provided NBT type is unknown, if the format is {@link #NONE} and the buffer is not big-endian, if the dictionary is not supported by the format or by underlying reader
+     * @throws IllegalStateException    If read or decompressed bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     * @since 1.6.0
+     */
+    @CheckReturnValue
+    @Nullable
+    public Map.Entry<String, NBT> readNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @Nullable NBTDictionary dictionary) throws IOException {
+        this.checkDictionary(dictionary);
+        if (this == NONE) return NBT.readNamed(buffer, limiter);
+        return NBT.readNamed(this.decompress(buffer, limiter, POOL.get(), dictionary), limiter);
+    }
+
+    /**
+     * Writes the named NBT into the compressed stream with the default compression level. The stream is not closed.
+     *
+     * @param out  Target stream
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException On I/O exception or if a string is too long
+     */
+    public void writeNamed(@NotNull OutputStream out, @NotNull String name, @Nullable NBT nbt) throws IOException {
+        this.writeNamed(out, name, nbt, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Writes the named NBT into the compressed stream. The stream is not closed.
+     *
+     * @param out   Target stream
+     * @param name  Target name
+     * @param nbt   Target NBT, {@code null} for the "NBT End" type
+     * @param level Compression level, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION}, ignored for {@link #NONE}
+     * @throws IOException              On I/O exception or if a string is too long
+     * @throws IllegalArgumentException If the compression level is invalid
+     */
+    public void writeNamed(@NotNull OutputStream out, @NotNull String name, @Nullable NBT nbt, int level) throws IOException {
+        this.writeNamed(out, name, nbt, level, null);
+    }
+
+    /**
+     * Writes the named NBT into the stream compressed with the preset dictionary. The stream is not closed.
+     *
+     * @param out        Target stream
+     * @param name       Target name
+     * @param nbt        Target NBT, {@code null} for the "NBT End" type
+     * @param level      Compression level, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION}, ignored for {@link #NONE}
+     * @param dictionary Preset dictionary, {@code null} if none
+     * @throws IOException              On I/O exception or if a string is too long
+     * @throws IllegalArgumentException If the compression level is invalid or if the dictionary is not supported by the format
+     * @since 1.6.0
+     */
+    public void writeNamed(@NotNull OutputStream out, @NotNull String name, @Nullable NBT nbt, int level, @Nullable NBTDictionary dictionary) throws IOException {
+        // Write into the pooled buffer.
+        Objects.requireNonNull(out, "Stream is null");
+        checkLevel(level);
+        this.checkDictionary(dictionary);
+        Pool pool = POOL.get();
+        int size = serializedSize(name, nbt);
+        byte[] data = serialize(pool, name, nbt, size);
+
+        // Compress.
+        this.compress(out, data, size, level, pool, dictionary);
+    }
+
+    /**
+     * Writes the named NBT into the compressed stream with the default compression level, compressing the large data
+     * in parallel. The stream is not closed.
+     *
+     * @param out  Target stream
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @throws IOException On I/O exception or if a string is too long
+     * @see #writeNamedParallel(OutputStream, String, NBT, int)
+     */
+    public void writeNamedParallel(@NotNull OutputStream out, @NotNull String name, @Nullable NBT nbt) throws IOException {
+        this.writeNamedParallel(out, name, nbt, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Writes the named NBT into the compressed stream, compressing the large data in parallel. The stream is not closed.
+     * <p>
+     * The serialized data is split into the blocks of {@link #BLOCK_LENGTH} bytes, each block is compressed by its own
+     * {@link Deflater} in the current {@link java.util.concurrent.ForkJoinPool} (or the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}), primed with the last {@link #DICTIONARY_LENGTH} bytes of
+     * the previous block as the preset dictionary and ended with the sync flush. The blocks are concatenated into
+     * the single deflate stream, so the output is readable by any reader of this format, but is slightly larger
+     * than the output of the {@link #writeNamed(OutputStream, String, NBT, int)}.
+     *
+     * @param out   Target stream
+     * @param name  Target name
+     * @param nbt   Target NBT, {@code null} for the "NBT End" type
+     * @param level Compression level, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION}, ignored for {@link #NONE}
+     * @throws IOException              On I/O exception or if a string is too long
+     * @throws IllegalArgumentException If the compression level is invalid
+     */
+    public void writeNamedParallel(@NotNull OutputStream out, @NotNull String name, @Nullable NBT nbt, int level) throws IOException {
+        // Write into the pooled buffer.
+        Objects.requireNonNull(out, "Stream is null");
+        checkLevel(level);
+        Pool pool = POOL.get();
+        int size = serializedSize(name, nbt);
+        byte[] data = serialize(pool, name, nbt, size);
+
+        // Not worth splitting.
+        if (this == NONE || size < BLOCK_LENGTH << 1) {
+            this.compress(out, data, size, level, pool, null);
+            return;
+        }
+
+        // Compress the blocks and the checksum.
+        int blocks = (size + BLOCK_LENGTH - 1) / BLOCK_LENGTH;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks + 1);
+        Checksum checksum = this == GZIP ? new CRC32() : new Adler32();
+        if (this != DEFLATE) {
+            tasks.add(ForkJoinTask.adapt(() -> checksum.update(data, 0, size)));
+        }
+        BlockTask[] blockTasks = new BlockTask[blocks];
+        for (int i = 0; i < blocks; i++) {
+            int offset = i * BLOCK_LENGTH;
+            BlockTask task = new BlockTask(data, offset, Math.min(BLOCK_LENGTH, size - offset), i == blocks - 1, level);
+            blockTasks[i] = task;
+            tasks.add(task);
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // Write.
+        switch (this) {
+            case GZIP -> out.write(GZIP_HEADER);
+            case ZLIB -> {
+                int flags = (level == Deflater.DEFAULT_COMPRESSION ? 2 : level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3) << 6;
+                flags += 31 - ((0x78 << 8 | flags) % 31);
+                out.write(0x78);
+                out.write(flags);
+            }
+        }
+        for (BlockTask task : blockTasks) {
+            out.write(task.output, 0, task.outputLength);
+        }
+        switch (this) {
+            case GZIP -> writeGzipTrailer(out, (int) checksum.getValue(), size, pool.chunk);
+            case ZLIB -> {
+                int adler = (int) checksum.getValue();
+                out.write(adler >>> 24);
+                out.write(adler >>> 16);
+                out.write(adler >>> 8);
+                out.write(adler);
+            }
+        }
+    }
+
+    /**
+     * Decompresses the data into the pooled buffer.
+     *
+     * @param buffer  Compressed data
+     * @param limiter Limiter for the maximum decompressed length
+     * @param pool       Thread pool
+     * @param dictionary Preset dictionary, {@code null} if none
+     * @return Big-endian buffer with the decompressed data
+     * @throws IOException If the compressed data is malformed
+     */
+    @NotNull
+    private ByteBuffer decompress(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull Pool pool,
+                                  @Nullable NBTDictionary dictionary) throws IOException {
+        // Skip the GZIP header.
+        ByteBuffer input = buffer.slice();
+        if (this == GZIP) {
+            skipGzipHeader(input);
+        }
+
+        // Inflate.
+        Inflater inflater = pool.inflater(this != ZLIB);
+        if (dictionary != null && this == DEFLATE) {
+            inflater.setDictionary(dictionary.unsafeBytes());
+        }
+        inflater.setInput(input);
+        long maxLength = Math.min(limiter.maxLength(), MAX_DATA_LENGTH);
+        byte[] data = pool.data;
+        int length = 0;
+        try {
+            while (!inflater.finished()) {
+                // Grow if full.
+                int window = (int) Math.min(data.length, maxLength);
+                if (length == window && length < maxLength) {
+                    data = pool.grow(data, (int) Math.min((long) data.length << 1, maxLength), length);
+                    window = (int) Math.min(data.length, maxLength);
+                }
+
+                // Inflate. If the limit is reached, probe whether the stream ends exactly at it.
+                int inflated;
+                if (length < window) {
+                    inflated = inflater.inflate(data, length, window - length);
+                    length += inflated;
+                } else {
+                    inflated = inflater.inflate(pool.chunk, 0, 1);
+                    if (inflated != 0) {
+                        throw limiter.quickExceptions() ? LongNBTException.quick() : new LongNBTException(length + 1L, maxLength);
+                    }
+                }
+                if (inflated != 0 || inflater.finished()) continue;
+                if (inflater.needsDictionary()) {
+                    if (dictionary == null) throw new ZipException("Compressed data requires a dictionary.");
+                    int id = inflater.getAdler();
+                    if (id != dictionary.id()) {
+                        throw new ZipException("Compressed data requires other dictionary: " + Integer.toHexString(id));
+                    }
+                    inflater.setDictionary(dictionary.unsafeBytes());
+                    continue;
+                }
+                if (inflater.needsInput()) throw new EOFException("Unexpected end of compressed data.");
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid compressed data.");
+        }
+
+        // Check the GZIP trailer.
+        if (this == GZIP) {
+            if (input.remaining() < Integer.BYTES << 1) throw new EOFException("Unexpected end of GZIP trailer.");
+            ByteBuffer trailer = input.slice().order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = pool.crc;
+            crc.reset();
+            crc.update(data, 0, length);
+            if (trailer.getInt(0) != (int) crc.getValue()) throw new ZipException("Corrupt GZIP trailer. (CRC)");
+            if (trailer.getInt(Integer.BYTES) != length) throw new ZipException("Corrupt GZIP trailer. (size)");
+            input.position(input.position() + (Integer.BYTES << 1));
+        }
+        buffer.position(buffer.position() + input.position());
+        return ByteBuffer.wrap(data, 0, length);
+    }
+
+    /**
+     * Skips the GZIP member header.
+     *
+     * @param input Target input
+     * @throws IOException If the header is malformed
+     */
+    private static void skipGzipHeader(@NotNull ByteBuffer input) throws IOException {
+        try {
+            // Magic, method, flags, time, extra flags, OS.
+            if (input.get() != 0x1F || input.get() != (byte) 0x8B) throw new ZipException("Not in GZIP format.");
+            if (input.get() != 8) throw new ZipException("Unsupported GZIP compression method.");
+            int flags = input.get() & 0xFF;
+            input.position(input.position() + 6);
+
+            // Optional fields.
+            if ((flags & 0b100) != 0) {
+                int extraLength = Short.toUnsignedInt(Short.reverseBytes(input.getShort()));
+                input.position(input.position() + extraLength);
+            }
+            if ((flags & 0b1000) != 0) {
+                while (input.get() != 0) {
+                    // Skip file name.
+                }
+            }
+            if ((flags & 0b10000) != 0) {
+                while (input.get() != 0) {
+                    // Skip comment.
+                }
+            }
+            if ((flags & 0b10) != 0) {
+                input.getShort(); // Header CRC
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            EOFException exception = new EOFException("Unexpected end of GZIP header.");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * Checks the compression level.
+     *
+     * @param level Compression level
+     * @throws IllegalArgumentException If the compression level is invalid
+     */
+    private static void checkLevel(int level) {
+        if ((level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION) || level == Deflater.DEFAULT_COMPRESSION) return;
+        throw new IllegalArgumentException("Invalid compression level: " + level);
+    }
+
+    /**
+     * Gets the serialized length of the named NBT.
+     *
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @return Serialized length
+     * @throws IOException If the NBT is too long
+     */
+    private static int serializedSize(@NotNull String name, @Nullable NBT nbt) throws IOException {
+        long size = NBT.serializedSizeNamed(name, nbt);
+        if (size > MAX_DATA_LENGTH) throw new IOException("NBT is too long: " + size);
+        return (int) size;
+    }
+
+    /**
+     * Writes the named NBT into the pooled buffer.
+     *
+     * @param pool Thread pool
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @param size Serialized length
+     * @return Buffer with the serialized NBT
+     * @throws IOException If a string is too long
+     */
+    private static byte @NotNull [] serialize(@NotNull Pool pool, @NotNull String name, @Nullable NBT nbt, int size) throws IOException {
+        byte[] data = pool.grow(pool.data, size, 0);
+        NBT.writeNamed(ByteBuffer.wrap(data, 0, size), name, nbt);
+        return data;
+    }
+
+    /**
+     * Compresses the data into the stream sequentially.
+     *
+     * @param out        Target stream
+     * @param data       Uncompressed data
+     * @param size       Uncompressed data length
+     * @param level      Compression level
+     * @param pool       Thread pool
+     * @param dictionary Preset dictionary, {@code null} if none
+     * @throws IOException On I/O exception
+     */
+    private void compress(@NotNull OutputStream out, byte @NotNull [] data, int size, int level, @NotNull Pool pool,
+                          @Nullable NBTDictionary dictionary) throws IOException {
+        switch (this) {
+            case GZIP -> {
+                CRC32 crc = pool.crc;
+                crc.reset();
+                crc.update(data, 0, size);
+                out.write(GZIP_HEADER);
+                deflate(out, data, size, pool.deflater(true, level), pool.chunk);
+                writeGzipTrailer(out, (int) crc.getValue(), size, pool.chunk);
+            }
+            case ZLIB, DEFLATE -> {
+                Deflater deflater = pool.deflater(this == DEFLATE, level);
+                if (dictionary != null) {
+                    deflater.setDictionary(dictionary.unsafeBytes());
+                }
+                deflate(out, data, size, deflater, pool.chunk);
+            }
+            case NONE -> out.write(data, 0, size);
+        }
+    }
+
+    /**
+     * Checks whether the format supports the dictionary.
+     *
+     * @param dictionary Preset dictionary, {@code null} if none
+     * @throws IllegalArgumentException If the dictionary is not {@code null} and the format is not {@link #ZLIB} or {@link #DEFLATE}
+     */
+    private void checkDictionary(@Nullable NBTDictionary dictionary) {
+        if (dictionary == null || this == ZLIB || this == DEFLATE) return;
+        throw new IllegalArgumentException("Dictionary is not supported by " + this + " format.");
+    }
+
+    /**
+     * Writes the GZIP trailer.
+     *
+     * @param out     Target stream
+     * @param crc     Uncompressed data CRC32
+     * @param size    Uncompressed data length
+     * @param scratch Scratch buffer
+     * @throws IOException On I/O exception
+     */
+    private static void writeGzipTrailer(@NotNull OutputStream out, int crc, int size, byte @NotNull [] scratch) throws IOException {
+        writeIntLE(scratch, 0, crc);
+        writeIntLE(scratch, Integer.BYTES, size);
+        out.write(scratch, 0, Integer.BYTES << 1);
+    }
+
+    /**
+     * Compresses the data into the stream.
+     *
+     * @param out      Target stream
+     * @param data     Uncompressed data
+     * @param length   Uncompressed data length
+     * @param deflater Reset deflater
+     * @param chunk    Chunk buffer
+     * @throws IOException On I/O exception
+     */
+    private static void deflate(@NotNull OutputStream out, byte @NotNull [] data, int length,
+                                @NotNull Deflater deflater, byte @NotNull [] chunk) throws IOException {
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int deflated = deflater.deflate(chunk, 0, chunk.length);
+            out.write(chunk, 0, deflated);
+        }
+    }
+
+    /**
+     * Writes the little-endian int.
+     *
+     * @param data   Target array
+     * @param offset Array offset
+     * @param value  Target value
+     */
+    private static void writeIntLE(byte @NotNull [] data, int offset, int value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >>> 8);
+        data[offset + 2] = (byte) (value >>> 16);
+        data[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Task compressing a single block for the parallel compression.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class BlockTask extends RecursiveAction {
+        /**
+         * Uncompressed data.
+         */
+        private final byte[] data;
+
+        /**
+         * Block offset in the data.
+         */
+        private final int offset;
+
+        /**
+         * Block length.
+         */
+        private final int length;
+
+        /**
+         * Whether this block is the last one and should finish the deflate stream.
+         */
+        private final boolean last;
+
+        /**
+         * Compression level.
+         */
+        private final int level;
+
+        /**
+         * Compressed block, {@code null} if not compressed yet.
+         */
+        private byte[] output;
+
+        /**
+         * Compressed block length.
+         */
+        private int outputLength;
+
+        /**
+         * Creates a new task.
+         *
+         * @param data   Uncompressed data
+         * @param offset Block offset in the data
+         * @param length Block length
+         * @param last   Whether this block is the last one and should finish the deflate stream
+         * @param level  Compression level
+         */
+        private BlockTask(byte @NotNull [] data, int offset, int length, boolean last, int level) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.last = last;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute() {
+            // Prime with the previous block tail, so the matches can cross the block boundary.
+            Deflater deflater = POOL.get().deflater(true, this.level);
+            int dictionary = Math.min(this.offset, DICTIONARY_LENGTH);
+            if (dictionary != 0) {
+                deflater.setDictionary(this.data, this.offset - dictionary, dictionary);
+            }
+            deflater.setInput(this.data, this.offset, this.length);
+
+            // Compress. The sync flush ends the block at the byte boundary without finishing the stream.
+            byte[] output = new byte[this.length + (this.length >>> 4) + 64];
+            int outputLength = 0;
+            int flush = this.last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+            if (this.last) {
+                deflater.finish();
+            }
+            while (true) {
+                if (outputLength == output.length) {
+                    output = Arrays.copyOf(output, output.length << 1);
+                }
+                int deflated = deflater.deflate(output, outputLength, output.length - outputLength, flush);
+                outputLength += deflated;
+                if (this.last ? deflater.finished() : outputLength < output.length) break;
+            }
+            this.output = output;
+            this.outputLength = outputLength;
+        }
+    }
+
+    /**
+     * Pooled per-thread state.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class Pool {
+        /**
+         * Inflater for the zlib format, {@code null} if not created yet.
+         */
+        private Inflater zlibInflater;
+
+        /**
+         * Inflater for the raw deflate format, {@code null} if not created yet.
+         */
+        private Inflater rawInflater;
+
+        /**
+         * Deflater for the zlib format, {@code null} if not created yet.
+         */
+        private Deflater zlibDeflater;
+
+        /**
+         * Deflater for the raw deflate format, {@code null} if not created yet.
+         */
+        private Deflater rawDeflater;
+
+        /**
+         * Compression level of the {@link #zlibDeflater}.
+         */
+        private int zlibLevel;
+
+        /**
+         * Compression level of the {@link #rawDeflater}.
+         */
+        private int rawLevel;
+
+        /**
+         * Checksum for the GZIP format.
+         */
+        private final CRC32 crc = new CRC32();
+
+        /**
+         * Uncompressed data buffer.
+         */
+        private byte[] data = new byte[CHUNK_LENGTH];
+
+        /**
+         * Compressed data buffer.
+         */
+        private byte[] compressed = new byte[CHUNK_LENGTH];
+
+        /**
+         * Compressed chunk buffer.
+         */
+        private final byte[] chunk = new byte[CHUNK_LENGTH];
+
+        /**
+         * Gets the reset inflater.
+         *
+         * @param raw Whether the inflater should read raw deflate data without the zlib header
+         * @return Pooled inflater
+         */
+        @NotNull
+        private Inflater inflater(boolean raw) {
+            Inflater inflater = raw ? this.rawInflater : this.zlibInflater;
+            if (inflater == null) {
+                inflater = new Inflater(raw);
+                if (raw) {
+                    this.rawInflater = inflater;
+                } else {
+                    this.zlibInflater = inflater;
+                }
+            } else {
+                inflater.reset();
+            }
+            return inflater;
+        }
+
+        /**
+         * Gets the reset deflater.
+         *
+         * @param raw   Whether the deflater should write raw deflate data without the zlib header
+         * @param level Compression level
+         * @return Pooled deflater
+         */
+        @NotNull
+        private Deflater deflater(boolean raw, int level) {
+            // Reuse if the level is the same. The level set by the Deflater.setLevel(int) is applied lazily on
+            // the next deflate call, after the preset dictionary is set, which corrupts the dictionary-primed output.
+            Deflater deflater = raw ? this.rawDeflater : this.zlibDeflater;
+            if (deflater != null && (raw ? this.rawLevel : this.zlibLevel) == level) {
+                deflater.reset();
+                return deflater;
+            }
+
+            // Recreate.
+            if (deflater != null) {
+                deflater.end();
+            }
+            deflater = new Deflater(level, raw);
+            if (raw) {
+                this.rawDeflater = deflater;
+                this.rawLevel = level;
+            } else {
+                this.zlibDeflater = deflater;
+                this.zlibLevel = level;
+            }
+            return deflater;
+        }
+
+        /**
+         * Grows the uncompressed data buffer, keeping its contents.
+         *
+         * @param current Current buffer, the pooled one or the one returned by the previous call
+         * @param length  Minimum buffer length
+         * @param keep    Length of the contents of the current buffer to keep
+         * @return Buffer that is at least {@code length} long, pooled if it's not too large
+         */
+        private byte @NotNull [] grow(byte @NotNull [] current, int length, int keep) {
+            if (current.length >= length) return current;
+            byte[] grown = new byte[length];
+            System.arraycopy(current, 0, grown, 0, keep);
+            if (length <= MAX_POOLED_LENGTH) {
+                this.data = grown;
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.ByteArrayNBT;
+import ru.brominemc.nbnt.types.ByteNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.DoubleNBT;
+import ru.brominemc.nbnt.types.FloatNBT;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.LongArrayNBT;
+import ru.brominemc.nbnt.types.LongNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.ShortNBT;
+import ru.brominemc.nbnt.types.StringNBT;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural deduplicator (hash-consing) of the NBT trees.
+ * <p>
+ * The deduplicator {@link NBT#freeze() freezes} the NBTs and replaces the equal subtrees with a single shared instance,
+ * e.g. the identical item stacks, empty compounds or repeated block entity templates. The canonical instances are kept
+ * in the deduplicator, so the subtrees are shared across all NBTs deduplicated by the same deduplicator.
+ * <p>
+ * The deduplicator is also an {@link NBTVisitor}, that builds the deduplicated tree during the parsing
+ * by the {@link NBTWalker}, so the duplicate subtrees are dropped as soon as they are read:
+ * <pre>{@code
+ * NBTDeduplicator deduplicator = new NBTDeduplicator();
+ * NBTWalker.walk(buffer, limiter, deduplicator);
+ * NBT nbt = deduplicator.result();
+ * }</pre>
+ * Compound keys and string values are not deduplicated as the strings, use the {@link NBTStringPool} for this.
+ *
+ * @author VidTu
+ * @apiNote The deduplicator is not thread-safe and holds the canonical instances until {@link #clear() cleared}
+ * @see ru.brominemc.nbnt.NBNT#deduplicate(NBT)
+ * @since 1.6.0
+ */
+public final class NBTDeduplicator implements NBTVisitor {
+    /**
+     * Maximum initial capacity of the list being read.
+     */
+    private static final int MAX_INITIAL_LIST_CAPACITY = 1024;
+
+    /**
+     * Canonical frozen instances.
+     */
+    private final Map<NBT, NBT> canonical = new HashMap<>();
+
+    /**
+     * Containers being read by the visitor, innermost last.
+     */
+    private final ArrayDeque<NBT> containers = new ArrayDeque<>();
+
+    /**
+     * Pending keys of the compounds being read by the visitor, innermost last.
+     */
+    private final ArrayDeque<String> keys = new ArrayDeque<>();
+
+    /**
+     * Last NBT read by the visitor.
+     */
+    private NBT result;
+
+    /**
+     * Deduplicates the NBT and its children.
+     * <p>
+     * The provided NBT and all its children are {@link NBT#freeze() frozen} and the children are replaced
+     * with the canonical instances. The already frozen subtrees can't be modified, so these are only replaced
+     * as a whole, without deduplicating their children.
+     *
+     * @param nbt Target NBT
+     * @return Canonical frozen NBT equal to the provided one, may be not the provided instance
+     */
+    @Contract("_ -> !null")
+    @NotNull
+    public NBT deduplicate(@NotNull NBT nbt) {
+        // Collect the NBTs in pre-order.
+        List<NBT> order = new ArrayList<>();
+        ArrayDeque<NBT> stack = new ArrayDeque<>();
+        stack.push(nbt);
+        for (NBT next; (next = stack.poll()) != null; ) {
+            order.add(next);
+            if (next.frozen()) continue;
+            switch (next) {
+                case CompoundNBT compound -> {
+                    for (NBT value : compound.values()) {
+                        stack.push(value);
+                    }
+                }
+                case ListNBT list -> {
+                    if (!containers(list)) continue;
+                    for (NBT entry : list) {
+                        stack.push(entry);
+                    }
+                }
+                default -> {}
+            }
+        }
+
+        // Canonicalize in reverse, so the children are canonicalized before the parents.
+        for (int i = order.size() - 1; i >= 0; i--) {
+            NBT next = order.get(i);
+            if (!next.frozen()) {
+                switch (next) {
+                    case CompoundNBT compound -> {
+                        for (Map.Entry<String, NBT> en : compound.entrySet()) {
+                            en.setValue(this.canonical.get(en.getValue()));
+                        }
+                    }
+                    case ListNBT list -> {
+                        if (!containers(list)) break;
+                        for (int j = 0, size = list.size(); j < size; j++) {
+                            list.set(j, this.canonical.get(list.get(j)));
+                        }
+                    }
+                    default -> {}
+                }
+                next.freeze();
+            }
+            this.canonicalize(next);
+        }
+
+        // Return the canonical root.
+        return this.canonical.get(nbt);
+    }
+
+    /**
+     * Gets the last NBT read by this deduplicator as the {@link NBTVisitor}.
+     *
+     * @return Canonical frozen NBT, {@code null} if nothing was read yet
+     * @throws IllegalStateException If the NBT is not fully read yet
+     */
+    @Contract(pure = true)
+    @Nullable
+    public NBT result() {
+        if (!this.containers.isEmpty()) throw new IllegalStateException("NBT is not fully read: " + this);
+        return this.result;
+    }
+
+    /**
+     * Resets the state of the {@link NBTVisitor}, e.g. after the failed read. The canonical instances are kept.
+     */
+    public void reset() {
+        this.containers.clear();
+        this.keys.clear();
+        this.result = null;
+    }
+
+    /**
+     * Gets the number of the canonical instances.
+     *
+     * @return Canonical instances count
+     */
+    @Contract(pure = true)
+    public int size() {
+        return this.canonical.size();
+    }
+
+    /**
+     * Removes all canonical instances and {@link #reset() resets} the state.
+     */
+    public void clear() {
+        this.canonical.clear();
+        this.reset();
+    }
+
+    @Override
+    @NotNull
+    public Result visitKey(byte type, @NotNull String key) {
+        // Ignore the root name.
+        if (this.containers.peekLast() instanceof CompoundNBT) {
+            this.keys.addLast(key);
+        }
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitByte(byte value) {
+        this.visitValue(new ByteNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitShort(short value) {
+        this.visitValue(new ShortNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitInt(int value) {
+        this.visitValue(new IntNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitLong(long value) {
+        this.visitValue(new LongNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitFloat(float value) {
+        this.visitValue(new FloatNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitDouble(double value) {
+        this.visitValue(new DoubleNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitString(@NotNull String value) {
+        this.visitValue(new StringNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitByteArray(byte @NotNull [] value) {
+        this.visitValue(new ByteArrayNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitIntArray(int @NotNull [] value) {
+        this.visitValue(new IntArrayNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitLongArray(long @NotNull [] value) {
+        this.visitValue(new LongArrayNBT(value));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitListStart(byte type, int length) {
+        this.containers.addLast(new ListNBT(new ArrayList<>(Math.min(length, MAX_INITIAL_LIST_CAPACITY))));
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitListEnd() {
+        this.visitValue(this.containers.removeLast());
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitCompoundStart() {
+        this.containers.addLast(new CompoundNBT());
+        return Result.CONTINUE;
+    }
+
+    @Override
+    @NotNull
+    public Result visitCompoundEnd() {
+        this.visitValue(this.containers.removeLast());
+        return Result.CONTINUE;
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTDeduplicator{" +
+                "canonical=" + this.canonical.size() +
+                ", depth=" + this.containers.size() +
+                '}';
+    }
+
+    /**
+     * Adds the fully read NBT into the parent container or sets it as the result.
+     *
+     * @param nbt Read NBT, children must be canonical
+     */
+    private void visitValue(@NotNull NBT nbt) {
+        NBT canonical = this.canonicalize(nbt.freeze());
+        switch (this.containers.peekLast()) {
+            case CompoundNBT compound -> compound.put(this.keys.removeLast(), canonical);
+            case ListNBT list -> list.add(canonical);
+            case null, default -> this.result = canonical;
+        }
+    }
+
+    /**
+     * Gets the canonical instance of the frozen NBT, making the NBT canonical if there's no equal one.
+     *
+     * @param nbt Frozen NBT
+     * @return Canonical NBT
+     */
+    @NotNull
+    private NBT canonicalize(@NotNull NBT nbt) {
+        NBT existing = this.canonical.putIfAbsent(nbt, nbt);
+        return existing != null ? existing : nbt;
+    }
+
+    /**
+     * Checks whether the list holds containers, which children are deduplicated.
+     *
+     * @param list Target list
+     * @return Whether the list holds compounds or lists
+     */
+    @Contract(pure = true)
+    private static boolean containers(@NotNull ListNBT list) {
+        Class<? extends NBT> type = list.type();
+        return type == CompoundNBT.class || type == ListNBT.class;
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.ByteNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.ShortNBT;
+import ru.brominemc.nbnt.types.StringNBT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/**
+ * Preset deflate dictionary for the small NBT payloads.
+ * <p>
+ * Small NBTs (e.g. item stacks, block entities or player data) are too short for the deflate to find the repeated
+ * keys and values within a single payload, so the generic compression barely shrinks them. The dictionary
+ * contains the serialized fragments shared by most of the payloads, so the deflate can reference these
+ * from the first occurrence:
+ * <pre>{@code
+ * NBTDictionary dictionary = NBTDictionary.train(samples, NBTDictionary.MAX_LENGTH);
+ * byte[] compressed = dictionary.compress("", item);
+ * NBT read = dictionary.decompress(compressed, limiter).getValue();
+ * }</pre>
+ * The compressed data is in the zlib format with the preset dictionary ID, so it can be read by any zlib
+ * reader that has the same dictionary. The dictionary bytes should be stored alongside the data, the payloads
+ * compressed with one dictionary can't be read with another.
+ *
+ * @author VidTu
+ * @see NBTCompression#writeNamed(java.io.OutputStream, String, NBT, int, NBTDictionary)
+ * @see NBTCompression#readNamed(ByteBuffer, NBTLimiter, NBTDictionary)
+ * @since 1.6.0
+ */
+public final class NBTDictionary {
+    /**
+     * Maximum useful dictionary length. (deflate window size)
+     */
+    public static final int MAX_LENGTH = 1 << 15;
+
+    /**
+     * Maximum length of the string value used as a dictionary fragment in chars.
+     */
+    private static final int MAX_FRAGMENT_STRING_LENGTH = 64;
+
+    /**
+     * Minimum length of the fragment that is shorter to reference than to repeat. (deflate minimum match length)
+     */
+    private static final int MIN_FRAGMENT_LENGTH = 3;
+
+    /**
+     * Dictionary bytes.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Dictionary ID. (Adler-32 of the bytes)
+     */
+    private final int id;
+
+    /**
+     * Creates a new dictionary.
+     *
+     * @param bytes Dictionary bytes, the most frequent fragments last, only the last {@link #MAX_LENGTH} bytes are used by the deflate
+     * @throws IllegalArgumentException If the bytes are empty
+     */
+    public NBTDictionary(byte @NotNull [] bytes) {
+        if (bytes.length == 0) throw new IllegalArgumentException("Empty dictionary.");
+        this.bytes = bytes.clone();
+        Adler32 adler = new Adler32();
+        adler.update(this.bytes);
+        this.id = (int) adler.getValue();
+    }
+
+    /**
+     * Trains the dictionary on the sample NBTs.
+     * <p>
+     * The fragments are the serialized compound entry headers (type and key), the short string values
+     * and the byte, short and int entries with their values. Each fragment is scored by the number of the samples
+     * it appears in multiplied by the bytes it saves, because the deflate already references the repetitions
+     * within a single sample. The best fragments are put at the end of the dictionary, where the references
+     * to them are the shortest.
+     *
+     * @param samples   Sample NBTs, should be representative of the compressed data
+     * @param maxLength Maximum dictionary length, from {@code 1} to {@link #MAX_LENGTH}
+     * @return Trained dictionary
+     * @throws IllegalArgumentException If the maximum length is invalid or no fragment is shared by at least two samples
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static NBTDictionary train(@NotNull Iterable<? extends NBT> samples, int maxLength) {
+        // Validate.
+        if (maxLength <= 0 || maxLength > MAX_LENGTH) throw new IllegalArgumentException("Invalid maximum length: " + maxLength);
+
+        // Count the samples containing each fragment.
+        Map<ByteBuffer, Integer> counts = new HashMap<>();
+        Set<ByteBuffer> fragments = new HashSet<>();
+        ArrayDeque<NBT> stack = new ArrayDeque<>();
+        for (NBT sample : samples) {
+            stack.push(Objects.requireNonNull(sample, "Sample is null"));
+            for (NBT next; (next = stack.poll()) != null; ) {
+                switch (next) {
+                    case CompoundNBT compound -> {
+                        for (Map.Entry<String, NBT> entry : compound.entrySet()) {
+                            NBT value = entry.getValue();
+                            fragment(fragments, entry.getKey(), value);
+                            stack.push(value);
+                        }
+                    }
+                    case ListNBT list -> {
+                        for (NBT entry : list) {
+                            stack.push(entry);
+                        }
+                    }
+                    case StringNBT string -> fragment(fragments, null, string);
+                    default -> {}
+                }
+            }
+            for (ByteBuffer fragment : fragments) {
+                counts.merge(fragment, 1, Integer::sum);
+            }
+            fragments.clear();
+        }
+
+        // Pick the best fragments.
+        List<Map.Entry<ByteBuffer, Integer>> scored = new ArrayList<>(counts.size());
+        for (Map.Entry<ByteBuffer, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() < 2) continue;
+            scored.add(entry);
+        }
+        if (scored.isEmpty()) throw new IllegalArgumentException("No fragments are shared by at least two samples.");
+        scored.sort((a, b) -> Long.compare(score(b), score(a)));
+        List<ByteBuffer> picked = new ArrayList<>();
+        int length = 0;
+        for (Map.Entry<ByteBuffer, Integer> entry : scored) {
+            ByteBuffer fragment = entry.getKey();
+            if (length + fragment.remaining() > maxLength) continue;
+            picked.add(fragment);
+            length += fragment.remaining();
+        }
+
+        // Write, the best last.
+        byte[] bytes = new byte[length];
+        int offset = length;
+        for (ByteBuffer fragment : picked) {
+            offset -= fragment.remaining();
+            fragment.get(fragment.position(), bytes, offset, fragment.remaining());
+        }
+        return new NBTDictionary(bytes);
+    }
+
+    /**
+     * Gets the dictionary bytes.
+     *
+     * @return Copy of the dictionary bytes
+     */
+    @Contract(pure = true)
+    public byte @NotNull [] bytes() {
+        return this.bytes.clone();
+    }
+
+    /**
+     * Gets the dictionary bytes without copying.
+     *
+     * @return Dictionary bytes, must not be modified
+     */
+    @Contract(pure = true)
+    byte @NotNull [] unsafeBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Gets the dictionary ID, as stored in the zlib header.
+     *
+     * @return Adler-32 checksum of the dictionary bytes
+     */
+    @Contract(pure = true)
+    public int id() {
+        return this.id;
+    }
+
+    /**
+     * Gets the dictionary length.
+     *
+     * @return Dictionary length in bytes
+     */
+    @Contract(pure = true)
+    public int length() {
+        return this.bytes.length;
+    }
+
+    /**
+     * Compresses the named NBT with this dictionary in the {@link NBTCompression#ZLIB zlib} format.
+     *
+     * @param name Target name
+     * @param nbt  Target NBT, {@code null} for the "NBT End" type
+     * @return Compressed data
+     * @throws IOException If a string is too long
+     */
+    @CheckReturnValue
+    public byte @NotNull [] compress(@NotNull String name, @Nullable NBT nbt) throws IOException {
+        return this.compress(name, nbt, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Compresses the named NBT with this dictionary in the {@link NBTCompression#ZLIB zlib} format.
+     *
+     * @param name  Target name
+     * @param nbt   Target NBT, {@code null} for the "NBT End" type
+     * @param level Compression level, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return Compressed data
+     * @throws IOException              If a string is too long
+     * @throws IllegalArgumentException If the compression level is invalid
+     */
+    @CheckReturnValue
+    public byte @NotNull [] compress(@NotNull String name, @Nullable NBT nbt, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompression.ZLIB.writeNamed(out, name, nbt, level, this);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompresses the named NBT compressed with this dictionary in the {@link NBTCompression#ZLIB zlib} format.
+     *
+     * @param data    Compressed data
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if read the "NBT End" type
+     * @throws IOException              If the compressed data is malformed, compressed with other dictionary or a string is malformed
+     * @throws IllegalArgumentException If the provided NBT type is unknown or by underlying reader
+     * @throws IllegalStateException    If read or decompressed bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     */
+    @CheckReturnValue
+    @Nullable
+    public Map.Entry<String, NBT> decompress(byte @NotNull [] data, @NotNull NBTLimiter limiter) throws IOException {
+        return NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(data), limiter, this);
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof NBTDictionary that)) return false;
+        return this.id == that.id && Arrays.equals(this.bytes, that.bytes);
+    }
+
+    @Contract(pure = true)
+    @Override
+    public int hashCode() {
+        return this.id;
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTDictionary{" +
+                "id=" + Integer.toHexString(this.id) +
+                ", length=" + this.bytes.length +
+                '}';
+    }
+
+    /**
+     * Adds the serialized fragments of the entry.
+     *
+     * @param fragments Target fragments
+     * @param key       Compound entry key, {@code null} for the list entry
+     * @param value     Entry value
+     */
+    private static void fragment(@NotNull Set<ByteBuffer> fragments, @Nullable String key, @NotNull NBT value) {
+        try {
+            // Entry header.
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (key != null) {
+                out.writeByte(NBT.type(value));
+                ModifiedUTF8.write(out, key);
+                add(fragments, bytes);
+            }
+
+            // Entry with the value.
+            if (value instanceof StringNBT string) {
+                // List entries are not prefixed, but still share the value.
+                if (string.value().length() > MAX_FRAGMENT_STRING_LENGTH) return;
+                string.write(out);
+            } else if (key != null && (value instanceof ByteNBT || value instanceof ShortNBT || value instanceof IntNBT)) {
+                value.write(out);
+            } else {
+                return;
+            }
+            add(fragments, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds the fragment if it is long enough.
+     *
+     * @param fragments Target fragments
+     * @param bytes     Fragment bytes
+     */
+    private static void add(@NotNull Set<ByteBuffer> fragments, @NotNull ByteArrayOutputStream bytes) {
+        if (bytes.size() <= MIN_FRAGMENT_LENGTH) return;
+        fragments.add(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    /**
+     * Scores the fragment.
+     *
+     * @param entry Fragment and the number of samples containing it
+     * @return Fragment score
+     */
+    private static long score(@NotNull Map.Entry<ByteBuffer, Integer> entry) {
+        return (long) entry.getValue() * (entry.getKey().remaining() - MIN_FRAGMENT_LENGTH);
+    }
+}
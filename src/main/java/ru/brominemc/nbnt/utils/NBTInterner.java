@@ -0,0 +1,626 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded thread-safe string interner.
+ * <p>
+ * Unlike {@link String#intern()}, the interner doesn't grow without bound: it holds at most
+ * {@link #capacity()} strings and evicts the least frequently used ones. The interner is split
+ * into independently locked stripes, so it can be shared between multiple loader threads.
+ * <p>
+ * New strings are admitted only if they have been seen more often than the eviction victim
+ * (estimated by a small per-stripe frequency sketch that is periodically halved), so a burst of
+ * one-off strings doesn't flush the frequently used ones (e.g. common keys or item IDs).
+ * Strings longer than {@code 256} chars are never interned.
+ * <p>
+ * The interner can be used as {@link UnaryOperator} in {@link ru.brominemc.nbnt.NBNT#internStrings(ru.brominemc.nbnt.types.NBT, UnaryOperator)}
+ * and as {@link NBTStringPool} in {@link NBTLimiter#NBTLimiter(long, int, boolean, boolean, boolean, NBTStringPool)} at the same time.
+ *
+ * @author VidTu
+ * @since 1.6.0
+ */
+public final class NBTInterner implements UnaryOperator<String>, NBTStringPool {
+    /**
+     * Maximum length of the interned string in chars.
+     */
+    private static final int MAX_INTERNED_LENGTH = 256;
+
+    /**
+     * Maximum interner capacity.
+     */
+    private static final int MAX_CAPACITY = 1 << 28;
+
+    /**
+     * Maximum number of stripes.
+     */
+    private static final int MAX_STRIPES = 1 << 16;
+
+    /**
+     * Number of the slots sampled to find the eviction victim.
+     */
+    private static final int VICTIM_SAMPLES = 8;
+
+    /**
+     * Interner stripes.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Stripe index mask.
+     */
+    private final int stripeMask;
+
+    /**
+     * Interner capacity.
+     */
+    private final int capacity;
+
+    /**
+     * Number of hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of evicted strings.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Number of strings not admitted into the full interner.
+     */
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Creates a new interner with the number of stripes based on the available processors.
+     *
+     * @param capacity Maximum number of interned strings
+     * @throws IllegalArgumentException If the capacity is not positive or too large
+     */
+    public NBTInterner(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a new interner.
+     *
+     * @param capacity Maximum number of interned strings
+     * @param stripes  Number of stripes, rounded up to the power of two and lowered to the capacity if needed
+     * @throws IllegalArgumentException If the capacity is not positive or too large, or the number of stripes is not positive or too large
+     */
+    public NBTInterner(int capacity, int stripes) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Invalid interner capacity: " + capacity);
+        if (stripes <= 0 || stripes > MAX_STRIPES) throw new IllegalArgumentException("Invalid interner stripes: " + stripes);
+        int count = Math.min(ceilPowerOfTwo(stripes), Integer.highestOneBit(capacity));
+        int perStripe = (capacity + count - 1) / count;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+        this.stripeMask = count - 1;
+        this.capacity = perStripe * count;
+    }
+
+    /**
+     * Interns the string.
+     *
+     * @param str Target string
+     * @return Interned string equal to the provided one, or the provided string if it's not admitted
+     */
+    @Override
+    @NotNull
+    public String apply(@NotNull String str) {
+        if (str.length() > MAX_INTERNED_LENGTH) return str;
+        int hash = str.hashCode();
+        Stripe stripe = this.stripe(hash);
+        synchronized (stripe) {
+            stripe.record(hash);
+            int slot = stripe.find(str, hash);
+            if (slot >= 0) {
+                this.hits.increment();
+                return stripe.strings[slot];
+            }
+            this.misses.increment();
+            return stripe.admit(str, hash, -slot - 1, this);
+        }
+    }
+
+    @Override
+    @Nullable
+    public String get(byte @NotNull [] data, int offset, int length) {
+        // Each char is encoded with at least one byte.
+        if (length > MAX_INTERNED_LENGTH * 3) return null;
+        int hash = hash(data, offset, length);
+        Stripe stripe = this.stripe(hash);
+        synchronized (stripe) {
+            String str = stripe.find(data, offset, length, hash);
+            if (str == null) return null;
+            stripe.record(hash);
+            this.hits.increment();
+            return str;
+        }
+    }
+
+    @Override
+    @NotNull
+    public String put(byte @NotNull [] data, int offset, int length, @NotNull String str) {
+        return this.apply(str);
+    }
+
+    @Contract(value = "-> this", pure = true)
+    @Override
+    @NotNull
+    public NBTStringPool fork() {
+        return this;
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return Maximum number of interned strings
+     */
+    @Contract(pure = true)
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the size.
+     *
+     * @return Current number of interned strings
+     */
+    @Contract(pure = true)
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of hits.
+     *
+     * @return Number of lookups that returned already interned string
+     */
+    @Contract(pure = true)
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of misses.
+     *
+     * @return Number of interned strings that were not interned before
+     */
+    @Contract(pure = true)
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of evictions.
+     *
+     * @return Number of strings evicted to admit more frequent ones
+     */
+    @Contract(pure = true)
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the number of rejections.
+     *
+     * @return Number of missed strings not admitted, because they were less frequent than the eviction victim
+     */
+    @Contract(pure = true)
+    public long rejections() {
+        return this.rejections.sum();
+    }
+
+    /**
+     * Removes all interned strings and resets the frequencies. The metrics are not reset.
+     */
+    public void clear() {
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTInterner{" +
+                "capacity=" + this.capacity +
+                ", stripes=" + this.stripes.length +
+                ", size=" + this.size() +
+                ", hits=" + this.hits() +
+                ", misses=" + this.misses() +
+                ", evictions=" + this.evictions() +
+                ", rejections=" + this.rejections() +
+                '}';
+    }
+
+    /**
+     * Gets the stripe for the hash.
+     *
+     * @param hash String hash
+     * @return Target stripe
+     */
+    @Contract(pure = true)
+    @NotNull
+    private Stripe stripe(int hash) {
+        return this.stripes[((hash * 0x9E3779B9) >>> 16) & this.stripeMask];
+    }
+
+    /**
+     * Computes the {@link String#hashCode()} of the modified UTF-8 string without decoding it.
+     * The malformed data produces an arbitrary hash.
+     *
+     * @param data   Encoded data
+     * @param offset Data offset
+     * @param length Data length
+     * @return String hash
+     */
+    @Contract(pure = true)
+    private static int hash(byte @NotNull [] data, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; ) {
+            int c = data[i] & 0xFF;
+            if (c < 0x80) {
+                // 0xxxxxxx
+                hash = 31 * hash + c;
+                i++;
+            } else if ((c >> 5) == 0b110 && i + 1 < end) {
+                // 110xxxxx 10xxxxxx
+                hash = 31 * hash + (((c & 0x1F) << 6) | (data[i + 1] & 0x3F));
+                i += 2;
+            } else if ((c >> 4) == 0b1110 && i + 2 < end) {
+                // 1110xxxx 10xxxxxx 10xxxxxx
+                hash = 31 * hash + (((c & 0x0F) << 12) | ((data[i + 1] & 0x3F) << 6) | (data[i + 2] & 0x3F));
+                i += 3;
+            } else {
+                return hash;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Checks whether the modified UTF-8 string is equal to the string without decoding it.
+     *
+     * @param str    Target string
+     * @param data   Encoded data
+     * @param offset Data offset
+     * @param length Data length
+     * @return Whether the data is well-formed and equal to the string
+     */
+    @Contract(pure = true)
+    private static boolean matches(@NotNull String str, byte @NotNull [] data, int offset, int length) {
+        int strLength = str.length();
+        if (strLength > length) return false;
+        int chars = 0;
+        for (int i = offset, end = offset + length; i < end; chars++) {
+            if (chars >= strLength) return false;
+            int c = data[i] & 0xFF;
+            int decoded;
+            if (c < 0x80) {
+                decoded = c;
+                i++;
+            } else if ((c >> 5) == 0b110 && i + 1 < end && (data[i + 1] & 0xC0) == 0x80) {
+                decoded = ((c & 0x1F) << 6) | (data[i + 1] & 0x3F);
+                i += 2;
+            } else if ((c >> 4) == 0b1110 && i + 2 < end && (data[i + 1] & 0xC0) == 0x80 && (data[i + 2] & 0xC0) == 0x80) {
+                decoded = ((c & 0x0F) << 12) | ((data[i + 1] & 0x3F) << 6) | (data[i + 2] & 0x3F);
+                i += 3;
+            } else {
+                return false;
+            }
+            if (str.charAt(chars) != decoded) return false;
+        }
+        return chars == strLength;
+    }
+
+    /**
+     * Rounds the value up to the power of two.
+     *
+     * @param value Target value, must be positive
+     * @return Rounded value
+     */
+    @Contract(pure = true)
+    private static int ceilPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Independently locked part of the interner: an open-addressing table with linear probing
+     * and a frequency sketch. All methods must be called while holding the stripe monitor.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class Stripe {
+        /**
+         * Maximum value of the frequency counter.
+         */
+        private static final int MAX_FREQUENCY = 15;
+
+        /**
+         * Number of the counters per string.
+         */
+        private static final int SKETCH_DEPTH = 4;
+
+        /**
+         * Seeds of the counter indexes.
+         */
+        private static final int[] SKETCH_SEEDS = {0x97CB3127, 0xB1AB4D0B, 0xC13FA9A9, 0xEA3F5C7D};
+
+        /**
+         * Interned strings, {@code null} for empty slots.
+         */
+        private final String[] strings;
+
+        /**
+         * Hashes of the interned strings.
+         */
+        private final int[] hashes;
+
+        /**
+         * Frequency counters (count-min sketch), indexed by the hash.
+         */
+        private final byte[] sketch;
+
+        /**
+         * Stripe capacity.
+         */
+        private final int capacity;
+
+        /**
+         * Number of the recorded lookups after which the frequencies are halved.
+         */
+        private final int samplePeriod;
+
+        /**
+         * Current number of interned strings.
+         */
+        private int size;
+
+        /**
+         * Number of the recorded lookups since the last halving.
+         */
+        private int samples;
+
+        /**
+         * Slot from which the next eviction victim is searched.
+         */
+        private int hand;
+
+        /**
+         * Creates a new stripe.
+         *
+         * @param capacity Stripe capacity
+         */
+        private Stripe(int capacity) {
+            int tableLength = ceilPowerOfTwo(capacity * 2);
+            this.strings = new String[tableLength];
+            this.hashes = new int[tableLength];
+            this.sketch = new byte[tableLength * 4];
+            this.capacity = capacity;
+            this.samplePeriod = Math.max(capacity * 10, 64);
+        }
+
+        /**
+         * Gets the home slot for the hash.
+         *
+         * @param hash String hash
+         * @return Home slot
+         */
+        @Contract(pure = true)
+        private int home(int hash) {
+            return (hash ^ (hash >>> 16)) & (this.strings.length - 1);
+        }
+
+        /**
+         * Gets the sketch index for the hash.
+         *
+         * @param hash  String hash
+         * @param depth Sketch row, from {@code 0} to {@link #SKETCH_DEPTH} (exclusive)
+         * @return Sketch index
+         */
+        @Contract(pure = true)
+        private int counter(int hash, int depth) {
+            int spread = (hash + SKETCH_SEEDS[depth]) * 0x85EBCA6B;
+            return (spread ^ (spread >>> 15)) & (this.sketch.length - 1);
+        }
+
+        /**
+         * Estimates the frequency of the string.
+         *
+         * @param hash String hash
+         * @return Minimum of the string counters
+         */
+        @Contract(pure = true)
+        private int frequency(int hash) {
+            int frequency = MAX_FREQUENCY;
+            for (int depth = 0; depth < SKETCH_DEPTH; depth++) {
+                frequency = Math.min(frequency, this.sketch[this.counter(hash, depth)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Finds the string.
+         *
+         * @param str  Target string
+         * @param hash String hash
+         * @return Slot of the string, or {@code -(insertionSlot + 1)} if the string is not interned
+         */
+        @Contract(pure = true)
+        private int find(@NotNull String str, int hash) {
+            int mask = this.strings.length - 1;
+            for (int slot = this.home(hash); ; slot = (slot + 1) & mask) {
+                String interned = this.strings[slot];
+                if (interned == null) return -slot - 1;
+                if (this.hashes[slot] == hash && interned.equals(str)) return slot;
+            }
+        }
+
+        /**
+         * Finds the string by its encoded form.
+         *
+         * @param data   Modified UTF-8 data
+         * @param offset Data offset
+         * @param length Data length
+         * @param hash   String hash
+         * @return Interned string, {@code null} if the string is not interned
+         */
+        @Contract(pure = true)
+        @Nullable
+        private String find(byte @NotNull [] data, int offset, int length, int hash) {
+            int mask = this.strings.length - 1;
+            for (int slot = this.home(hash); ; slot = (slot + 1) & mask) {
+                String interned = this.strings[slot];
+                if (interned == null) return null;
+                if (this.hashes[slot] == hash && matches(interned, data, offset, length)) return interned;
+            }
+        }
+
+        /**
+         * Records the lookup of the string, halving all frequencies periodically.
+         *
+         * @param hash String hash
+         */
+        private void record(int hash) {
+            // Increment only the minimal counters to reduce the overestimation.
+            int frequency = this.frequency(hash);
+            if (frequency < MAX_FREQUENCY) {
+                for (int depth = 0; depth < SKETCH_DEPTH; depth++) {
+                    int counter = this.counter(hash, depth);
+                    if (this.sketch[counter] == frequency) {
+                        this.sketch[counter]++;
+                    }
+                }
+            }
+            if (++this.samples < this.samplePeriod) return;
+            this.samples = 0;
+            byte[] sketch = this.sketch;
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] >>= 1;
+            }
+        }
+
+        /**
+         * Admits the new string, evicting the least frequent sampled string if the stripe is full.
+         *
+         * @param str      Target string
+         * @param hash     String hash
+         * @param slot     Insertion slot
+         * @param interner Interner for the metrics
+         * @return Provided string
+         */
+        @NotNull
+        private String admit(@NotNull String str, int hash, int slot, @NotNull NBTInterner interner) {
+            // Evict if full.
+            if (this.size >= this.capacity) {
+                int victim = this.victim();
+                if (this.frequency(hash) <= this.frequency(this.hashes[victim])) {
+                    interner.rejections.increment();
+                    return str;
+                }
+                this.remove(victim);
+                interner.evictions.increment();
+                slot = -this.find(str, hash) - 1;
+            }
+
+            // Insert.
+            this.strings[slot] = str;
+            this.hashes[slot] = hash;
+            this.size++;
+            return str;
+        }
+
+        /**
+         * Finds the least frequent string among the sampled ones. The stripe must not be empty.
+         *
+         * @return Victim slot
+         */
+        private int victim() {
+            int mask = this.strings.length - 1;
+            int victim = -1;
+            int victimFrequency = Integer.MAX_VALUE;
+            int slot = this.hand;
+            for (int sampled = 0; sampled < VICTIM_SAMPLES && sampled < this.size; slot = (slot + 1) & mask) {
+                if (this.strings[slot] == null) continue;
+                sampled++;
+                int frequency = this.frequency(this.hashes[slot]);
+                if (frequency >= victimFrequency) continue;
+                victim = slot;
+                victimFrequency = frequency;
+            }
+            this.hand = slot;
+            return victim;
+        }
+
+        /**
+         * Removes the string, shifting the following strings of the probe sequence back.
+         *
+         * @param slot Target slot
+         */
+        private void remove(int slot) {
+            int mask = this.strings.length - 1;
+            for (int next = (slot + 1) & mask; this.strings[next] != null; next = (next + 1) & mask) {
+                // Move back if the home slot of the next string is not between the removed slot and the next one.
+                int home = this.home(this.hashes[next]);
+                if (((next - home) & mask) < ((next - slot) & mask)) continue;
+                this.strings[slot] = this.strings[next];
+                this.hashes[slot] = this.hashes[next];
+                slot = next;
+            }
+            this.strings[slot] = null;
+            this.size--;
+        }
+
+        /**
+         * Removes all strings and resets the frequencies.
+         */
+        private void clear() {
+            Arrays.fill(this.strings, null);
+            Arrays.fill(this.sketch, (byte) 0);
+            this.size = 0;
+            this.samples = 0;
+            this.hand = 0;
+        }
+    }
+}
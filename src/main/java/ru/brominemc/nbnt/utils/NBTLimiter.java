@@ -28,14 +28,21 @@ import ru.brominemc.nbnt.utils.exceptions.LongNBTException;
 import ru.brominemc.nbnt.utils.exceptions.NBTOverflowException;
 import ru.brominemc.nbnt.utils.exceptions.NBTUnderflowException;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
  * Depth and length NBT limiter for reading.
+ * <p>
+ * Limiters also hold the scratch buffers for decoding the strings, so reusing a limiter
+ * via {@link #reset()} avoids allocating these buffers for every read. Limiters may also carry
+ * an {@link NBTStringPool} to avoid allocating the repeated keys and strings.
  *
  * @author VidTu
  * @author threefusii
@@ -90,6 +97,13 @@ public sealed class NBTLimiter implements AutoCloseable {
      */
     private final boolean quickExceptions;
 
+    /**
+     * Pool for the read strings, {@code null} if strings are not pooled.
+     *
+     * @since 1.6.0
+     */
+    private final NBTStringPool stringPool;
+
     /**
      * Read NBT bytes.
      */
@@ -100,6 +114,20 @@ public sealed class NBTLimiter implements AutoCloseable {
      */
     private int depth;
 
+    /**
+     * Scratch buffer for reading strings, {@code null} if not yet allocated.
+     *
+     * @since 1.6.0
+     */
+    private byte @Nullable [] scratchBytes;
+
+    /**
+     * Scratch buffer for decoding non-ASCII strings, {@code null} if not yet allocated.
+     *
+     * @since 1.6.0
+     */
+    private char @Nullable [] scratchChars;
+
     /**
      * Creates a new NBT limiter.
      * <p>
@@ -144,11 +172,27 @@ public sealed class NBTLimiter implements AutoCloseable {
      * @since 1.5.0
      */
     public NBTLimiter(long maxLength, int maxDepth, boolean strictEmptyNames, boolean longArrays, boolean quickExceptions) {
+        this(maxLength, maxDepth, strictEmptyNames, longArrays, quickExceptions, null);
+    }
+
+    /**
+     * Creates a new NBT limiter.
+     *
+     * @param maxLength        Maximum NBT length in bytes
+     * @param maxDepth         Maximum NBT depth
+     * @param strictEmptyNames Whether the {@link NBT#readUnnamed(DataInput, NBTLimiter)} should require names to be empty
+     * @param longArrays       Whether the {@link LongArrayNBT} should be readable. Minecraft versions prior to {@code 1.12} (i.e. {@code 1.11.2} and below) don't support long array NBT tags
+     * @param quickExceptions  Whether the exceptions thrown by this limiter should be shared and stackless
+     * @param stringPool       Pool for the read keys and strings, {@code null} to not pool strings
+     * @since 1.6.0
+     */
+    public NBTLimiter(long maxLength, int maxDepth, boolean strictEmptyNames, boolean longArrays, boolean quickExceptions, @Nullable NBTStringPool stringPool) {
         this.maxLength = maxLength;
         this.maxDepth = maxDepth;
         this.strictEmptyNames = strictEmptyNames;
         this.longArrays = longArrays;
         this.quickExceptions = quickExceptions;
+        this.stringPool = stringPool;
     }
 
     /**
@@ -207,6 +251,18 @@ public sealed class NBTLimiter implements AutoCloseable {
         return this.quickExceptions;
     }
 
+    /**
+     * Gets the pool for the read strings.
+     *
+     * @return Pool for the read keys and strings, {@code null} if strings are not pooled
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @Nullable
+    public NBTStringPool stringPool() {
+        return this.stringPool;
+    }
+
     /**
      * Gets the length read by this limiter.
      *
@@ -291,6 +347,71 @@ public sealed class NBTLimiter implements AutoCloseable {
         this.depth--;
     }
 
+    /**
+     * Creates a new limiter for reading a part of the NBT concurrently with this limiter.
+     * <p>
+     * The new limiter has the same settings, the length and depth left in this limiter as the maximum ones
+     * and the {@link NBTStringPool#fork() forked} string pool.
+     *
+     * @return A new limiter, or this limiter if it has no state (i.e. {@link #unlimited()})
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @NotNull
+    public NBTLimiter fork() {
+        NBTStringPool pool = this.stringPool;
+        return this.fork(pool != null ? pool.fork() : null);
+    }
+
+    /**
+     * Creates a new limiter for reading a part of the NBT concurrently with this limiter, using the provided pool.
+     * <p>
+     * The new limiter has the same settings and the length and depth left in this limiter as the maximum ones.
+     * This allows sharing a single {@link NBTStringPool#fork() forked} pool between the limiters used by one thread.
+     *
+     * @param stringPool Pool for the read keys and strings, {@code null} to not pool strings
+     * @return A new limiter, or this limiter if it has no state (i.e. {@link #unlimited()}) and the pool is {@code null}
+     * @since 1.6.0
+     */
+    @Contract(pure = true)
+    @NotNull
+    public NBTLimiter fork(@Nullable NBTStringPool stringPool) {
+        return new NBTLimiter(this.maxLength - this.length, this.maxDepth - this.depth, this.strictEmptyNames,
+                this.longArrays, this.quickExceptions, stringPool);
+    }
+
+    /**
+     * Gets the scratch byte buffer.
+     *
+     * @param length Minimum buffer length
+     * @return Scratch buffer that is at least {@code length} long
+     * @apiNote The returned buffer is only valid until the next call
+     * @since 1.6.0
+     */
+    byte @NotNull [] scratchBytes(int length) {
+        byte[] bytes = this.scratchBytes;
+        if (bytes == null || bytes.length < length) {
+            this.scratchBytes = bytes = new byte[Math.max(length, 256)];
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the scratch char buffer.
+     *
+     * @param length Minimum buffer length
+     * @return Scratch buffer that is at least {@code length} long
+     * @apiNote The returned buffer is only valid until the next call
+     * @since 1.6.0
+     */
+    char @NotNull [] scratchChars(int length) {
+        char[] chars = this.scratchChars;
+        if (chars == null || chars.length < length) {
+            this.scratchChars = chars = new char[Math.max(length, 256)];
+        }
+        return chars;
+    }
+
     /**
      * Resets the NBT limiter for reusing.
      *
@@ -324,15 +445,15 @@ public sealed class NBTLimiter implements AutoCloseable {
         NBTLimiter that = (NBTLimiter) obj; // Manual casting due to NBTUnlimiter
         return this.maxLength == that.maxLength && this.maxDepth == that.maxDepth &&
                 this.strictEmptyNames == that.strictEmptyNames && this.longArrays == that.longArrays &&
-                this.quickExceptions == that.quickExceptions && this.length == that.length &&
-                this.depth == that.depth;
+                this.quickExceptions == that.quickExceptions && Objects.equals(this.stringPool, that.stringPool) &&
+                this.length == that.length && this.depth == that.depth;
     }
 
     @Contract(pure = true)
     @Override
     public int hashCode() {
         return Objects.hash(this.maxLength, this.maxDepth, this.strictEmptyNames,
-                this.longArrays, this.quickExceptions, this.length, this.depth);
+                this.longArrays, this.quickExceptions, this.stringPool, this.length, this.depth);
     }
 
     @Contract(pure = true)
@@ -345,6 +466,7 @@ public sealed class NBTLimiter implements AutoCloseable {
                 ", strictEmptyNames=" + this.strictEmptyNames +
                 ", longArrays=" + this.longArrays +
                 ", quickExceptions=" + this.quickExceptions +
+                ", stringPool=" + this.stringPool +
                 ", length=" + this.length +
                 ", depth=" + this.depth +
                 '}';
@@ -360,7 +482,7 @@ public sealed class NBTLimiter implements AutoCloseable {
      * @throws IllegalStateException If read bytes has exceeded the {@link #maxLength()}
      * @see DataInputStream#readUTF(DataInput)
      */
-    @Contract("_, _ -> new")
+    @Contract("_, _ -> !null")
     @CheckReturnValue
     @NotNull
     public static String readLimitedUTF(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
@@ -377,18 +499,87 @@ public sealed class NBTLimiter implements AutoCloseable {
         limiter.readUnsigned(length);
 
         // Read data.
-        byte[] data = new byte[length + 2];
-        data[0] = (byte) (0xff & (length >> 8));
-        data[1] = (byte) (0xff & length);
-        in.readFully(data, 2, length);
-        try (ByteArrayInputStream byteIn = new ByteArrayInputStream(data);
-             DataInputStream innerIn = new DataInputStream(byteIn)) {
-            String line = innerIn.readUTF();
-            if (innerIn.available() > 0) {
-                throw new IOException("Leftover: " + innerIn.available());
-            }
-            return line;
+        byte[] data = limiter.scratchBytes(length);
+        in.readFully(data, 0, length);
+        return decodeUTF(data, 0, length, limiter);
+    }
+
+    /**
+     * Reads the modified UTF-8 from the buffer with support for limiting before reading.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read string
+     * @throws IOException              If the string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalStateException    If read bytes has exceeded the {@link #maxLength()}
+     * @see #readLimitedUTF(DataInput, NBTLimiter)
+     * @since 1.6.0
+     */
+    @Contract("_, _ -> !null")
+    @CheckReturnValue
+    @NotNull
+    public static String readLimitedUTF(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Push length.
+        limiter.readUnsigned(Short.BYTES);
+
+        // Read length.
+        int length = Short.toUnsignedInt(buffer.getShort());
+
+        // Empty shortcut.
+        if (length == 0) return EMPTY_STRING;
+
+        // Push data.
+        limiter.readUnsigned(length);
+
+        // Check for underflow.
+        if (length > buffer.remaining()) throw new BufferUnderflowException();
+
+        // Read data directly from the heap buffer.
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            String str = decodeUTF(buffer.array(), buffer.arrayOffset() + position, length, limiter);
+            buffer.position(position + length);
+            return str;
         }
+
+        // Read data.
+        byte[] data = limiter.scratchBytes(length);
+        buffer.get(data, 0, length);
+        return decodeUTF(data, 0, length, limiter);
+    }
+
+    /**
+     * Decodes the modified UTF-8 using the limiter scratch buffers and the string pool.
+     *
+     * @param data    Encoded data
+     * @param offset  Data offset
+     * @param length  Data length
+     * @param limiter Target limiter
+     * @return Decoded string
+     * @throws UTFDataFormatException If the string is malformed
+     */
+    @Contract("_, _, _, _ -> !null")
+    @CheckReturnValue
+    @NotNull
+    private static String decodeUTF(byte @NotNull [] data, int offset, int length, @NotNull NBTLimiter limiter) throws UTFDataFormatException {
+        // Look up in the pool.
+        NBTStringPool pool = limiter.stringPool;
+        if (pool != null) {
+            String pooled = pool.get(data, offset, length);
+            if (pooled != null) return pooled;
+        }
+
+        // ASCII shortcut, creates the Latin-1 string directly.
+        String str;
+        if (ModifiedUTF8.isAscii(data, offset, length)) {
+            str = new String(data, offset, length, StandardCharsets.ISO_8859_1);
+        } else {
+            str = ModifiedUTF8.decode(data, offset, length, limiter.scratchChars(length));
+        }
+
+        // Offer to the pool.
+        return pool != null ? pool.put(data, offset, length, str) : str;
     }
 
     /**
@@ -443,6 +634,27 @@ public sealed class NBTLimiter implements AutoCloseable {
      * @author VidTu
      */
     private static final class NBTUnlimiter extends NBTLimiter {
+        /**
+         * Maximum length of the shared scratch buffers, larger buffers are not reused.
+         *
+         * @since 1.6.0
+         */
+        private static final int SHARED_SCRATCH_LENGTH = 8192;
+
+        /**
+         * Shared per-thread scratch byte buffer.
+         *
+         * @since 1.6.0
+         */
+        private static final ThreadLocal<byte[]> SCRATCH_BYTES = ThreadLocal.withInitial(() -> new byte[SHARED_SCRATCH_LENGTH]);
+
+        /**
+         * Shared per-thread scratch char buffer.
+         *
+         * @since 1.6.0
+         */
+        private static final ThreadLocal<char[]> SCRATCH_CHARS = ThreadLocal.withInitial(() -> new char[SHARED_SCRATCH_LENGTH]);
+
         /**
          * Creates a new NBT limiter without limits.
          *
@@ -536,6 +748,32 @@ public sealed class NBTLimiter implements AutoCloseable {
             return false;
         }
 
+        /**
+         * Gets the per-thread scratch byte buffer, since this limiter is shared between threads.
+         *
+         * @param length Minimum buffer length
+         * @return Scratch buffer that is at least {@code length} long
+         * @since 1.6.0
+         */
+        @Override
+        byte @NotNull [] scratchBytes(int length) {
+            if (length > SHARED_SCRATCH_LENGTH) return new byte[length];
+            return SCRATCH_BYTES.get();
+        }
+
+        /**
+         * Gets the per-thread scratch char buffer, since this limiter is shared between threads.
+         *
+         * @param length Minimum buffer length
+         * @return Scratch buffer that is at least {@code length} long
+         * @since 1.6.0
+         */
+        @Override
+        char @NotNull [] scratchChars(int length) {
+            if (length > SHARED_SCRATCH_LENGTH) return new char[length];
+            return SCRATCH_CHARS.get();
+        }
+
         /**
          * Does nothing.
          *
@@ -576,6 +814,33 @@ public sealed class NBTLimiter implements AutoCloseable {
             // NO-OP
         }
 
+        /**
+         * Always returns this limiter, it has no state.
+         *
+         * @return This limiter
+         * @since 1.6.0
+         */
+        @Contract(value = "-> this", pure = true)
+        @Override
+        @NotNull
+        public NBTLimiter fork() {
+            return this;
+        }
+
+        /**
+         * Returns this limiter if the pool is {@code null}, it has no state.
+         *
+         * @param stringPool Pool for the read keys and strings, {@code null} to not pool strings
+         * @return This limiter if the pool is {@code null}, a new limiter otherwise
+         * @since 1.6.0
+         */
+        @Contract(pure = true)
+        @Override
+        @NotNull
+        public NBTLimiter fork(@Nullable NBTStringPool stringPool) {
+            return stringPool == null ? this : super.fork(stringPool);
+        }
+
         /**
          * Does nothing.
          *
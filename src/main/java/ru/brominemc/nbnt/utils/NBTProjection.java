@@ -0,0 +1,471 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Set of NBT paths to read, everything else is skipped without reading.
+ * <p>
+ * A path is a sequence of compound keys, such as {@code Data.Player.Inventory}. Reading with the projection
+ * creates a {@link CompoundNBT} containing only the selected subtrees and the compounds on the way to them.
+ * Every other entry is skipped via {@link NBT#skipper(byte, NBTLimiter)}, so it's never decoded. If one path
+ * is a prefix of the other (e.g. {@code Data} and {@code Data.Player}), the whole shorter path is read.
+ * Paths don't descend into lists and non-compound tags, such tags are skipped if the path continues past them.
+ * <p>
+ * Projections are immutable and can be shared between threads.
+ *
+ * @author VidTu
+ * @since 1.6.0
+ */
+public final class NBTProjection {
+    /**
+     * Pattern for splitting the dotted paths.
+     */
+    private static final Pattern DOT = Pattern.compile(".", Pattern.LITERAL);
+
+    /**
+     * Children by key, empty if the whole subtree is selected.
+     */
+    private final Map<String, NBTProjection> children;
+
+    /**
+     * Creates a new projection.
+     *
+     * @param children Children by key, empty if the whole subtree is selected
+     */
+    private NBTProjection(@NotNull Map<String, NBTProjection> children) {
+        this.children = children;
+    }
+
+    /**
+     * Creates a new projection from the dotted paths, such as {@code Data.Player.Inventory}.
+     *
+     * @param paths Dotted paths
+     * @return A new projection
+     * @throws IllegalArgumentException If no paths are provided or any path is empty
+     * @see #ofKeys(Collection)
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static NBTProjection of(@NotNull String @NotNull ... paths) {
+        List<List<String>> keys = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            keys.add(List.of(DOT.split(path, -1)));
+        }
+        return ofKeys(keys);
+    }
+
+    /**
+     * Creates a new projection from the key paths. Unlike {@link #of(String...)}, keys may contain dots.
+     *
+     * @param paths Key paths
+     * @return A new projection
+     * @throws IllegalArgumentException If no paths are provided or any path is empty
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static NBTProjection ofKeys(@NotNull Collection<? extends List<String>> paths) {
+        if (paths.isEmpty()) throw new IllegalArgumentException("No paths.");
+
+        // Build the trie.
+        Node root = new Node();
+        for (List<String> path : paths) {
+            if (path.isEmpty()) throw new IllegalArgumentException("Empty path.");
+            Node node = root;
+            for (String key : path) {
+                Objects.requireNonNull(key, "Key is null");
+                node = node.children.computeIfAbsent(key, k -> new Node());
+                if (node.whole) break; // Already selected.
+            }
+            node.whole = true;
+            node.children.clear();
+        }
+
+        // Freeze the trie.
+        return root.freeze();
+    }
+
+    /**
+     * Reads the named compound from the input, keeping only the projected entries.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @see NBT#readNamed(DataInput, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT readNamed(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        StringNBT.skip(in, limiter); // Name
+        return this.readRoot(in, limiter, type);
+    }
+
+    /**
+     * Reads the unnamed compound from the input, keeping only the projected entries.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown, strict empty names policy violation or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @see NBT#readUnnamed(DataInput, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT readUnnamed(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = in.readUnsignedShort();
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTSkipper.skipFully(in, length);
+        return this.readRoot(in, limiter, type);
+    }
+
+    /**
+     * Reads the compound from the input, keeping only the projected entries.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @see NBT#read(DataInput, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT read(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        return this.readRoot(in, limiter, type);
+    }
+
+    /**
+     * Reads the root tag payload from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param type    Root tag type
+     * @return Projected compound, an empty compound if the root tag is not a compound
+     * @throws IOException On I/O exception
+     */
+    @NotNull
+    private CompoundNBT readRoot(@NotNull DataInput in, @NotNull NBTLimiter limiter, byte type) throws IOException {
+        if (type == CompoundNBT.COMPOUND_NBT_TYPE) return this.readCompound(in, limiter);
+        NBT.skipper(type, limiter).skip(in, limiter);
+        return new CompoundNBT();
+    }
+
+    /**
+     * Reads the compound payload from the input, keeping only the projected entries.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Projected compound
+     * @throws IOException On I/O exception
+     * @see CompoundNBT#read(DataInput, NBTLimiter)
+     */
+    @NotNull
+    private CompoundNBT readCompound(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Create map and start reading.
+        Map<String, NBT> map = new HashMap<>(Math.max(16, this.children.size() * 2));
+        while (true) {
+            // Read type.
+            limiter.readUnsigned(Byte.BYTES);
+            byte type = in.readByte();
+
+            // NBT End - end of compound, stop.
+            if (type == NBT.NULL_NBT_TYPE) break;
+
+            // Read the key and find the child.
+            String key = NBTLimiter.readLimitedUTF(in, limiter);
+            NBTProjection child = this.children.get(key);
+
+            // Not projected, skip.
+            if (child == null) {
+                NBT.skipper(type, limiter).skip(in, limiter);
+                continue;
+            }
+
+            // Selected fully, read.
+            if (child.children.isEmpty()) {
+                NBT nbt = NBT.reader(type, limiter).read(in, limiter);
+                Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+                map.put(key, nbt);
+                continue;
+            }
+
+            // Projected compound, descend.
+            if (type == CompoundNBT.COMPOUND_NBT_TYPE) {
+                map.put(key, child.readCompound(in, limiter));
+                continue;
+            }
+
+            // Path continues past a non-compound, skip.
+            NBT.skipper(type, limiter).skip(in, limiter);
+        }
+
+        // Pop stack.
+        limiter.pop();
+
+        // Return compound.
+        return new CompoundNBT(map);
+    }
+
+    /**
+     * Reads the named compound from the buffer, keeping only the projected entries.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see NBT#readNamed(ByteBuffer, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT readNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        StringNBT.skip(buffer, limiter); // Name
+        return this.readRoot(buffer, limiter, type);
+    }
+
+    /**
+     * Reads the unnamed compound from the buffer, keeping only the projected entries.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown, strict empty names policy violation or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see NBT#readUnnamed(ByteBuffer, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT readUnnamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTBufferSkipper.skipFully(buffer, length);
+        return this.readRoot(buffer, limiter, type);
+    }
+
+    /**
+     * Reads the compound from the buffer, keeping only the projected entries.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Projected compound, an empty compound if the root tag is not a compound, {@code null} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown or by underlying readers
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length, the maximum depth has been reached or by underlying readers
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT
+     * @see NBT#read(ByteBuffer, NBTLimiter)
+     */
+    @CheckReturnValue
+    @Nullable
+    public CompoundNBT read(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return null; // NBT End
+        return this.readRoot(buffer, limiter, type);
+    }
+
+    /**
+     * Reads the root tag payload from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param type    Root tag type
+     * @return Projected compound, an empty compound if the root tag is not a compound
+     * @throws IOException If a string is malformed
+     */
+    @NotNull
+    private CompoundNBT readRoot(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, byte type) throws IOException {
+        if (type == CompoundNBT.COMPOUND_NBT_TYPE) return this.readCompound(buffer, limiter);
+        NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+        return new CompoundNBT();
+    }
+
+    /**
+     * Reads the compound payload from the buffer, keeping only the projected entries.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Projected compound
+     * @throws IOException If a string is malformed
+     * @see CompoundNBT#read(ByteBuffer, NBTLimiter)
+     */
+    @NotNull
+    private CompoundNBT readCompound(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) throws IOException {
+        // Push stack.
+        limiter.push();
+
+        // Create map and start reading.
+        Map<String, NBT> map = new HashMap<>(Math.max(16, this.children.size() * 2));
+        while (true) {
+            // Read type.
+            limiter.readUnsigned(Byte.BYTES);
+            byte type = buffer.get();
+
+            // NBT End - end of compound, stop.
+            if (type == NBT.NULL_NBT_TYPE) break;
+
+            // Read the key and find the child.
+            String key = NBTLimiter.readLimitedUTF(buffer, limiter);
+            NBTProjection child = this.children.get(key);
+
+            // Not projected, skip.
+            if (child == null) {
+                NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+                continue;
+            }
+
+            // Selected fully, read.
+            if (child.children.isEmpty()) {
+                NBT nbt = NBT.bufferReader(type, limiter).read(buffer, limiter);
+                Objects.requireNonNull(nbt, "NBT of non-zero type is null");
+                map.put(key, nbt);
+                continue;
+            }
+
+            // Projected compound, descend.
+            if (type == CompoundNBT.COMPOUND_NBT_TYPE) {
+                map.put(key, child.readCompound(buffer, limiter));
+                continue;
+            }
+
+            // Path continues past a non-compound, skip.
+            NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+        }
+
+        // Pop stack.
+        limiter.pop();
+
+        // Return compound.
+        return new CompoundNBT(map);
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof NBTProjection that)) return false;
+        return this.children.equals(that.children);
+    }
+
+    @Contract(pure = true)
+    @Override
+    public int hashCode() {
+        return this.children.hashCode();
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTProjection{" +
+                "children=" + this.children +
+                '}';
+    }
+
+    /**
+     * Mutable trie node for building the projection.
+     */
+    private static final class Node {
+        /**
+         * Children by key.
+         */
+        private final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * Whether the whole subtree is selected.
+         */
+        private boolean whole;
+
+        /**
+         * Converts this node into the projection.
+         *
+         * @return A new projection
+         */
+        @Contract(pure = true)
+        @NotNull
+        private NBTProjection freeze() {
+            if (this.whole) return new NBTProjection(Map.of());
+            Map<String, NBTProjection> children = new HashMap<>(this.children.size());
+            for (Map.Entry<String, Node> entry : this.children.entrySet()) {
+                children.put(entry.getKey(), entry.getValue().freeze());
+            }
+            return new NBTProjection(Map.copyOf(children));
+        }
+    }
+}
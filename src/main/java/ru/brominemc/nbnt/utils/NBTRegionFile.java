@@ -0,0 +1,609 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.brominemc.nbnt.types.NBT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Anvil region file ({@code .mca}), that stores up to {@code 32x32} compressed chunk NBTs.
+ * <p>
+ * The location and timestamp header is parsed once on opening. The chunks are read from the memory-mapped file:
+ * the uncompressed chunks are read by the {@link NBT#readNamed(ByteBuffer, NBTLimiter)} directly from the mapped memory
+ * and the compressed ones are inflated by the {@link NBTCompression} from it, without copying the file contents
+ * into the heap. The {@link NBTCompression#GZIP GZIP}, {@link NBTCompression#ZLIB zlib} and
+ * {@link NBTCompression#NONE uncompressed} chunks are supported, including the oversized chunks that are stored
+ * in the external {@code c.<x>.<z>.mcc} files next to the region file.
+ * <p>
+ * The written chunks are put into the first free sectors found in the in-memory sector bitmap, only the chunk
+ * sectors and its header entries are written, the file is not rewritten. The old sectors are freed only after
+ * the new ones are written and are not reused while any chunk is being read. The external chunk files are
+ * replaced atomically.
+ * <p>
+ * The chunks are decompressed and parsed outside the region lock, so the chunks of one region can be read
+ * concurrently. The region files larger than {@code 2 GiB} are not supported.
+ *
+ * @author VidTu
+ * @apiNote The region file is thread-safe, but the file must not be modified by other processes while it's open
+ * @since 1.6.0
+ */
+public final class NBTRegionFile implements Closeable {
+    /**
+     * Size of the sector in bytes.
+     */
+    public static final int SECTOR_SIZE = 4096;
+
+    /**
+     * Number of the chunks in the region.
+     */
+    private static final int CHUNKS = 1024;
+
+    /**
+     * Number of the sectors occupied by the header. (locations and timestamps)
+     */
+    private static final int HEADER_SECTORS = 2;
+
+    /**
+     * Maximum number of the sectors stored in the location entry.
+     */
+    private static final int MAX_CHUNK_SECTORS = 255;
+
+    /**
+     * Maximum number of the sectors in the supported region file. (2 GiB, the mapped buffer limit)
+     */
+    private static final int MAX_SECTORS = Integer.MAX_VALUE / SECTOR_SIZE;
+
+    /**
+     * Length of the chunk header. (data length and compression type)
+     */
+    private static final int CHUNK_HEADER_LENGTH = Integer.BYTES + 1;
+
+    /**
+     * Compression type flag of the chunks stored in the external file.
+     */
+    private static final int EXTERNAL_FLAG = 0x80;
+
+    /**
+     * Region file path.
+     */
+    private final Path path;
+
+    /**
+     * Region file channel.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Whether the region file is opened as read-only.
+     */
+    private final boolean readOnly;
+
+    /**
+     * Chunk locations. (sector offset {@code << 8 |} sector count)
+     */
+    private final int[] locations = new int[CHUNKS];
+
+    /**
+     * Chunk timestamps in epoch seconds.
+     */
+    private final int[] timestamps = new int[CHUNKS];
+
+    /**
+     * Used sectors bitmap.
+     */
+    private final BitSet sectors = new BitSet();
+
+    /**
+     * Mapped header, {@code null} if the read-only file is empty.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * Sectors freed while the chunks were being read, these are not reused until all reads are finished.
+     */
+    private final BitSet pendingSectors = new BitSet();
+
+    /**
+     * File contents mapped on opening, {@code null} if the read-only file is empty.
+     * The chunks written after opening are mapped separately.
+     */
+    private final MappedByteBuffer mapped;
+
+    /**
+     * Number of the chunks being read.
+     */
+    private int readers;
+
+    /**
+     * Creates and opens the region file.
+     *
+     * @param path     Region file path
+     * @param readOnly Whether the region file should be opened as read-only, the file is created if it's not read-only
+     * @throws IOException On I/O exception or if the region header is truncated
+     */
+    public NBTRegionFile(@NotNull Path path, boolean readOnly) throws IOException {
+        this.path = Objects.requireNonNull(path, "Path is null");
+        this.readOnly = readOnly;
+        this.channel = readOnly ? FileChannel.open(path, StandardOpenOption.READ) :
+                FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            // Pad the file.
+            long size = this.channel.size();
+            if (size == 0 && readOnly) {
+                this.header = null;
+                this.mapped = null;
+                return;
+            }
+            if (size < HEADER_SECTORS * SECTOR_SIZE && readOnly) throw new IOException("Region header is truncated: " + path);
+            if (size > (long) MAX_SECTORS * SECTOR_SIZE) throw new IOException("Region files larger than 2 GiB are not supported: " + path);
+            if (size % SECTOR_SIZE != 0 && !readOnly) {
+                int padding = (int) (SECTOR_SIZE - size % SECTOR_SIZE);
+                this.channel.write(ByteBuffer.allocate(padding), size);
+                size += padding;
+            }
+
+            // Parse the header.
+            this.header = this.channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, HEADER_SECTORS * SECTOR_SIZE);
+            this.sectors.set(0, HEADER_SECTORS);
+            long fileSectors = Math.max(size / SECTOR_SIZE, HEADER_SECTORS);
+            for (int i = 0; i < CHUNKS; i++) {
+                int location = this.header.getInt(i * Integer.BYTES);
+                this.timestamps[i] = this.header.getInt(SECTOR_SIZE + i * Integer.BYTES);
+                int offset = location >>> 8;
+                int count = location & 0xFF;
+
+                // Skip the invalid and overlapping entries, these are treated as absent.
+                if (count == 0 || offset < HEADER_SECTORS || offset + count > fileSectors) continue;
+                int used = this.sectors.nextSetBit(offset);
+                if (used != -1 && used < offset + count) continue;
+                this.locations[i] = location;
+                this.sectors.set(offset, offset + count);
+            }
+            this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.max(size, HEADER_SECTORS * SECTOR_SIZE));
+        } catch (Throwable t) {
+            try {
+                this.channel.close();
+            } catch (Throwable th) {
+                t.addSuppressed(th);
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * Gets the region file path.
+     *
+     * @return Region file path
+     */
+    @Contract(pure = true)
+    @NotNull
+    public Path path() {
+        return this.path;
+    }
+
+    /**
+     * Gets whether the region file is opened as read-only.
+     *
+     * @return Whether the region file is read-only
+     */
+    @Contract(pure = true)
+    public boolean readOnly() {
+        return this.readOnly;
+    }
+
+    /**
+     * Gets whether the chunk is present.
+     *
+     * @param x Chunk X coordinate, only the lowest 5 bits are used
+     * @param z Chunk Z coordinate, only the lowest 5 bits are used
+     * @return Whether the chunk is present
+     */
+    @Contract(pure = true)
+    public synchronized boolean hasChunk(int x, int z) {
+        return this.locations[index(x, z)] != 0;
+    }
+
+    /**
+     * Gets the chunk timestamp.
+     *
+     * @param x Chunk X coordinate, only the lowest 5 bits are used
+     * @param z Chunk Z coordinate, only the lowest 5 bits are used
+     * @return Last chunk modification time in epoch seconds, {@code 0} if unknown
+     */
+    @Contract(pure = true)
+    public synchronized int timestamp(int x, int z) {
+        return this.timestamps[index(x, z)];
+    }
+
+    /**
+     * Reads the chunk.
+     *
+     * @param x       Absolute chunk X coordinate
+     * @param z       Absolute chunk Z coordinate
+     * @param limiter Target limiter
+     * @return Read name and NBT, {@code null} if the chunk is absent or read the "NBT End" type
+     * @throws IOException              On I/O exception or if the chunk is malformed or has unsupported compression
+     * @throws IllegalArgumentException If the provided NBT type is unknown or by underlying reader
+     * @throws IllegalStateException    If read or decompressed bytes exceeded the maximum {@link NBTLimiter} length or by underlying reader
+     */
+    @CheckReturnValue
+    @Nullable
+    public Map.Entry<String, NBT> readChunk(int x, int z, @NotNull NBTLimiter limiter) throws IOException {
+        // Locate under the lock.
+        NBTCompression compression;
+        ByteBuffer data;
+        synchronized (this) {
+            int location = this.locations[index(x, z)];
+            if (location == 0) return null;
+            int position = (location >>> 8) * SECTOR_SIZE;
+            int available = (location & 0xFF) * SECTOR_SIZE;
+            ByteBuffer mapped = this.mapped(position, available);
+
+            // Read the chunk header.
+            int length = mapped.getInt(0);
+            if (length <= 0 || length > available - Integer.BYTES) {
+                throw new IOException("Invalid chunk length " + length + " at " + x + ", " + z + ": " + this.path);
+            }
+            int type = mapped.get(Integer.BYTES) & 0xFF;
+            compression = compression(type & ~EXTERNAL_FLAG);
+            if (compression == null) {
+                throw new IOException("Unsupported chunk compression " + type + " at " + x + ", " + z + ": " + this.path);
+            }
+
+            // Map the chunk data, the mapped slices are not copied.
+            if ((type & EXTERNAL_FLAG) != 0) {
+                try (FileChannel external = FileChannel.open(this.externalPath(x, z), StandardOpenOption.READ)) {
+                    data = external.map(FileChannel.MapMode.READ_ONLY, 0, external.size());
+                }
+            } else {
+                data = mapped.slice(CHUNK_HEADER_LENGTH, length - 1);
+            }
+            this.readers++;
+        }
+
+        // Read outside the lock, the sectors are not reused until the read is finished.
+        try {
+            return compression.readNamed(data, limiter);
+        } finally {
+            synchronized (this) {
+                if (--this.readers == 0) {
+                    this.sectors.andNot(this.pendingSectors);
+                    this.pendingSectors.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the chunk with the unnamed root and the {@link NBTCompression#ZLIB zlib} compression.
+     *
+     * @param x   Absolute chunk X coordinate
+     * @param z   Absolute chunk Z coordinate
+     * @param nbt Target NBT
+     * @throws IOException                   On I/O exception, if a string is too long or the region file is full
+     * @throws UnsupportedOperationException If the region file is read-only
+     */
+    public void writeChunk(int x, int z, @NotNull NBT nbt) throws IOException {
+        this.writeChunk(x, z, "", nbt, NBTCompression.ZLIB);
+    }
+
+    /**
+     * Writes the chunk.
+     *
+     * @param x           Absolute chunk X coordinate
+     * @param z           Absolute chunk Z coordinate
+     * @param name        Target root name
+     * @param nbt         Target NBT
+     * @param compression Chunk compression, {@link NBTCompression#GZIP}, {@link NBTCompression#ZLIB} or {@link NBTCompression#NONE}
+     * @throws IOException                   On I/O exception, if a string is too long or the region file is full
+     * @throws IllegalArgumentException      If the compression is not supported by the region files
+     * @throws UnsupportedOperationException If the region file is read-only
+     */
+    public void writeChunk(int x, int z, @NotNull String name, @NotNull NBT nbt, @NotNull NBTCompression compression) throws IOException {
+        // Validate.
+        if (this.readOnly) throw new UnsupportedOperationException("Region file is read-only: " + this.path);
+        Objects.requireNonNull(nbt, "NBT is null");
+        int type = compressionType(compression);
+
+        // Compress out of the lock.
+        ChunkOutput out = new ChunkOutput();
+        compression.writeNamed(out, name, nbt);
+        int length = out.size() - CHUNK_HEADER_LENGTH;
+
+        synchronized (this) {
+            // Store oversized chunks externally.
+            int sectors = (out.size() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+            boolean external = sectors > MAX_CHUNK_SECTORS;
+            Path externalPath = this.externalPath(x, z);
+            ByteBuffer data;
+            if (external) {
+                // Replace atomically, so the old file stays intact until the new one is fully written.
+                Path temporary = externalPath.resolveSibling(externalPath.getFileName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    writeFully(channel, out.buffer(CHUNK_HEADER_LENGTH), 0);
+                }
+                Files.move(temporary, externalPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                data = ByteBuffer.allocate(SECTOR_SIZE).putInt(1).put((byte) (type | EXTERNAL_FLAG)).clear();
+                sectors = 1;
+            } else {
+                out.header(length + 1, type);
+                data = out.buffer(0);
+            }
+
+            // Write into the new sectors.
+            int offset = this.allocate(sectors);
+            try {
+                writeFully(this.channel, data, (long) offset * SECTOR_SIZE);
+                int padding = sectors * SECTOR_SIZE - data.capacity();
+                if (padding > 0) {
+                    writeFully(this.channel, ByteBuffer.allocate(padding), (long) offset * SECTOR_SIZE + data.capacity());
+                }
+            } catch (Throwable t) {
+                this.sectors.clear(offset, offset + sectors);
+                throw t;
+            }
+
+            // Update the header and free the old sectors.
+            this.update(index(x, z), offset << 8 | sectors, (int) (System.currentTimeMillis() / 1000L));
+            if (!external) {
+                Files.deleteIfExists(externalPath);
+            }
+        }
+    }
+
+    /**
+     * Deletes the chunk.
+     *
+     * @param x Absolute chunk X coordinate
+     * @param z Absolute chunk Z coordinate
+     * @return Whether the chunk was present
+     * @throws IOException                   On I/O exception
+     * @throws UnsupportedOperationException If the region file is read-only
+     */
+    public synchronized boolean deleteChunk(int x, int z) throws IOException {
+        if (this.readOnly) throw new UnsupportedOperationException("Region file is read-only: " + this.path);
+        int index = index(x, z);
+        if (this.locations[index] == 0) return false;
+        this.update(index, 0, 0);
+        Files.deleteIfExists(this.externalPath(x, z));
+        return true;
+    }
+
+    /**
+     * Forces the written chunks and header to the storage device.
+     *
+     * @throws IOException On I/O exception
+     */
+    public synchronized void flush() throws IOException {
+        if (this.readOnly) return;
+        this.channel.force(false);
+        this.header.force();
+    }
+
+    /**
+     * Closes the region file. The mapped memory is released by the GC.
+     *
+     * @throws IOException On I/O exception
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    @Contract(pure = true)
+    @Override
+    @NotNull
+    public String toString() {
+        return "NBTRegionFile{" +
+                "path=" + this.path +
+                ", readOnly=" + this.readOnly +
+                '}';
+    }
+
+    /**
+     * Gets the mapped chunk sectors.
+     *
+     * @param position Sectors position in bytes
+     * @param length   Sectors length in bytes
+     * @return Mapped sectors, a slice of the contents mapped on opening or a separate mapping for the chunks written after
+     * @throws IOException On I/O exception or if the file is shorter than required
+     */
+    @NotNull
+    private ByteBuffer mapped(int position, int length) throws IOException {
+        MappedByteBuffer mapped = this.mapped;
+        if (mapped != null && mapped.capacity() - position >= length) return mapped.slice(position, length);
+        if (this.channel.size() - position < length) throw new IOException("Region file is truncated: " + this.path);
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    /**
+     * Allocates the first free sectors.
+     *
+     * @param count Number of the sectors
+     * @return Allocated sector offset
+     * @throws IOException If the region file is full
+     */
+    private int allocate(int count) throws IOException {
+        BitSet sectors = this.sectors;
+        int start = sectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int end = sectors.nextSetBit(start);
+            if (end == -1 || end - start >= count) break;
+            start = sectors.nextClearBit(end);
+        }
+        if (start + count > MAX_SECTORS) throw new IOException("Region file is full: " + this.path);
+        sectors.set(start, start + count);
+        return start;
+    }
+
+    /**
+     * Updates the chunk header entry and frees the old chunk sectors, or defers freeing if any chunk is being read.
+     *
+     * @param index     Chunk index
+     * @param location  New chunk location, {@code 0} if absent
+     * @param timestamp New chunk timestamp
+     */
+    private void update(int index, int location, int timestamp) {
+        int old = this.locations[index];
+        this.locations[index] = location;
+        this.timestamps[index] = timestamp;
+        this.header.putInt(index * Integer.BYTES, location);
+        this.header.putInt(SECTOR_SIZE + index * Integer.BYTES, timestamp);
+        if (old == 0) return;
+        int start = old >>> 8;
+        int end = start + (old & 0xFF);
+        if (this.readers == 0) {
+            this.sectors.clear(start, end);
+        } else {
+            this.pendingSectors.set(start, end);
+        }
+    }
+
+    /**
+     * Gets the path of the external chunk file.
+     *
+     * @param x Absolute chunk X coordinate
+     * @param z Absolute chunk Z coordinate
+     * @return External chunk file path
+     */
+    @Contract(pure = true)
+    @NotNull
+    private Path externalPath(int x, int z) {
+        return this.path.resolveSibling("c." + x + '.' + z + ".mcc");
+    }
+
+    /**
+     * Gets the chunk index in the header.
+     *
+     * @param x Chunk X coordinate
+     * @param z Chunk Z coordinate
+     * @return Chunk index
+     */
+    @Contract(pure = true)
+    private static int index(int x, int z) {
+        return (x & 31) | (z & 31) << 5;
+    }
+
+    /**
+     * Gets the compression by its region type.
+     *
+     * @param type Compression type
+     * @return Compression, {@code null} if unsupported
+     */
+    @Contract(pure = true)
+    @Nullable
+    private static NBTCompression compression(int type) {
+        return switch (type) {
+            case 1 -> NBTCompression.GZIP;
+            case 2 -> NBTCompression.ZLIB;
+            case 3 -> NBTCompression.NONE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the region type of the compression.
+     *
+     * @param compression Target compression
+     * @return Compression type
+     * @throws IllegalArgumentException If the compression is not supported by the region files
+     */
+    @Contract(pure = true)
+    private static int compressionType(@NotNull NBTCompression compression) {
+        return switch (compression) {
+            case GZIP -> 1;
+            case ZLIB -> 2;
+            case NONE -> 3;
+            case DEFLATE -> throw new IllegalArgumentException("Compression is not supported by region files: " + compression);
+        };
+    }
+
+    /**
+     * Writes the buffer fully.
+     *
+     * @param channel  Target channel
+     * @param buffer   Target buffer
+     * @param position Channel position
+     * @throws IOException On I/O exception
+     */
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Chunk output with the reserved chunk header.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    private static final class ChunkOutput extends ByteArrayOutputStream {
+        /**
+         * Creates a new output.
+         */
+        private ChunkOutput() {
+            super(SECTOR_SIZE);
+            this.count = CHUNK_HEADER_LENGTH;
+        }
+
+        /**
+         * Writes the chunk header.
+         *
+         * @param length Chunk data length, including the compression type
+         * @param type   Compression type
+         */
+        private void header(int length, int type) {
+            byte[] buf = this.buf;
+            buf[0] = (byte) (length >>> 24);
+            buf[1] = (byte) (length >>> 16);
+            buf[2] = (byte) (length >>> 8);
+            buf[3] = (byte) length;
+            buf[4] = (byte) type;
+        }
+
+        /**
+         * Wraps the written data without copying.
+         *
+         * @param offset Data offset
+         * @return Buffer with the written data
+         */
+        @Contract(pure = true)
+        @NotNull
+        private ByteBuffer buffer(int offset) {
+            return ByteBuffer.wrap(this.buf, offset, this.count - offset).slice();
+        }
+    }
+}
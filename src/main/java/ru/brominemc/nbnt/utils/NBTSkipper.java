@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Functional interface for skipping the NBT without reading it.
+ *
+ * @author VidTu
+ * @see NBTReader
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface NBTSkipper {
+    /**
+     * Skipper that skips nothing.
+     */
+    NBTSkipper NULL_SKIPPER = (in, limiter) -> {};
+
+    /**
+     * Skips the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @throws IOException On I/O exception
+     */
+    void skip(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException;
+
+    /**
+     * Skips exactly the provided amount of bytes from the input.
+     *
+     * @param in    Target input
+     * @param bytes Amount of bytes to skip
+     * @throws EOFException If the input ends before skipping all bytes
+     * @throws IOException  On I/O exception
+     * @apiNote Unlike {@link DataInput#skipBytes(int)}, this method either skips all bytes or throws
+     */
+    static void skipFully(@NotNull DataInput in, long bytes) throws IOException {
+        while (bytes > 0L) {
+            int skipped = in.skipBytes((int) Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped > 0) {
+                bytes -= skipped;
+                continue;
+            }
+
+            // Nothing skipped, read one byte to either make progress or detect the end of input.
+            in.readByte();
+            bytes--;
+        }
+    }
+}
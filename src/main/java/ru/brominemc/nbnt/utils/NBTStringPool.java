@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.UTFDataFormatException;
+
+/**
+ * Pool of the strings read from NBT, looked up by their raw modified UTF-8 bytes.
+ * <p>
+ * The pool is consulted by {@link NBTLimiter#readLimitedUTF(java.io.DataInput, NBTLimiter)} before decoding,
+ * so the pooled strings (e.g. common keys such as {@code id}, {@code Count} or {@code tag}) are not allocated at all.
+ *
+ * @author VidTu
+ * @see NBTLimiter#NBTLimiter(long, int, boolean, boolean, boolean, NBTStringPool)
+ * @see #local(int)
+ * @see NBTInterner
+ * @since 1.6.0
+ */
+public interface NBTStringPool {
+    /**
+     * Gets the pooled string by its encoded form.
+     *
+     * @param data   Modified UTF-8 data, without the length prefix
+     * @param offset Data offset
+     * @param length Data length
+     * @return Pooled string, {@code null} if the string is not pooled
+     * @apiNote The data array must not be retained by the pool, it is usually a reused scratch buffer
+     */
+    @Contract(pure = true)
+    @Nullable
+    String get(byte @NotNull [] data, int offset, int length);
+
+    /**
+     * Offers the decoded string to the pool.
+     *
+     * @param data   Modified UTF-8 data, without the length prefix
+     * @param offset Data offset
+     * @param length Data length
+     * @param str    Decoded string
+     * @return Canonical pooled string equal to the decoded one, or the decoded string if it's not pooled
+     * @apiNote The data array must not be retained by the pool, it is usually a reused scratch buffer
+     */
+    @NotNull
+    String put(byte @NotNull [] data, int offset, int length, @NotNull String str);
+
+    /**
+     * Adds the string to the pool, e.g. to preload known keys.
+     *
+     * @param str Target string
+     * @return Canonical pooled string equal to the provided one
+     * @throws UTFDataFormatException If the encoded string is longer than {@link ModifiedUTF8#MAX_LENGTH}
+     */
+    @NotNull
+    default String add(@NotNull String str) throws UTFDataFormatException {
+        byte[] data = ModifiedUTF8.encodePrefixed(str);
+        return this.put(data, Short.BYTES, data.length - Short.BYTES, str);
+    }
+
+    /**
+     * Gets the pool for reading from another thread concurrently with this pool.
+     *
+     * @return This pool if it's thread-safe, a new independent pool, or {@code null} to not pool strings in another thread
+     * @see NBTLimiter#fork()
+     */
+    @Nullable
+    default NBTStringPool fork() {
+        return null;
+    }
+
+    /**
+     * Creates a new bounded pool for single-threaded use.
+     * <p>
+     * The pool is a direct-mapped cache: a string evicts the pooled string with the colliding hash.
+     * Strings longer than {@code 64} bytes are not pooled.
+     *
+     * @param capacity Pool capacity, rounded up to the power of two
+     * @return A new pool
+     * @throws IllegalArgumentException If the capacity is not positive or too large
+     * @apiNote The pool is not thread-safe, like the {@link NBTLimiter}
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static NBTStringPool local(int capacity) {
+        return new LocalNBTStringPool(capacity);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.NotNull;
+import ru.brominemc.nbnt.types.NBT;
+
+/**
+ * Callback interface for walking the NBT without building the tree.
+ * <p>
+ * Events are emitted by the {@link NBTWalker} in the order the data is read. Every method does nothing
+ * and returns {@link Result#CONTINUE} by default, so the implementations only need to override the events
+ * they are interested in. The returned {@link Result} controls the rest of the walk, e.g. a visitor that needs
+ * a single field can {@link Result#SKIP skip} other entries without decoding them and {@link Result#STOP stop}
+ * once the field has been read.
+ * For example, the compound {@code {"id": "minecraft:stone", "Count": 1b}} produces:
+ * <pre>{@code
+ * visitCompoundStart()
+ * visitKey(8, "id")
+ * visitString("minecraft:stone")
+ * visitKey(1, "Count")
+ * visitByte(1)
+ * visitCompoundEnd()
+ * }</pre>
+ *
+ * @author VidTu
+ * @see NBTWalker
+ * @since 1.6.0
+ */
+public interface NBTVisitor {
+    /**
+     * Visits the name of the next tag. This is either the key of the next compound entry or the name of the root tag.
+     *
+     * @param type NBT type of the next tag
+     * @param key  Tag name
+     * @return Walk result, {@link Result#SKIP} skips the tag
+     */
+    @NotNull
+    default Result visitKey(byte type, @NotNull String key) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the byte tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitByte(byte value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the short tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitShort(short value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the int tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitInt(int value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the long tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitLong(long value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the float tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitFloat(float value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the double tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitDouble(double value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the string tag.
+     *
+     * @param value Tag value
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitString(@NotNull String value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the byte array tag.
+     *
+     * @param value Tag value, may be shared if empty
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitByteArray(byte @NotNull [] value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the int array tag.
+     *
+     * @param value Tag value, may be shared if empty
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitIntArray(int @NotNull [] value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the long array tag.
+     *
+     * @param value Tag value, may be shared if empty
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitLongArray(long @NotNull [] value) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the start of the list tag. This is followed by {@code length} element events and {@link #visitListEnd()}.
+     *
+     * @param type   NBT type of the elements, {@link NBT#NULL_NBT_TYPE} for empty lists of unknown type
+     * @param length List length
+     * @return Walk result, {@link Result#SKIP} skips the contents and the end event
+     */
+    @NotNull
+    default Result visitListStart(byte type, int length) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the end of the list tag.
+     *
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitListEnd() {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the start of the compound tag. This is followed by {@link #visitKey(byte, String)} and value events
+     * for every entry and {@link #visitCompoundEnd()}.
+     *
+     * @return Walk result, {@link Result#SKIP} skips the contents and the end event
+     */
+    @NotNull
+    default Result visitCompoundStart() {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Visits the end of the compound tag.
+     *
+     * @return Walk result, {@link Result#SKIP} skips the remaining entries of the enclosing container
+     */
+    @NotNull
+    default Result visitCompoundEnd() {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Result of the visit that controls the rest of the walk.
+     *
+     * @author VidTu
+     * @since 1.6.0
+     */
+    enum Result {
+        /**
+         * Continues the walk.
+         */
+        CONTINUE,
+
+        /**
+         * Skips the rest of the current scope without emitting the events.
+         * <p>
+         * If returned from {@link #visitKey(byte, String)}, the tag is skipped. If returned from
+         * {@link #visitListStart(byte, int)} or {@link #visitCompoundStart()}, the contents are skipped and
+         * the end event is not emitted. If returned from other events, the remaining entries of the enclosing
+         * list or compound are skipped and its end event is emitted. The skipped data is checked by the
+         * {@link NBTLimiter} the same way, but the skipped strings are not decoded.
+         */
+        SKIP,
+
+        /**
+         * Stops the walk, leaving the rest of the tag unread.
+         */
+        STOP
+    }
+}
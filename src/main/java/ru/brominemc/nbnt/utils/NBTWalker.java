@@ -0,0 +1,911 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.utils;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import ru.brominemc.nbnt.types.ByteArrayNBT;
+import ru.brominemc.nbnt.types.ByteNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.DoubleNBT;
+import ru.brominemc.nbnt.types.FloatNBT;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.LongArrayNBT;
+import ru.brominemc.nbnt.types.LongNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.ShortNBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTVisitor.Result;
+import ru.brominemc.nbnt.utils.exceptions.InvalidNBTLengthException;
+import ru.brominemc.nbnt.utils.exceptions.UnknownNBTException;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Driver that reads the NBT and emits the events to the {@link NBTVisitor} without building the tree.
+ * <p>
+ * The walker performs the same {@link NBTLimiter} checks as the {@link NBT} readers, so the walked data
+ * is valid for the {@link NBT} readers and vice versa. The nested tags are walked iteratively using
+ * a single stack per walk, so the walk allocates nothing per visited tag, except for the visited values.
+ * The walk is controlled by the {@link NBTVisitor.Result} returned from the events.
+ *
+ * @author VidTu
+ * @see NBTVisitor
+ * @since 1.6.0
+ */
+public final class NBTWalker {
+    /**
+     * Empty byte array.
+     */
+    private static final byte[] EMPTY_BYTE_ARRAY = {};
+
+    /**
+     * Empty int array.
+     */
+    private static final int[] EMPTY_INT_ARRAY = {};
+
+    /**
+     * Empty long array.
+     */
+    private static final long[] EMPTY_LONG_ARRAY = {};
+
+    /**
+     * An instance of this class cannot be created.
+     *
+     * @throws AssertionError Always
+     */
+    @Contract(value = "-> fail", pure = true)
+    private NBTWalker() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Walks the named NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote If the walk has been {@link Result#STOP stopped}, the rest of the tag is left unread
+     * @see NBT#readNamed(DataInput, NBTLimiter)
+     */
+    public static boolean walkNamed(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        switch (visitor.visitKey(type, NBTLimiter.readLimitedUTF(in, limiter))) {
+            case CONTINUE -> walkPayload(in, limiter, visitor, type);
+            case SKIP -> NBT.skipper(type, limiter).skip(in, limiter);
+            case STOP -> {
+                // Stopped.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the unnamed NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown, the length is invalid or strict empty names policy violation
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote If the walk has been {@link Result#STOP stopped}, the rest of the tag is left unread
+     * @see NBT#readUnnamed(DataInput, NBTLimiter)
+     */
+    public static boolean walkUnnamed(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = in.readUnsignedShort();
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTSkipper.skipFully(in, length);
+        walkPayload(in, limiter, visitor, type);
+        return true;
+    }
+
+    /**
+     * Walks the NBT from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote If the walk has been {@link Result#STOP stopped}, the rest of the tag is left unread
+     * @see NBT#read(DataInput, NBTLimiter)
+     */
+    public static boolean walk(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        walkPayload(in, limiter, visitor, type);
+        return true;
+    }
+
+    /**
+     * Walks the tag payload of the given type from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param type    NBT type
+     * @return Whether the walk has been completed, {@code false} if the walk has been {@link Result#STOP stopped}
+     * @throws IOException              On I/O exception
+     * @throws IllegalArgumentException If the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote If the walk has been stopped, the rest of the tag is left unread, but the {@link NBTLimiter} depth is restored
+     */
+    public static boolean walkPayload(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, byte type) throws IOException {
+        // Walk the root.
+        Frames frames = new Frames();
+        Result result = walkValue(in, limiter, visitor, frames, type);
+
+        // Walk the open containers, innermost first.
+        while (result != Result.STOP && frames.size != 0) {
+            result = walkEntry(in, limiter, visitor, frames);
+
+            // Skip the remaining entries, this emits the end event that may skip further.
+            while (result == Result.SKIP && frames.size != 0) {
+                result = skipEntries(in, limiter, visitor, frames);
+            }
+        }
+
+        // Restore the depth if stopped.
+        if (result != Result.STOP) return true;
+        for (int i = frames.size; i > 0; i--) {
+            limiter.pop();
+        }
+        return false;
+    }
+
+    /**
+     * Walks the next entry of the innermost open container from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @return Walk result
+     * @throws IOException On I/O exception
+     */
+    @NotNull
+    private static Result walkEntry(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames) throws IOException {
+        int top = frames.size - 1;
+        int remaining = frames.remaining[top];
+
+        // List element.
+        if (remaining >= 0) {
+            if (remaining == 0) {
+                frames.size = top;
+                limiter.pop();
+                return visitor.visitListEnd();
+            }
+            frames.remaining[top] = remaining - 1;
+            return walkValue(in, limiter, visitor, frames, frames.types[top]);
+        }
+
+        // Compound entry.
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = in.readByte();
+        if (type == NBT.NULL_NBT_TYPE) { // NBT End
+            frames.size = top;
+            limiter.pop();
+            return visitor.visitCompoundEnd();
+        }
+        return switch (visitor.visitKey(type, NBTLimiter.readLimitedUTF(in, limiter))) {
+            case CONTINUE -> walkValue(in, limiter, visitor, frames, type);
+            case SKIP -> {
+                NBT.skipper(type, limiter).skip(in, limiter);
+                yield Result.CONTINUE;
+            }
+            case STOP -> Result.STOP;
+        };
+    }
+
+    /**
+     * Skips the remaining entries of the innermost open container from the input and closes it.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @return Walk result of the end event
+     * @throws IOException On I/O exception
+     */
+    @NotNull
+    private static Result skipEntries(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames) throws IOException {
+        int top = --frames.size;
+        int remaining = frames.remaining[top];
+
+        // Skip list elements.
+        if (remaining >= 0) {
+            skipElements(in, limiter, frames.types[top], remaining);
+            limiter.pop();
+            return visitor.visitListEnd();
+        }
+
+        // Skip compound entries until NBT End.
+        while (NBT.skipNamed(in, limiter)) {
+            // Skipping in the condition.
+        }
+        limiter.pop();
+        return visitor.visitCompoundEnd();
+    }
+
+    /**
+     * Walks the value of the given type from the input, opening the containers.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @param type    NBT type
+     * @return Walk result
+     * @throws IOException On I/O exception
+     */
+    @NotNull
+    private static Result walkValue(@NotNull DataInput in, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames, byte type) throws IOException {
+        return switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> {
+                limiter.readUnsigned(Byte.BYTES); // Data
+                yield visitor.visitByte(in.readByte());
+            }
+            case ShortNBT.SHORT_NBT_TYPE -> {
+                limiter.readUnsigned(Short.BYTES); // Data
+                yield visitor.visitShort(in.readShort());
+            }
+            case IntNBT.INT_NBT_TYPE -> {
+                limiter.readUnsigned(Integer.BYTES); // Data
+                yield visitor.visitInt(in.readInt());
+            }
+            case LongNBT.LONG_NBT_TYPE -> {
+                limiter.readUnsigned(Long.BYTES); // Data
+                yield visitor.visitLong(in.readLong());
+            }
+            case FloatNBT.FLOAT_NBT_TYPE -> {
+                limiter.readUnsigned(Float.BYTES); // Data
+                yield visitor.visitFloat(in.readFloat());
+            }
+            case DoubleNBT.DOUBLE_NBT_TYPE -> {
+                limiter.readUnsigned(Double.BYTES); // Data
+                yield visitor.visitDouble(in.readDouble());
+            }
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> visitor.visitByteArray(readBytes(in, limiter));
+            case StringNBT.STRING_NBT_TYPE -> visitor.visitString(NBTLimiter.readLimitedUTF(in, limiter));
+            case ListNBT.LIST_NBT_TYPE -> {
+                // Push stack.
+                limiter.push();
+
+                // Read type and length.
+                limiter.readUnsigned(Byte.BYTES);
+                byte elementType = in.readByte();
+                limiter.readUnsigned(Integer.BYTES);
+                int length = in.readInt();
+
+                // Check the header.
+                checkList(limiter, elementType, length);
+
+                // Open the list.
+                Result result = visitor.visitListStart(elementType, length);
+                if (result == Result.CONTINUE) {
+                    frames.push(elementType, length);
+                    yield result;
+                }
+
+                // Skip the elements, if required, and pop stack.
+                if (result == Result.SKIP) {
+                    skipElements(in, limiter, elementType, length);
+                }
+                limiter.pop();
+                yield result == Result.SKIP ? Result.CONTINUE : result;
+            }
+            case CompoundNBT.COMPOUND_NBT_TYPE -> {
+                // Push stack.
+                limiter.push();
+
+                // Open the compound.
+                Result result = visitor.visitCompoundStart();
+                if (result == Result.CONTINUE) {
+                    frames.push(CompoundNBT.COMPOUND_NBT_TYPE, -1);
+                    yield result;
+                }
+
+                // Skip the entries, if required, and pop stack.
+                if (result == Result.SKIP) {
+                    while (NBT.skipNamed(in, limiter)) {
+                        // Skipping in the condition.
+                    }
+                }
+                limiter.pop();
+                yield result == Result.SKIP ? Result.CONTINUE : result;
+            }
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> visitor.visitIntArray(readInts(in, limiter));
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> {
+                if (!limiter.longArrays()) {
+                    throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+                }
+                yield visitor.visitLongArray(readLongs(in, limiter));
+            }
+            default -> throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        };
+    }
+
+    /**
+     * Skips the list elements from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @param type    Element type
+     * @param length  Amount of elements to skip
+     * @throws IOException On I/O exception
+     */
+    private static void skipElements(@NotNull DataInput in, @NotNull NBTLimiter limiter, byte type, int length) throws IOException {
+        if (length == 0) return;
+        NBTSkipper skipper = NBT.skipper(type, limiter);
+        for (int i = 0; i < length; i++) {
+            skipper.skip(in, limiter);
+        }
+    }
+
+    /**
+     * Reads the byte array payload from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @throws IOException On I/O exception
+     * @see ByteArrayNBT#read(DataInput, NBTLimiter)
+     */
+    private static byte @NotNull [] readBytes(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Integer.BYTES); // Length
+        int length = in.readInt();
+        if (length == 0) return EMPTY_BYTE_ARRAY;
+        limiter.readSigned(length); // Data
+        byte[] data = new byte[length];
+        in.readFully(data);
+        return data;
+    }
+
+    /**
+     * Reads the int array payload from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @throws IOException On I/O exception
+     * @see IntArrayNBT#read(DataInput, NBTLimiter)
+     */
+    private static int @NotNull [] readInts(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Integer.BYTES); // Length
+        int length = in.readInt();
+        if (length == 0) return EMPTY_INT_ARRAY;
+        limiter.readSigned((long) length * Integer.BYTES); // Data
+        int[] data = new int[length];
+        NBTArrays.readInts(in, data);
+        return data;
+    }
+
+    /**
+     * Reads the long array payload from the input.
+     *
+     * @param in      Target input
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @throws IOException On I/O exception
+     * @see LongArrayNBT#read(DataInput, NBTLimiter)
+     */
+    private static long @NotNull [] readLongs(@NotNull DataInput in, @NotNull NBTLimiter limiter) throws IOException {
+        limiter.readUnsigned(Integer.BYTES); // Length
+        int length = in.readInt();
+        if (length == 0) return EMPTY_LONG_ARRAY;
+        limiter.readSigned((long) length * Long.BYTES); // Data
+        long[] data = new long[length];
+        NBTArrays.readLongs(in, data);
+        return data;
+    }
+
+    /**
+     * Walks the named NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT,
+     * or past the last read tag if the walk has been {@link Result#STOP stopped}
+     * @see NBT#readNamed(ByteBuffer, NBTLimiter)
+     */
+    public static boolean walkNamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        checkOrder(buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        switch (visitor.visitKey(type, NBTLimiter.readLimitedUTF(buffer, limiter))) {
+            case CONTINUE -> walkPayload(buffer, limiter, visitor, type);
+            case SKIP -> NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+            case STOP -> {
+                // Stopped.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the unnamed NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown, the length is invalid or strict empty names policy violation
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT,
+     * or past the last read tag if the walk has been {@link Result#STOP stopped}
+     * @see NBT#readUnnamed(ByteBuffer, NBTLimiter)
+     */
+    public static boolean walkUnnamed(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        checkOrder(buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        limiter.readUnsigned(Short.BYTES); // Name (Length)
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (limiter.strictEmptyNames() && length != 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+        limiter.readUnsigned(length); // Name
+        NBTBufferSkipper.skipFully(buffer, length);
+        walkPayload(buffer, limiter, visitor, type);
+        return true;
+    }
+
+    /**
+     * Walks the NBT from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @return Whether the tag was walked, {@code false} if read the "NBT End" type
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the buffer is not big-endian, the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote The NBT is read from the current position of the buffer, the position is advanced past the read NBT,
+     * or past the last read tag if the walk has been {@link Result#STOP stopped}
+     * @see NBT#read(ByteBuffer, NBTLimiter)
+     */
+    public static boolean walk(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor) throws IOException {
+        checkOrder(buffer);
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) return false; // NBT End
+        walkPayload(buffer, limiter, visitor, type);
+        return true;
+    }
+
+    /**
+     * Walks the tag payload of the given type from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param type    NBT type
+     * @return Whether the walk has been completed, {@code false} if the walk has been {@link Result#STOP stopped}
+     * @throws IOException              If a string is malformed
+     * @throws BufferUnderflowException If the buffer doesn't have enough bytes remaining
+     * @throws IllegalArgumentException If the NBT type is unknown or the length is invalid
+     * @throws IllegalStateException    If read bytes has exceeded the maximum {@link NBTLimiter} length or the maximum depth has been reached
+     * @apiNote Unlike other methods, this method doesn't check the buffer order, the buffer must be big-endian;
+     * if the walk has been stopped, the rest of the tag is left unread, but the {@link NBTLimiter} depth is restored
+     */
+    public static boolean walkPayload(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, byte type) throws IOException {
+        // Walk the root.
+        Frames frames = new Frames();
+        Result result = walkValue(buffer, limiter, visitor, frames, type);
+
+        // Walk the open containers, innermost first.
+        while (result != Result.STOP && frames.size != 0) {
+            result = walkEntry(buffer, limiter, visitor, frames);
+
+            // Skip the remaining entries, this emits the end event that may skip further.
+            while (result == Result.SKIP && frames.size != 0) {
+                result = skipEntries(buffer, limiter, visitor, frames);
+            }
+        }
+
+        // Restore the depth if stopped.
+        if (result != Result.STOP) return true;
+        for (int i = frames.size; i > 0; i--) {
+            limiter.pop();
+        }
+        return false;
+    }
+
+    /**
+     * Walks the next entry of the innermost open container from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @return Walk result
+     * @throws IOException If a string is malformed
+     */
+    @NotNull
+    private static Result walkEntry(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames) throws IOException {
+        int top = frames.size - 1;
+        int remaining = frames.remaining[top];
+
+        // List element.
+        if (remaining >= 0) {
+            if (remaining == 0) {
+                frames.size = top;
+                limiter.pop();
+                return visitor.visitListEnd();
+            }
+            frames.remaining[top] = remaining - 1;
+            return walkValue(buffer, limiter, visitor, frames, frames.types[top]);
+        }
+
+        // Compound entry.
+        limiter.readUnsigned(Byte.BYTES); // Type
+        byte type = buffer.get();
+        if (type == NBT.NULL_NBT_TYPE) { // NBT End
+            frames.size = top;
+            limiter.pop();
+            return visitor.visitCompoundEnd();
+        }
+        return switch (visitor.visitKey(type, NBTLimiter.readLimitedUTF(buffer, limiter))) {
+            case CONTINUE -> walkValue(buffer, limiter, visitor, frames, type);
+            case SKIP -> {
+                NBT.bufferSkipper(type, limiter).skip(buffer, limiter);
+                yield Result.CONTINUE;
+            }
+            case STOP -> Result.STOP;
+        };
+    }
+
+    /**
+     * Skips the remaining entries of the innermost open container from the buffer and closes it.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @return Walk result of the end event
+     */
+    @NotNull
+    private static Result skipEntries(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames) {
+        int top = --frames.size;
+        int remaining = frames.remaining[top];
+
+        // Skip list elements.
+        if (remaining >= 0) {
+            skipElements(buffer, limiter, frames.types[top], remaining);
+            limiter.pop();
+            return visitor.visitListEnd();
+        }
+
+        // Skip compound entries until NBT End.
+        while (NBT.skipNamed(buffer, limiter)) {
+            // Skipping in the condition.
+        }
+        limiter.pop();
+        return visitor.visitCompoundEnd();
+    }
+
+    /**
+     * Walks the value of the given type from the buffer, opening the containers.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param visitor Target visitor
+     * @param frames  Open containers
+     * @param type    NBT type
+     * @return Walk result
+     * @throws IOException If a string is malformed
+     */
+    @NotNull
+    private static Result walkValue(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, @NotNull NBTVisitor visitor, @NotNull Frames frames, byte type) throws IOException {
+        return switch (type) {
+            case ByteNBT.BYTE_NBT_TYPE -> {
+                limiter.readUnsigned(Byte.BYTES); // Data
+                yield visitor.visitByte(buffer.get());
+            }
+            case ShortNBT.SHORT_NBT_TYPE -> {
+                limiter.readUnsigned(Short.BYTES); // Data
+                yield visitor.visitShort(buffer.getShort());
+            }
+            case IntNBT.INT_NBT_TYPE -> {
+                limiter.readUnsigned(Integer.BYTES); // Data
+                yield visitor.visitInt(buffer.getInt());
+            }
+            case LongNBT.LONG_NBT_TYPE -> {
+                limiter.readUnsigned(Long.BYTES); // Data
+                yield visitor.visitLong(buffer.getLong());
+            }
+            case FloatNBT.FLOAT_NBT_TYPE -> {
+                limiter.readUnsigned(Float.BYTES); // Data
+                yield visitor.visitFloat(buffer.getFloat());
+            }
+            case DoubleNBT.DOUBLE_NBT_TYPE -> {
+                limiter.readUnsigned(Double.BYTES); // Data
+                yield visitor.visitDouble(buffer.getDouble());
+            }
+            case ByteArrayNBT.BYTE_ARRAY_NBT_TYPE -> visitor.visitByteArray(readBytes(buffer, limiter));
+            case StringNBT.STRING_NBT_TYPE -> visitor.visitString(NBTLimiter.readLimitedUTF(buffer, limiter));
+            case ListNBT.LIST_NBT_TYPE -> {
+                // Push stack.
+                limiter.push();
+
+                // Read type and length.
+                limiter.readUnsigned(Byte.BYTES);
+                byte elementType = buffer.get();
+                limiter.readUnsigned(Integer.BYTES);
+                int length = buffer.getInt();
+
+                // Check the header.
+                checkList(limiter, elementType, length);
+
+                // Open the list.
+                Result result = visitor.visitListStart(elementType, length);
+                if (result == Result.CONTINUE) {
+                    frames.push(elementType, length);
+                    yield result;
+                }
+
+                // Skip the elements, if required, and pop stack.
+                if (result == Result.SKIP) {
+                    skipElements(buffer, limiter, elementType, length);
+                }
+                limiter.pop();
+                yield result == Result.SKIP ? Result.CONTINUE : result;
+            }
+            case CompoundNBT.COMPOUND_NBT_TYPE -> {
+                // Push stack.
+                limiter.push();
+
+                // Open the compound.
+                Result result = visitor.visitCompoundStart();
+                if (result == Result.CONTINUE) {
+                    frames.push(CompoundNBT.COMPOUND_NBT_TYPE, -1);
+                    yield result;
+                }
+
+                // Skip the entries, if required, and pop stack.
+                if (result == Result.SKIP) {
+                    while (NBT.skipNamed(buffer, limiter)) {
+                        // Skipping in the condition.
+                    }
+                }
+                limiter.pop();
+                yield result == Result.SKIP ? Result.CONTINUE : result;
+            }
+            case IntArrayNBT.INT_ARRAY_NBT_TYPE -> visitor.visitIntArray(readInts(buffer, limiter));
+            case LongArrayNBT.LONG_ARRAY_NBT_TYPE -> {
+                if (!limiter.longArrays()) {
+                    throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+                }
+                yield visitor.visitLongArray(readLongs(buffer, limiter));
+            }
+            default -> throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        };
+    }
+
+    /**
+     * Skips the list elements from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param type    Element type
+     * @param length  Amount of elements to skip
+     */
+    private static void skipElements(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, byte type, int length) {
+        if (length == 0) return;
+        NBTBufferSkipper skipper = NBT.bufferSkipper(type, limiter);
+        for (int i = 0; i < length; i++) {
+            skipper.skip(buffer, limiter);
+        }
+    }
+
+    /**
+     * Reads the byte array payload from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @see ByteArrayNBT#read(ByteBuffer, NBTLimiter)
+     */
+    private static byte @NotNull [] readBytes(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        int length = readArrayLength(buffer, limiter, ByteArrayNBT.BYTE_ARRAY_NBT_TYPE, Byte.BYTES);
+        if (length == 0) return EMPTY_BYTE_ARRAY;
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return data;
+    }
+
+    /**
+     * Reads the int array payload from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @see IntArrayNBT#read(ByteBuffer, NBTLimiter)
+     */
+    private static int @NotNull [] readInts(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        int length = readArrayLength(buffer, limiter, IntArrayNBT.INT_ARRAY_NBT_TYPE, Integer.BYTES);
+        if (length == 0) return EMPTY_INT_ARRAY;
+        int[] data = new int[length];
+        buffer.asIntBuffer().get(data);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return data;
+    }
+
+    /**
+     * Reads the long array payload from the buffer.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @return Read array, shared if empty
+     * @see LongArrayNBT#read(ByteBuffer, NBTLimiter)
+     */
+    private static long @NotNull [] readLongs(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter) {
+        int length = readArrayLength(buffer, limiter, LongArrayNBT.LONG_ARRAY_NBT_TYPE, Long.BYTES);
+        if (length == 0) return EMPTY_LONG_ARRAY;
+        long[] data = new long[length];
+        buffer.asLongBuffer().get(data);
+        buffer.position(buffer.position() + length * Long.BYTES);
+        return data;
+    }
+
+    /**
+     * Reads and checks the array length from the buffer, pushing the array data to the limiter.
+     *
+     * @param buffer  Target buffer
+     * @param limiter Target limiter
+     * @param type    Array NBT type
+     * @param size    Size of the array element in bytes
+     * @return Array length
+     * @throws BufferUnderflowException  If the buffer doesn't have enough bytes remaining
+     * @throws InvalidNBTLengthException If the length is negative
+     */
+    private static int readArrayLength(@NotNull ByteBuffer buffer, @NotNull NBTLimiter limiter, byte type, int size) {
+        // Read length.
+        limiter.readUnsigned(Integer.BYTES);
+        int length = buffer.getInt();
+        if (length == 0) return 0;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(type, length);
+        }
+
+        // Push data and check for underflow before allocating.
+        long bytes = (long) length * size;
+        limiter.readUnsigned(bytes);
+        if (bytes > buffer.remaining()) throw new BufferUnderflowException();
+        return length;
+    }
+    /**
+     * Checks the list header, the same way as {@link ListNBT} readers do.
+     *
+     * @param limiter Target limiter
+     * @param type    Element type
+     * @param length  List length
+     * @throws InvalidNBTLengthException If the length is negative or non-zero for the "NBT End" element type
+     * @throws UnknownNBTException       If the element type is unknown
+     */
+    private static void checkList(@NotNull NBTLimiter limiter, byte type, int length) {
+        // Empty END lists only.
+        if (type == NBT.NULL_NBT_TYPE) {
+            if (length != 0) {
+                throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+            }
+            return;
+        }
+
+        // Empty lists don't check the type.
+        if (length == 0) return;
+
+        // Check for negative length.
+        if (length < 0) {
+            throw limiter.quickExceptions() ? InvalidNBTLengthException.quick() : new InvalidNBTLengthException(NBT.NULL_NBT_TYPE, length);
+        }
+
+        // Check for known type.
+        if (type < NBT.NULL_NBT_TYPE || type > LongArrayNBT.LONG_ARRAY_NBT_TYPE || (type == LongArrayNBT.LONG_ARRAY_NBT_TYPE && !limiter.longArrays())) {
+            throw limiter.quickExceptions() ? UnknownNBTException.quick() : new UnknownNBTException(type);
+        }
+    }
+
+    /**
+     * Checks that the buffer is big-endian.
+     *
+     * @param buffer Target buffer
+     * @throws IllegalArgumentException If the buffer is not big-endian
+     */
+    private static void checkOrder(@NotNull ByteBuffer buffer) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) throw new IllegalArgumentException("Buffer is not big-endian: " + buffer);
+    }
+
+    /**
+     * Stack of the open containers, reused for the whole walk.
+     *
+     * @author VidTu
+     */
+    private static final class Frames {
+        /**
+         * Element types of the open lists, {@link CompoundNBT#COMPOUND_NBT_TYPE} for the open compounds.
+         */
+        private byte[] types = new byte[16];
+
+        /**
+         * Remaining elements of the open lists, {@code -1} for the open compounds.
+         */
+        private int[] remaining = new int[16];
+
+        /**
+         * Amount of the open containers.
+         */
+        private int size;
+
+        /**
+         * Opens the container.
+         *
+         * @param type      Element type for the lists, {@link CompoundNBT#COMPOUND_NBT_TYPE} for the compounds
+         * @param remaining Amount of elements for the lists, {@code -1} for the compounds
+         */
+        private void push(byte type, int remaining) {
+            // Grow, if required.
+            if (this.size == this.types.length) {
+                this.types = Arrays.copyOf(this.types, this.size * 2);
+                this.remaining = Arrays.copyOf(this.remaining, this.size * 2);
+            }
+
+            // Push.
+            this.types[this.size] = type;
+            this.remaining[this.size] = remaining;
+            this.size++;
+        }
+    }
+}
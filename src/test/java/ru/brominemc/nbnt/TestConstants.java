@@ -30,6 +30,9 @@ import ru.brominemc.nbnt.types.NBT;
 import ru.brominemc.nbnt.types.ShortNBT;
 import ru.brominemc.nbnt.types.StringNBT;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
@@ -189,4 +192,82 @@ public final class TestConstants {
         }
         return nbtObjects;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the NBT with the type.
+     *
+     * @param nbt Target NBT
+     * @return Written bytes
+     * @throws IOException On I/O exception
+     */
+    public static byte[] write(NBT nbt) throws IOException {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.write(out, nbt);
+            return byteOut.toByteArray();
+        }
+    }
+
+    /**
+     * Finds the key instance in the compound.
+     *
+     * @param compound Target compound
+     * @param key      Equal key
+     * @return Key instance stored in the compound
+     */
+    public static String key(CompoundNBT compound, String key) {
+        for (String k : compound.keySet()) {
+            if (k.equals(key)) return k;
+        }
+        throw new AssertionError("No key: " + key);
+    }
+
+    /**
+     * Creates the large chunk-like compound, with the {@code "marker"} custom name on the 2500th entity.
+     *
+     * @return A new compound
+     */
+    public static CompoundNBT chunk() {
+        CompoundNBT chunk = new CompoundNBT();
+        chunk.putInt("xPos", 1);
+        chunk.putInt("zPos", -1);
+        chunk.putLongArray("heightmap", new long[37]);
+
+        // Many small entities.
+        ListNBT entities = new ListNBT();
+        for (int i = 0; i < 3000; i++) {
+            CompoundNBT entity = new CompoundNBT();
+            entity.putString("id", "minecraft:zombie");
+            entity.putList("Pos", List.of(new DoubleNBT(i), new DoubleNBT(64), new DoubleNBT(-i)));
+            entity.putString("CustomName", i == 2500 ? "marker" : "entity" + i);
+            entities.add(entity);
+        }
+        chunk.put("Entities", entities);
+
+        // Few large block entities.
+        ListNBT blockEntities = new ListNBT();
+        for (int i = 0; i < 3; i++) {
+            CompoundNBT blockEntity = new CompoundNBT();
+            blockEntity.putString("id", "minecraft:chest");
+            ListNBT items = new ListNBT();
+            for (int j = 0; j < 2000; j++) {
+                CompoundNBT item = new CompoundNBT();
+                item.putString("id", "minecraft:stone");
+                item.putByte("Count", (byte) 64);
+                items.add(item);
+            }
+            blockEntity.put("Items", items);
+            blockEntity.putByteArray("data", new byte[20000]);
+            blockEntities.add(blockEntity);
+        }
+        chunk.put("block_entities", blockEntities);
+
+        // Large list of strings.
+        ListNBT strings = new ListNBT();
+        for (int i = 0; i < 5000; i++) {
+            strings.add(new StringNBT("line" + i));
+        }
+        chunk.put("lines", strings);
+        return chunk;
+    }
+}
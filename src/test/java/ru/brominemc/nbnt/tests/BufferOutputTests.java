@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTBufferOutput} producing the same bytes as {@link DataOutputStream}.
+ *
+ * @author VidTu
+ */
+public final class BufferOutputTests {
+    @Test
+    public void testBuffer() {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try {
+                byte[] expected = expected(nbt);
+                for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(expected.length), ByteBuffer.allocateDirect(expected.length)}) {
+                    NBT.writeNamed(buffer, "example_tag_name", nbt);
+                    assertFalse(buffer.hasRemaining(), () -> "Buffer writer for " + nbt.getClass() + " didn't fill the buffer: " + buffer);
+                    byte[] actual = new byte[expected.length];
+                    buffer.flip().get(actual);
+                    assertArrayEquals(expected, actual, () -> "Buffer writer for " + nbt.getClass() + " wrote invalid bytes: " + nbt);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to write NBT to buffer (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testChannel() {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream()) {
+                byte[] expected = expected(nbt);
+                NBTBufferOutput out = new NBTBufferOutput(ByteBuffer.allocate(16), Channels.newChannel(byteOut));
+                NBT.writeNamed(out, "example_tag_name", nbt);
+                out.flush();
+                assertEquals(expected.length, out.written(), () -> "Channel writer for " + nbt.getClass() + " reported invalid length: " + nbt);
+                assertArrayEquals(expected, byteOut.toByteArray(), () -> "Channel writer for " + nbt.getClass() + " wrote invalid bytes: " + nbt);
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to write NBT to channel (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testGatheringChannel() throws Exception {
+        Path file = Files.createTempFile("nbnt", ".nbt");
+        try {
+            for (NBT nbt : TestConstants.nbtObjects()) {
+                byte[] expected = expected(nbt);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    NBTBufferOutput out = new NBTBufferOutput(ByteBuffer.allocateDirect(16), channel);
+                    NBT.writeNamed(out, "example_tag_name", nbt);
+                    out.flush();
+                }
+                assertArrayEquals(expected, Files.readAllBytes(file), () -> "Gathering channel writer for " + nbt.getClass() + " wrote invalid bytes: " + nbt);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStalledChannel() {
+        WritableByteChannel stalled = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // NO-OP
+            }
+        };
+        NBTBufferOutput spilling = new NBTBufferOutput(ByteBuffer.allocate(16), stalled);
+        assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 3; i++) {
+                spilling.writeLong(i);
+            }
+        }, "Spilling into a stalled channel didn't fail");
+        NBTBufferOutput bulk = new NBTBufferOutput(ByteBuffer.allocate(16), stalled);
+        assertThrows(IOException.class, () -> bulk.write(new byte[64]), "Bulk write into a stalled channel didn't fail");
+    }
+
+    /**
+     * Writes the named NBT via {@link DataOutputStream}.
+     *
+     * @param nbt Target NBT
+     * @return Written bytes
+     * @throws Exception On exception
+     */
+    private static byte[] expected(NBT nbt) throws Exception {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.writeNamed(out, "example_tag_name", nbt);
+            return byteOut.toByteArray();
+        }
+    }
+}
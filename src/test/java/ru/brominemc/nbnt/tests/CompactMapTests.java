@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the map backing the compounds read by {@link CompoundNBT#read(ByteBuffer, NBTLimiter)}.
+ *
+ * @author VidTu
+ */
+public final class CompactMapTests {
+    @Test
+    public void testOperations() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 64; round++) {
+            // Read a small compound.
+            CompoundNBT source = new CompoundNBT();
+            int initial = random.nextInt(6);
+            for (int i = 0; i < initial; i++) {
+                source.putInt("key" + i, i);
+            }
+            CompoundNBT compound = (CompoundNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(source)), NBTLimiter.unlimited());
+            assertNotNull(compound);
+            Map<String, NBT> reference = new HashMap<>(source);
+
+            // Apply random operations, crossing the upgrade threshold.
+            for (int op = 0; op < 200; op++) {
+                String key = "key" + random.nextInt(20);
+                switch (random.nextInt(5)) {
+                    case 0, 1 -> {
+                        IntNBT value = new IntNBT(random.nextInt());
+                        assertEquals(reference.put(key, value), compound.put(key, value));
+                    }
+                    case 2 -> assertEquals(reference.remove(key), compound.remove(key));
+                    case 3 -> {
+                        Iterator<Map.Entry<String, NBT>> iterator = compound.entrySet().iterator();
+                        while (iterator.hasNext()) {
+                            Map.Entry<String, NBT> entry = iterator.next();
+                            if (entry.getKey().equals(key)) {
+                                iterator.remove();
+                                reference.remove(key);
+                            }
+                        }
+                    }
+                    default -> {
+                        assertEquals(reference.get(key), compound.get(key));
+                        assertEquals(reference.containsKey(key), compound.containsKey(key));
+                    }
+                }
+                assertEquals(reference.size(), compound.size());
+            }
+
+            // Compare.
+            assertEquals(reference, compound.value());
+            assertEquals(compound.value(), reference);
+            assertEquals(reference.hashCode(), compound.hashCode());
+            assertEquals(compound, NBT.read(ByteBuffer.wrap(TestConstants.write(compound)), NBTLimiter.unlimited()));
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.ByteArrayNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTCompression;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.exceptions.LongNBTException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTCompression} reading and writing the same NBT as the JDK streams.
+ *
+ * @author VidTu
+ */
+public final class CompressionTests {
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (NBTCompression compression : NBTCompression.values()) {
+            for (NBT nbt : TestConstants.nbtObjects()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                compression.writeNamed(out, "test", nbt);
+                Map.Entry<String, NBT> entry = compression.readNamed(new ByteArrayInputStream(out.toByteArray()), NBTLimiter.unlimited());
+                assertNotNull(entry);
+                assertEquals("test", entry.getKey());
+                assertEquals(nbt, entry.getValue());
+
+                // Buffer.
+                ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+                entry = compression.readNamed(buffer, NBTLimiter.unlimited());
+                assertNotNull(entry);
+                assertEquals(nbt, entry.getValue());
+                assertEquals(0, buffer.remaining(), () -> compression + " left bytes");
+            }
+        }
+    }
+
+    @Test
+    public void testJdkInterop() throws IOException {
+        CompoundNBT nbt = large();
+
+        // GZIP.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompression.GZIP.writeNamed(out, "gzip", nbt);
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+            assertEquals(nbt, NBT.readNamed(in, NBTLimiter.unlimited()).getValue());
+        }
+        out = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(new GZIPOutputStream(out))) {
+            NBT.writeNamed(data, "gzip", nbt);
+        }
+        assertEquals(nbt, NBTCompression.GZIP.readNamed(new ByteArrayInputStream(out.toByteArray()), NBTLimiter.unlimited()).getValue());
+
+        // Zlib.
+        out = new ByteArrayOutputStream();
+        NBTCompression.ZLIB.writeNamed(out, "zlib", nbt, 9);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+            assertEquals(nbt, NBT.readNamed(in, NBTLimiter.unlimited()).getValue());
+        }
+        out = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(out))) {
+            NBT.writeNamed(data, "zlib", nbt);
+        }
+        assertEquals(nbt, NBTCompression.ZLIB.readNamed(new ByteArrayInputStream(out.toByteArray()), NBTLimiter.unlimited()).getValue());
+    }
+
+    @Test
+    public void testGzipHeaderFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompression.DEFLATE.writeNamed(out, "test", large());
+        byte[] deflated = out.toByteArray();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        NBTCompression.GZIP.writeNamed(gzip, "test", large());
+        byte[] plain = gzip.toByteArray();
+
+        // Header with extra, name and comment fields.
+        out = new ByteArrayOutputStream();
+        out.write(new byte[]{0x1F, (byte) 0x8B, 8, 0b11100, 0, 0, 0, 0, 0, 3});
+        out.write(new byte[]{2, 0, 'h', 'i'});
+        out.write("level.dat\0comment\0".getBytes());
+        out.write(deflated);
+        out.write(plain, plain.length - 8, 8);
+        assertEquals(large(), NBTCompression.GZIP.readNamed(ByteBuffer.wrap(out.toByteArray()), NBTLimiter.unlimited()).getValue());
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompression.GZIP.writeNamed(out, "test", large());
+        byte[] data = out.toByteArray();
+
+        // Truncated.
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+        assertThrows(EOFException.class, () -> NBTCompression.GZIP.readNamed(ByteBuffer.wrap(truncated), NBTLimiter.unlimited()));
+        byte[] noTrailer = Arrays.copyOf(data, data.length - 4);
+        assertThrows(EOFException.class, () -> NBTCompression.GZIP.readNamed(ByteBuffer.wrap(noTrailer), NBTLimiter.unlimited()));
+
+        // Bad checksum.
+        byte[] badCrc = data.clone();
+        badCrc[badCrc.length - 8] ^= 1;
+        assertThrows(ZipException.class, () -> NBTCompression.GZIP.readNamed(ByteBuffer.wrap(badCrc), NBTLimiter.unlimited()));
+
+        // Bad magic.
+        byte[] badMagic = data.clone();
+        badMagic[0] = 0;
+        assertThrows(ZipException.class, () -> NBTCompression.GZIP.readNamed(ByteBuffer.wrap(badMagic), NBTLimiter.unlimited()));
+        assertThrows(ZipException.class, () -> NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(data), NBTLimiter.unlimited()));
+    }
+
+    @Test
+    public void testLimiter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompression.ZLIB.writeNamed(out, "test", large());
+        byte[] data = out.toByteArray();
+        long size = NBT.serializedSizeNamed("test", large());
+        assertThrows(LongNBTException.class, () -> NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(data), new NBTLimiter(size - 1, 512, false, true, false)));
+        assertThrows(LongNBTException.class, () -> NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(data), new NBTLimiter(1024, 512, false, true, true)));
+        assertEquals(large(), NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(data), new NBTLimiter(size, 512, false, true, false)).getValue());
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        CompoundNBT nbt = large();
+        Random random = new Random(0);
+        for (int i = 0; i < 16; i++) {
+            byte[] array = new byte[1 << 16];
+            random.nextBytes(array);
+            nbt.put("random" + i, new ByteArrayNBT(array));
+        }
+        for (int level : new int[]{Deflater.DEFAULT_COMPRESSION, 0, 1, 5, 6, 9}) {
+            // Own readers.
+            for (NBTCompression compression : NBTCompression.values()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                compression.writeNamedParallel(out, "test", nbt, level);
+                assertEquals(nbt, compression.readNamed(ByteBuffer.wrap(out.toByteArray()), NBTLimiter.unlimited()).getValue(), () -> compression + " " + level);
+            }
+
+            // JDK readers.
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            NBTCompression.GZIP.writeNamedParallel(out, "test", nbt, level);
+            try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+                assertEquals(nbt, NBT.readNamed(in, NBTLimiter.unlimited()).getValue());
+            }
+            out = new ByteArrayOutputStream();
+            NBTCompression.ZLIB.writeNamedParallel(out, "test", nbt, level);
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+                assertEquals(nbt, NBT.readNamed(in, NBTLimiter.unlimited()).getValue());
+            }
+        }
+
+        // Small data is not split.
+        for (NBT small : TestConstants.nbtObjects()) {
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            NBTCompression.ZLIB.writeNamed(sequential, "test", small);
+            ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            NBTCompression.ZLIB.writeNamedParallel(parallel, "test", small);
+            assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+        }
+    }
+
+    @Test
+    public void testHuge() throws IOException {
+        // Larger than twice the maximum pooled buffer.
+        byte[] array = new byte[20 << 20];
+        new Random(0).nextBytes(array);
+        CompoundNBT nbt = new CompoundNBT();
+        nbt.put("huge", new ByteArrayNBT(array));
+        for (NBTCompression compression : NBTCompression.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            compression.writeNamed(out, "test", nbt, 1);
+            assertEquals(nbt, compression.readNamed(ByteBuffer.wrap(out.toByteArray()), NBTLimiter.unlimited()).getValue(), compression::toString);
+        }
+    }
+
+    @Test
+    public void testExactLimit() throws IOException {
+        List<NBT> objects = new ArrayList<>(TestConstants.nbtObjects());
+        objects.add(large());
+        for (NBT nbt : objects) {
+            long size = NBT.serializedSizeNamed("test", nbt);
+            for (NBTCompression compression : List.of(NBTCompression.GZIP, NBTCompression.ZLIB, NBTCompression.DEFLATE)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                compression.writeNamed(out, "test", nbt);
+                byte[] data = out.toByteArray();
+                assertEquals(nbt, compression.readNamed(ByteBuffer.wrap(data), new NBTLimiter(size, 512, false, true, false)).getValue());
+                if (size == 0) continue;
+                assertThrows(LongNBTException.class, () -> compression.readNamed(ByteBuffer.wrap(data), new NBTLimiter(size - 1, 512, false, true, false)));
+            }
+
+            // Flushed before finishing, the stream ends with an empty block after all data.
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(out, true))) {
+                NBT.writeNamed(data, "test", nbt);
+                data.flush();
+            }
+            assertEquals(nbt, NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(out.toByteArray()), new NBTLimiter(size, 512, false, true, false)).getValue());
+        }
+    }
+
+    @Test
+    public void testStreamsNotClosed() throws IOException {
+        boolean[] closed = new boolean[2];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.write(b);
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        NBTCompression.GZIP.writeNamed(out, "test", large());
+        InputStream in = new ByteArrayInputStream(bytes.toByteArray()) {
+            @Override
+            public void close() {
+                closed[1] = true;
+            }
+        };
+        assertEquals(large(), NBTCompression.GZIP.readNamed(in, NBTLimiter.unlimited()).getValue());
+        assertFalse(closed[0]);
+        assertFalse(closed[1]);
+    }
+
+    /**
+     * Creates the NBT that is larger than the pooled chunk buffer.
+     *
+     * @return Large NBT
+     */
+    private static CompoundNBT large() {
+        CompoundNBT nbt = new CompoundNBT();
+        for (int i = 0; i < 64; i++) {
+            int[] array = new int[1024];
+            for (int j = 0; j < array.length; j++) {
+                array[j] = i * j;
+            }
+            nbt.put("array" + i, new IntArrayNBT(array));
+        }
+        return nbt;
+    }
+}
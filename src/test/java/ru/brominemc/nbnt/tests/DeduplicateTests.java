@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.NBNT;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTDeduplicator;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTWalker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the {@link NBTDeduplicator} and {@link NBNT#deduplicate(NBT)}.
+ *
+ * @author VidTu
+ */
+public final class DeduplicateTests {
+    @Test
+    public void testDeduplicate() throws IOException {
+        ListNBT inventory = inventory();
+        NBT expected = read(TestConstants.write(inventory));
+        NBT deduplicated = NBNT.deduplicate(inventory);
+        assertNotNull(deduplicated);
+        assertEquals(expected, deduplicated);
+        assertTrue(deduplicated.frozen());
+
+        // Check shared instances.
+        ListNBT list = (ListNBT) deduplicated;
+        assertSame(list.get(0), list.get(2));
+        assertSame(list.get(1), list.get(3));
+        assertNotSame(list.get(0), list.get(1));
+        CompoundNBT first = (CompoundNBT) list.get(0);
+        CompoundNBT second = (CompoundNBT) list.get(1);
+        assertSame(first.get("tag"), second.get("tag"));
+        assertSame(first.get("Count"), second.get("Count"));
+    }
+
+    @Test
+    public void testShared() throws IOException {
+        NBTDeduplicator deduplicator = new NBTDeduplicator();
+        NBT first = deduplicator.deduplicate(inventory());
+        NBT second = deduplicator.deduplicate(inventory());
+        assertSame(first, second);
+
+        // Existing test objects.
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            NBT copy = read(TestConstants.write(nbt));
+            assertNotNull(copy);
+            assertEquals(nbt, deduplicator.deduplicate(copy));
+        }
+    }
+
+    @Test
+    public void testWalk() throws IOException {
+        NBTDeduplicator deduplicator = new NBTDeduplicator();
+        NBT existing = deduplicator.deduplicate(inventory());
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            byte[] data = TestConstants.write(nbt);
+            assertTrue(NBTWalker.walk(ByteBuffer.wrap(data), NBTLimiter.unlimited(), deduplicator));
+            NBT result = deduplicator.result();
+            assertNotNull(result);
+            assertTrue(result.frozen());
+            assertEquals(read(data), result);
+        }
+
+        // Read the shared instance.
+        assertTrue(NBTWalker.walk(ByteBuffer.wrap(TestConstants.write(inventory())), NBTLimiter.unlimited(), deduplicator));
+        assertSame(existing, deduplicator.result());
+    }
+
+    /**
+     * Creates the inventory with duplicate items.
+     *
+     * @return A new inventory
+     */
+    private static ListNBT inventory() {
+        ListNBT inventory = new ListNBT();
+        for (int slot = 0; slot < 4; slot++) {
+            CompoundNBT item = new CompoundNBT();
+            item.putString("id", slot % 2 == 0 ? "minecraft:stone" : "minecraft:dirt");
+            item.putByte("Count", (byte) 64);
+            item.putCompound("tag", new CompoundNBT());
+            inventory.add(item);
+        }
+        return inventory;
+    }
+
+    /**
+     * Reads the NBT with the type.
+     *
+     * @param data Written bytes
+     * @return Read NBT
+     * @throws IOException On I/O exception
+     */
+    private static NBT read(byte[] data) throws IOException {
+        return NBT.read(ByteBuffer.wrap(data), NBTLimiter.unlimited());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTCompression;
+import ru.brominemc.nbnt.utils.NBTDictionary;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTDictionary} compressing the small NBTs.
+ *
+ * @author VidTu
+ */
+public final class DictionaryTests {
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<NBT> samples = items(1000, 0);
+        NBTDictionary dictionary = NBTDictionary.train(samples, NBTDictionary.MAX_LENGTH);
+        assertTrue(dictionary.length() <= NBTDictionary.MAX_LENGTH);
+        assertEquals(dictionary, new NBTDictionary(dictionary.bytes()));
+        for (NBT item : items(100, 1)) {
+            byte[] compressed = dictionary.compress("", item);
+            assertEquals(item, dictionary.decompress(compressed, NBTLimiter.unlimited()).getValue());
+
+            // Raw deflate.
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            NBTCompression.DEFLATE.writeNamed(out, "", item, 9, dictionary);
+            assertEquals(item, NBTCompression.DEFLATE.readNamed(ByteBuffer.wrap(out.toByteArray()), NBTLimiter.unlimited(), dictionary).getValue());
+        }
+    }
+
+    @Test
+    public void testSmaller() throws IOException {
+        NBTDictionary dictionary = NBTDictionary.train(items(1000, 0), NBTDictionary.MAX_LENGTH);
+        long plain = 0;
+        long trained = 0;
+        for (NBT item : items(100, 1)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            NBTCompression.ZLIB.writeNamed(out, "", item);
+            plain += out.size();
+            trained += dictionary.compress("", item).length;
+        }
+        long finalPlain = plain;
+        long finalTrained = trained;
+        assertTrue(trained * 2 <= plain, () -> "plain=" + finalPlain + ", trained=" + finalTrained);
+    }
+
+    @Test
+    public void testZlibInterop() throws IOException, DataFormatException {
+        NBTDictionary dictionary = NBTDictionary.train(items(100, 0), 4096);
+        NBT item = items(1, 1).getFirst();
+        byte[] compressed = dictionary.compress("item", item);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] data = new byte[(int) NBT.serializedSizeNamed("item", item)];
+            assertEquals(0, inflater.inflate(data));
+            assertTrue(inflater.needsDictionary());
+            assertEquals(dictionary.id(), inflater.getAdler());
+            inflater.setDictionary(dictionary.bytes());
+            assertEquals(data.length, inflater.inflate(data));
+            assertTrue(inflater.finished());
+            assertEquals(item, NBT.readNamed(ByteBuffer.wrap(data), NBTLimiter.unlimited()).getValue());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Test
+    public void testMismatch() throws IOException {
+        NBTDictionary dictionary = NBTDictionary.train(items(100, 0), 4096);
+        NBTDictionary other = NBTDictionary.train(items(100, 2), 1024);
+        byte[] compressed = dictionary.compress("", items(1, 1).getFirst());
+        assertThrows(ZipException.class, () -> other.decompress(compressed, NBTLimiter.unlimited()));
+        assertThrows(ZipException.class, () -> NBTCompression.ZLIB.readNamed(ByteBuffer.wrap(compressed), NBTLimiter.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> NBTCompression.GZIP.writeNamed(new ByteArrayOutputStream(), "", null, 6, dictionary));
+        assertThrows(IllegalArgumentException.class, () -> NBTCompression.NONE.readNamed(ByteBuffer.wrap(compressed), NBTLimiter.unlimited(), dictionary));
+    }
+
+    @Test
+    public void testTrainInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> NBTDictionary.train(items(10, 0), 0));
+        assertThrows(IllegalArgumentException.class, () -> NBTDictionary.train(items(10, 0), NBTDictionary.MAX_LENGTH + 1));
+        assertThrows(IllegalArgumentException.class, () -> NBTDictionary.train(List.of(new CompoundNBT()), 1024));
+        assertThrows(IllegalArgumentException.class, () -> new NBTDictionary(new byte[0]));
+    }
+
+    /**
+     * Creates the item stack NBTs.
+     *
+     * @param count Number of items
+     * @param seed  Random seed
+     * @return Item stacks
+     */
+    private static List<NBT> items(int count, long seed) {
+        String[] ids = {"minecraft:diamond_sword", "minecraft:iron_pickaxe", "minecraft:bow", "minecraft:stone", "minecraft:oak_planks", "minecraft:golden_apple"};
+        String[] enchantments = {"minecraft:sharpness", "minecraft:unbreaking", "minecraft:mending", "minecraft:efficiency", "minecraft:power"};
+        Random random = new Random(seed);
+        List<NBT> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CompoundNBT item = new CompoundNBT();
+            item.putString("id", ids[random.nextInt(ids.length)]);
+            item.putByte("Count", (byte) (1 + random.nextInt(64)));
+            item.putByte("Slot", (byte) random.nextInt(36));
+            if (random.nextBoolean()) {
+                CompoundNBT tag = new CompoundNBT();
+                tag.putInt("Damage", random.nextInt(1500));
+                tag.putInt("RepairCost", random.nextInt(4));
+                ListNBT list = new ListNBT();
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    CompoundNBT enchantment = new CompoundNBT();
+                    enchantment.putString("id", enchantments[random.nextInt(enchantments.length)]);
+                    enchantment.putShort("lvl", (short) (1 + random.nextInt(5)));
+                    list.add(enchantment);
+                }
+                tag.put("Enchantments", list);
+                CompoundNBT display = new CompoundNBT();
+                display.put("Name", new StringNBT("{\"text\":\"Item " + random.nextInt(100) + "\"}"));
+                tag.put("display", display);
+                item.put("tag", tag);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+}
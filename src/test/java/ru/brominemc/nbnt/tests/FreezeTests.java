@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBT#freeze()}.
+ *
+ * @author VidTu
+ */
+public final class FreezeTests {
+    @Test
+    public void testFreeze() throws IOException {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            // Copy, the constants are shared.
+            byte[] data = TestConstants.write(nbt);
+            NBT copy = NBT.read(ByteBuffer.wrap(data), NBTLimiter.unlimited());
+            assertNotNull(copy);
+            assertFalse(copy.frozen());
+
+            // Freeze.
+            assertSame(copy, copy.freeze(), () -> "Freezing " + nbt.getClass() + " returned another NBT");
+            assertTrue(copy.frozen());
+            assertEquals(nbt, copy, () -> "Frozen " + nbt.getClass() + " is not equal");
+            assertEquals(copy, nbt, () -> "Frozen " + nbt.getClass() + " is not equal");
+            assertEquals(nbt.hashCode(), copy.hashCode(), () -> "Frozen " + nbt.getClass() + " has invalid hash code");
+            assertEquals(nbt, NBT.read(ByteBuffer.wrap(TestConstants.write(copy)), NBTLimiter.unlimited()), () -> "Frozen " + nbt.getClass() + " written differently");
+        }
+    }
+
+    @Test
+    public void testImmutable() throws IOException {
+        CompoundNBT root = new CompoundNBT();
+        root.putString("name", "value");
+        root.putIntArray("array", new int[]{1, 2, 3});
+        ListNBT ints = new ListNBT();
+        ints.addInt(1);
+        ints.addInt(2);
+        root.put("ints", ints);
+        CompoundNBT nested = new CompoundNBT();
+        nested.putInt("int", 42);
+        ListNBT compounds = new ListNBT();
+        compounds.add(nested);
+        root.put("compounds", compounds);
+        CompoundNBT read = (CompoundNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(root)), NBTLimiter.unlimited());
+        assertNotNull(read);
+        read.freeze();
+
+        // Containers.
+        assertThrows(UnsupportedOperationException.class, () -> read.putInt("int", 1));
+        assertThrows(UnsupportedOperationException.class, () -> read.remove("name"));
+        assertThrows(UnsupportedOperationException.class, () -> read.value(new CompoundNBT()));
+        assertThrows(UnsupportedOperationException.class, () -> read.getList("ints").addInt(3));
+        assertThrows(UnsupportedOperationException.class, () -> read.getList("ints").removeInt(1));
+        assertThrows(UnsupportedOperationException.class, () -> read.getList("compounds").clear());
+        assertTrue(read.getList("ints").containsInt(2));
+
+        // Children.
+        assertTrue(read.getList("ints").getFirst().frozen());
+        assertThrows(UnsupportedOperationException.class, () -> ((IntNBT) read.getList("ints").getFirst()).value(5));
+        assertThrows(UnsupportedOperationException.class, () -> ((CompoundNBT) read.getList("compounds").getFirst()).putInt("int", 1));
+        assertThrows(UnsupportedOperationException.class, () -> ((StringNBT) read.get("name")).value("other"));
+        IntArrayNBT array = (IntArrayNBT) read.get("array");
+        assertNotNull(array);
+        array.value()[0] = 42;
+        assertEquals(1, array.value()[0]);
+
+        // Still equal to the source.
+        assertEquals(root, read);
+        assertEquals(root.hashCode(), read.hashCode());
+    }
+}
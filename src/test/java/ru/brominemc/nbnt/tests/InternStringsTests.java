@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.NBNT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTInterner;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the {@link NBNT#internStrings(NBT, java.util.function.UnaryOperator)}.
+ *
+ * @author VidTu
+ */
+public final class InternStringsTests {
+    @Test
+    public void testKeys() throws IOException {
+        // Backed by the hash map.
+        CompoundNBT hashed = new CompoundNBT();
+        hashed.putString(copy("id"), copy("minecraft:stone"));
+        NBNT.internStrings(hashed);
+        assertSame("id", TestConstants.key(hashed, "id"));
+        assertSame("minecraft:stone", hashed.getString("id"));
+
+        // Backed by the linked hash map, the order must be kept.
+        CompoundNBT linked = new CompoundNBT(new LinkedHashMap<>());
+        for (int i = 0; i < 20; i++) {
+            linked.putInt(copy("key" + i), i);
+        }
+        NBNT.internStrings(linked);
+        int index = 0;
+        for (String key : linked.keySet()) {
+            assertSame(("key" + index++).intern(), key);
+        }
+
+        // Backed by the compact map and read lists.
+        CompoundNBT source = new CompoundNBT();
+        source.putString("id", "minecraft:stone");
+        source.putList("lore", List.of(new StringNBT("line"), new StringNBT("line")));
+        CompoundNBT small = (CompoundNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(source)), NBTLimiter.unlimited());
+        CompoundNBT large = (CompoundNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(manyKeys())), NBTLimiter.unlimited());
+        assertNotNull(small);
+        assertNotNull(large);
+        NBNT.internStrings(small);
+        NBNT.internStrings(large);
+        assertSame("id", TestConstants.key(small, "id"));
+        assertSame("minecraft:stone", small.getString("id"));
+        ListNBT lore = small.getList("lore");
+        assertSame("line", ((StringNBT) lore.get(0)).value());
+        assertSame("line", ((StringNBT) lore.get(1)).value());
+        assertEquals(manyKeys(), large);
+        assertSame("key15", TestConstants.key(large, "key15"));
+    }
+
+    @Test
+    public void testFrozen() {
+        CompoundNBT frozen = new CompoundNBT();
+        frozen.putString(copy("id"), copy("minecraft:stone"));
+        frozen.freeze();
+        CompoundNBT root = new CompoundNBT();
+        root.put(copy("frozen"), frozen);
+        assertDoesNotThrow(() -> NBNT.internStrings(root));
+        assertSame("frozen", TestConstants.key(root, "frozen"));
+        assertNotSame("id", TestConstants.key(frozen, "id"));
+    }
+
+    @Test
+    public void testDeep() {
+        // Deep enough to overflow the recursion.
+        ListNBT root = new ListNBT();
+        ListNBT current = root;
+        for (int i = 0; i < 100_000; i++) {
+            ListNBT next = new ListNBT();
+            current.add(next);
+            current = next;
+        }
+        CompoundNBT leaf = new CompoundNBT();
+        leaf.putString(copy("id"), copy("minecraft:stone"));
+        current.add(leaf);
+        assertDoesNotThrow(() -> NBNT.internStrings(root));
+        assertSame("id", TestConstants.key(leaf, "id"));
+        assertSame("minecraft:stone", leaf.getString("id"));
+    }
+
+    @Test
+    public void testParallel() {
+        NBTInterner interner = new NBTInterner(1024);
+        ListNBT root = new ListNBT();
+        for (int i = 0; i < 5000; i++) {
+            CompoundNBT item = new CompoundNBT();
+            item.putString(copy("id"), copy("minecraft:item" + (i % 10)));
+            item.putByte(copy("Count"), (byte) 1);
+            root.add(item);
+        }
+        NBNT.internStringsParallel(root, interner);
+        String id = interner.apply("id");
+        for (NBT nbt : root) {
+            CompoundNBT item = (CompoundNBT) nbt;
+            assertSame(id, TestConstants.key(item, "id"));
+            assertSame(interner.apply(item.getString("id")), item.getString("id"));
+        }
+    }
+
+    /**
+     * Copies the string into a new non-interned instance.
+     *
+     * @param str Target string
+     * @return New equal string
+     */
+    private static String copy(String str) {
+        return new String(str.toCharArray());
+    }
+
+    /**
+     * Creates the compound with many keys, that is not backed by the compact array.
+     *
+     * @return A new compound
+     */
+    private static CompoundNBT manyKeys() {
+        CompoundNBT compound = new CompoundNBT();
+        for (int i = 0; i < 32; i++) {
+            compound.putInt("key" + i, i);
+        }
+        return compound;
+    }
+}
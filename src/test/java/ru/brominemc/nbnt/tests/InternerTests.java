@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.NBNT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTInterner;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the {@link NBTInterner}.
+ *
+ * @author VidTu
+ */
+public final class InternerTests {
+    @Test
+    public void testIntern() {
+        NBTInterner interner = new NBTInterner(64, 4);
+        String first = interner.apply(new String("minecraft:stone".toCharArray()));
+        String second = interner.apply(new String("minecraft:stone".toCharArray()));
+        assertSame(first, second);
+        assertEquals(1, interner.size());
+        assertEquals(1, interner.hits());
+        assertEquals(1, interner.misses());
+
+        // Long strings are not interned.
+        String longStr = "x".repeat(1000);
+        assertNotSame(interner.apply(longStr), interner.apply(new String(longStr.toCharArray())));
+        assertEquals(1, interner.size());
+
+        // Clear.
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertNotSame(first, interner.apply(new String("minecraft:stone".toCharArray())));
+    }
+
+    @Test
+    public void testBounded() {
+        NBTInterner interner = new NBTInterner(16, 1);
+        String hot = interner.apply(new String("hot".toCharArray()));
+        for (int i = 0; i < 10; i++) {
+            assertSame(hot, interner.apply(new String("hot".toCharArray())));
+        }
+
+        // Scan with one-off strings, still using the hot one.
+        for (int i = 0; i < 10_000; i++) {
+            interner.apply("cold" + i);
+            if (i % 16 == 0) {
+                assertSame(hot, interner.apply(new String("hot".toCharArray())));
+            }
+            assertTrue(interner.size() <= interner.capacity(), () -> "Interner overflow: " + interner);
+        }
+        assertEquals(16, interner.size());
+        assertTrue(interner.rejections() > 0, interner::toString);
+        assertSame(hot, interner.apply(new String("hot".toCharArray())));
+
+        // Frequent strings evict the rare ones.
+        for (int round = 0; round < 8; round++) {
+            for (int i = 0; i < 8; i++) {
+                interner.apply("warm" + i);
+            }
+        }
+        assertTrue(interner.evictions() > 0, interner::toString);
+        String warm = interner.apply("warm0");
+        assertSame(warm, interner.apply(new String("warm0".toCharArray())));
+    }
+
+    @Test
+    public void testPool() throws IOException {
+        CompoundNBT source = new CompoundNBT();
+        source.putString("id", "minecraft:stone");
+        source.putString("name", "Привет, мир \0 😀");
+        byte[] data = TestConstants.write(source);
+
+        // Read twice with the same interner.
+        NBTInterner interner = new NBTInterner(64);
+        NBTLimiter limiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false, interner);
+        CompoundNBT first = (CompoundNBT) NBT.read(ByteBuffer.wrap(data), limiter);
+        limiter.reset();
+        CompoundNBT second = (CompoundNBT) NBT.read(ByteBuffer.wrap(data), limiter);
+        assertEquals(source, first);
+        assertEquals(source, second);
+        assertSame(((StringNBT) first.get("id")).value(), ((StringNBT) second.get("id")).value());
+        assertSame(((StringNBT) first.get("name")).value(), ((StringNBT) second.get("name")).value());
+
+        // Lookup by the encoded form.
+        String name = ((StringNBT) first.get("name")).value();
+        byte[] encoded = ModifiedUTF8.encodePrefixed(name);
+        assertSame(name, interner.get(encoded, Short.BYTES, encoded.length - Short.BYTES));
+        assertNull(interner.get(encoded, Short.BYTES, encoded.length - Short.BYTES - 1));
+
+        // Same interner for the existing trees.
+        CompoundNBT copy = new CompoundNBT();
+        copy.putString("name", new String(name.toCharArray()));
+        NBNT.internStrings(copy, interner);
+        assertSame(name, ((StringNBT) copy.get("name")).value());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        NBTInterner interner = new NBTInterner(256, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    String[] results = new String[100];
+                    for (int round = 0; round < 100; round++) {
+                        for (int i = 0; i < results.length; i++) {
+                            results[i] = interner.apply("key" + i);
+                        }
+                    }
+                    return results;
+                }));
+            }
+            String[] expected = futures.get(0).get();
+            for (Future<String[]> future : futures) {
+                String[] results = future.get();
+                for (int i = 0; i < results.length; i++) {
+                    assertSame(expected[i], results[i]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, interner.size());
+        assertEquals(4 * 100 * 100, interner.hits() + interner.misses());
+    }
+}
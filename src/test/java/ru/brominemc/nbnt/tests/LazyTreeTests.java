@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link CompoundNBT#readLazy(ByteBuffer, NBTLimiter)} and {@link ListNBT#readLazy(ByteBuffer, NBTLimiter)}.
+ *
+ * @author VidTu
+ */
+public final class LazyTreeTests {
+    @Test
+    public void testLazy() {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try {
+                byte[] data = TestConstants.write(nbt);
+
+                // Untouched write should be identical.
+                NBT lazy = NBT.readLazy(ByteBuffer.wrap(data), NBTLimiter.unlimited());
+                assertArrayEquals(data, TestConstants.write(lazy), () -> "Untouched lazy " + nbt.getClass() + " written differently");
+                assertEquals(data.length - Byte.BYTES, lazy.serializedSize(), () -> "Untouched lazy " + nbt.getClass() + " has invalid size");
+
+                // Touched write should be equal.
+                assertEquals(nbt, lazy, () -> "Lazy " + nbt.getClass() + " is not equal");
+                assertEquals(nbt, NBT.read(ByteBuffer.wrap(TestConstants.write(lazy)), NBTLimiter.unlimited()), () -> "Touched lazy " + nbt.getClass() + " written differently");
+                assertEquals(nbt.serializedSize(), lazy.serializedSize(), () -> "Touched lazy " + nbt.getClass() + " has invalid size");
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to read lazy NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testTouch() throws IOException {
+        CompoundNBT root = tree();
+        byte[] data = TestConstants.write(root);
+
+        // Modify nested values.
+        CompoundNBT lazy = (CompoundNBT) NBT.readLazy(ByteBuffer.wrap(data), NBTLimiter.unlimited());
+        assertNotNull(lazy);
+        ((CompoundNBT) lazy.getList("entities").get(1)).putInt("health", 5);
+        lazy.getCompound("level").remove("seed");
+        lazy.getList("names").set(0, new StringNBT("renamed"));
+        lazy.getList("scores").add(new IntNBT(42));
+        ((CompoundNBT) root.getList("entities").get(1)).putInt("health", 5);
+        root.getCompound("level").remove("seed");
+        root.getList("names").set(0, new StringNBT("renamed"));
+        root.getList("scores").add(new IntNBT(42));
+
+        // Compare.
+        assertEquals(root, lazy);
+        assertEquals(root.serializedSize(), lazy.serializedSize());
+        assertEquals(root, NBT.read(ByteBuffer.wrap(TestConstants.write(lazy)), NBTLimiter.unlimited()));
+    }
+
+    @Test
+    public void testIteration() throws IOException {
+        CompoundNBT root = tree();
+        CompoundNBT lazy = CompoundNBT.readLazy(ByteBuffer.wrap(TestConstants.write(root)).position(1), NBTLimiter.unlimited());
+        assertEquals(root.size(), lazy.size());
+        for (Map.Entry<String, NBT> entry : lazy.entrySet()) {
+            assertEquals(root.get(entry.getKey()), entry.getValue());
+        }
+        lazy.entrySet().removeIf(entry -> entry.getValue() instanceof ListNBT);
+        root.entrySet().removeIf(entry -> entry.getValue() instanceof ListNBT);
+        assertEquals(root, NBT.read(ByteBuffer.wrap(TestConstants.write(lazy)), NBTLimiter.unlimited()));
+    }
+
+    /**
+     * Creates a sample nested tree.
+     *
+     * @return Sample tree
+     */
+    private static CompoundNBT tree() {
+        CompoundNBT level = new CompoundNBT();
+        level.putString("name", "world");
+        level.putLong("seed", 1234567890123L);
+        ListNBT entities = new ListNBT();
+        for (int i = 0; i < 4; i++) {
+            CompoundNBT entity = new CompoundNBT();
+            entity.putString("id", "entity_" + i);
+            entity.putInt("health", 20 - i);
+            entities.add(entity);
+        }
+        ListNBT names = new ListNBT();
+        names.addString("first");
+        names.addString("second");
+        ListNBT scores = new ListNBT();
+        scores.addInt(1);
+        scores.addInt(2);
+        CompoundNBT root = new CompoundNBT();
+        root.put("level", level);
+        root.put("entities", entities);
+        root.put("names", names);
+        root.put("scores", scores);
+        root.putIntArray("array", new int[]{1, 2, 3});
+        return root;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.utils.ModifiedUTF8;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link ModifiedUTF8} matching the {@link DataInputStream#readUTF()} and {@link DataOutputStream#writeUTF(String)}.
+ *
+ * @author VidTu
+ */
+public final class ModifiedUTF8Tests {
+    @Test
+    public void testValid() throws IOException {
+        NBTLimiter limiter = NBTLimiter.unlimited();
+        NBTLimiter bounded = new NBTLimiter(Long.MAX_VALUE, 64, false, true, false);
+        for (String str : strings()) {
+            byte[] data = encode(str);
+            assertEquals(str, ModifiedUTF8.decode(data, 2, data.length - 2), () -> "Invalid decoded string: " + str);
+            assertEquals(str, NBTLimiter.readLimitedUTF(new DataInputStream(new ByteArrayInputStream(data)), limiter), () -> "Invalid unlimited string: " + str);
+            assertEquals(str, NBTLimiter.readLimitedUTF(new DataInputStream(new ByteArrayInputStream(data)), bounded), () -> "Invalid bounded string: " + str);
+            assertEquals(str, NBTLimiter.readLimitedUTF(ByteBuffer.wrap(data), bounded), () -> "Invalid heap buffer string: " + str);
+            assertEquals(str, NBTLimiter.readLimitedUTF(ByteBuffer.allocateDirect(data.length).put(data).flip(), bounded), () -> "Invalid direct buffer string: " + str);
+            bounded.reset();
+        }
+    }
+
+    @Test
+    public void testMalformed() {
+        HexFormat hex = HexFormat.of();
+        for (String input : List.of("80", "41bf", "c0", "41c1", "c041", "e0", "e080", "e08041", "e04180", "f0808080", "ff", "41f8")) {
+            byte[] data = hex.parseHex(input);
+            UTFDataFormatException expected = assertThrows(UTFDataFormatException.class, () -> new DataInputStream(new ByteArrayInputStream(prefixed(data))).readUTF());
+            UTFDataFormatException actual = assertThrows(UTFDataFormatException.class, () -> ModifiedUTF8.decode(data, 0, data.length), () -> "Decoded malformed input: " + input);
+            assertEquals(expected.getMessage(), actual.getMessage(), () -> "Invalid message for malformed input: " + input);
+            assertThrows(UTFDataFormatException.class, () -> NBTLimiter.readLimitedUTF(ByteBuffer.wrap(prefixed(data)), NBTLimiter.unlimited()), () -> "Read malformed input: " + input);
+        }
+    }
+
+    @Test
+    public void testEncode() throws IOException {
+        List<String> strings = strings();
+        strings.add("a".repeat(ModifiedUTF8.MAX_LENGTH));
+        strings.add("\u00e9".repeat(ModifiedUTF8.MAX_LENGTH / 2) + "a");
+        strings.add("\u4e2d".repeat(ModifiedUTF8.MAX_LENGTH / 3));
+        for (int i = 8180; i < 8200; i++) {
+            strings.add("a".repeat(i) + "\u4e2d\u00e9\u0000");
+        }
+        for (String str : strings) {
+            byte[] expected = encode(str);
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                ModifiedUTF8.write(out, str);
+                assertArrayEquals(expected, byteOut.toByteArray(), () -> "Invalid stream encoding: " + str.length());
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+            new NBTBufferOutput(buffer).writeUTF(str);
+            assertArrayEquals(expected, buffer.array(), () -> "Invalid buffer encoding: " + str.length());
+            assertEquals(expected.length - 2, ModifiedUTF8.length(str), () -> "Invalid length: " + str.length());
+            assertArrayEquals(expected, ModifiedUTF8.encodePrefixed(str), () -> "Invalid prefixed encoding: " + str.length());
+        }
+    }
+
+    @Test
+    public void testSingleWrite() throws IOException {
+        // Long ASCII strings fit the scratch buffer by their exact length.
+        for (String str : List.of("a".repeat(4000), "\u00e9".repeat(4000), "\u4e2d".repeat(2700))) {
+            int[] writes = new int[1];
+            ByteArrayOutputStream byteOut = new ByteArrayOutputStream() {
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    writes[0]++;
+                    super.write(b, off, len);
+                }
+            };
+            ModifiedUTF8.write(new DataOutputStream(byteOut), str);
+            assertArrayEquals(encode(str), byteOut.toByteArray(), () -> "Invalid encoding: " + str.length());
+            assertEquals(1, writes[0], () -> "Invalid write calls: " + str.length());
+        }
+    }
+
+    @Test
+    public void testTooLong() {
+        for (String str : List.of("a".repeat(ModifiedUTF8.MAX_LENGTH + 1), "\u0000".repeat(ModifiedUTF8.MAX_LENGTH / 2 + 1), "\u4e2d".repeat(ModifiedUTF8.MAX_LENGTH / 3 + 1))) {
+            assertThrows(UTFDataFormatException.class, () -> ModifiedUTF8.write(new DataOutputStream(new ByteArrayOutputStream()), str), () -> "Wrote too long string: " + str.length());
+            assertThrows(UTFDataFormatException.class, () -> new NBTBufferOutput(ByteBuffer.allocate(1 << 18)).writeUTF(str), () -> "Buffered too long string: " + str.length());
+        }
+    }
+
+    private static List<String> strings() {
+        Random random = new Random(0x4E424E54L);
+        List<String> strings = new ArrayList<>(List.of("", "minecraft:stone", "\u0000", "éè", "中文", "😀", "mixed \u0000 é 中 😀"));
+        for (int i = 0; i < 256; i++) {
+            char[] chars = new char[random.nextInt(1, 96)];
+            int bound = switch (i % 3) {
+                case 0 -> 0x80;
+                case 1 -> 0x800;
+                default -> 0x10000;
+            };
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(bound);
+            }
+            strings.add(new String(chars));
+        }
+        return strings;
+    }
+
+    private static byte[] encode(String str) throws IOException {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            out.writeUTF(str);
+            return byteOut.toByteArray();
+        }
+    }
+
+    private static byte[] prefixed(byte[] data) {
+        byte[] prefixed = new byte[data.length + 2];
+        prefixed[0] = (byte) (data.length >> 8);
+        prefixed[1] = (byte) data.length;
+        System.arraycopy(data, 0, prefixed, 2, data.length);
+        return prefixed;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.FloatNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTProjection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTProjection} reading only the selected paths.
+ *
+ * @author VidTu
+ */
+public final class NBTProjectionTests {
+    @Test
+    public void testProjection() throws Exception {
+        // Source.
+        ListNBT inventory = new ListNBT();
+        inventory.add(new StringNBT("minecraft:stone"));
+        CompoundNBT player = new CompoundNBT();
+        player.put("Inventory", inventory);
+        player.put("Health", new FloatNBT(20.0F));
+        CompoundNBT other = new CompoundNBT();
+        other.put("Value", new IntNBT(1));
+        CompoundNBT data = new CompoundNBT();
+        data.put("Player", player);
+        data.put("Other", other);
+        CompoundNBT root = new CompoundNBT();
+        root.put("DataVersion", new IntNBT(3700));
+        root.put("Data", data);
+        root.put("Junk", new StringNBT("junk"));
+
+        // Expected.
+        CompoundNBT expectedPlayer = new CompoundNBT();
+        expectedPlayer.put("Inventory", inventory);
+        CompoundNBT expectedData = new CompoundNBT();
+        expectedData.put("Player", expectedPlayer);
+        expectedData.put("Other", other);
+        CompoundNBT expected = new CompoundNBT();
+        expected.put("DataVersion", new IntNBT(3700));
+        expected.put("Data", expectedData);
+
+        NBTProjection projection = NBTProjection.of("Data.Player.Inventory", "DataVersion", "Data.Other", "Data.Other.Value", "Missing.Path", "Junk.Deeper");
+        assertEquals(projection, NBTProjection.ofKeys(List.of(List.of("Data", "Other"), List.of("Data", "Player", "Inventory"), List.of("DataVersion"), List.of("Missing", "Path"), List.of("Junk", "Deeper"))));
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.writeNamed(out, "", root);
+            byte[] bytes = byteOut.toByteArray();
+
+            NBTLimiter limiter = new NBTLimiter(bytes.length, 512, false, true, false);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                assertEquals(expected, projection.readNamed(in, limiter));
+            }
+            assertEquals(bytes.length, limiter.length());
+            assertEquals(0, limiter.depth());
+
+            limiter.reset();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            assertEquals(expected, projection.readNamed(buffer, limiter));
+            assertFalse(buffer.hasRemaining());
+            assertEquals(bytes.length, limiter.length());
+
+            assertThrows(IllegalStateException.class, () -> projection.readNamed(ByteBuffer.wrap(bytes), new NBTLimiter(bytes.length - 1, 512, false, true, false)));
+        }
+    }
+
+    @Test
+    public void testNonCompound() throws Exception {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.write(out, new StringNBT("value"));
+            NBT.write(out, null);
+            ByteBuffer buffer = ByteBuffer.wrap(byteOut.toByteArray());
+            NBTProjection projection = NBTProjection.of("Data");
+            assertEquals(new CompoundNBT(), projection.read(buffer, NBTLimiter.unlimited()));
+            assertNull(projection.read(buffer, NBTLimiter.unlimited()));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.ByteArrayNBT;
+import ru.brominemc.nbnt.types.ByteNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.DoubleNBT;
+import ru.brominemc.nbnt.types.FloatNBT;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.LongArrayNBT;
+import ru.brominemc.nbnt.types.LongNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.ShortNBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTVisitor;
+import ru.brominemc.nbnt.utils.NBTVisitor.Result;
+import ru.brominemc.nbnt.utils.NBTWalker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTWalker} emitting the events matching the read NBT.
+ *
+ * @author VidTu
+ */
+public final class NBTWalkerTests {
+    @Test
+    public void testWalk() {
+        String name = "example_tag_name";
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                NBT.writeNamed(out, name, nbt);
+                byte[] data = byteOut.toByteArray();
+                TreeVisitor streamVisitor = new TreeVisitor();
+                try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                    assertTrue(NBTWalker.walkNamed(in, NBTLimiter.vanillaProtocol(), streamVisitor), () -> "Walker for " + nbt.getClass() + " read NBT End");
+                }
+                assertEquals(name, streamVisitor.rootName, () -> "Walker for " + nbt.getClass() + " visited invalid name");
+                assertEquals(nbt, streamVisitor.root, () -> "Walker for " + nbt.getClass() + " visited invalid NBT: " + streamVisitor.root);
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                TreeVisitor bufferVisitor = new TreeVisitor();
+                assertTrue(NBTWalker.walkNamed(buffer, NBTLimiter.vanillaProtocol(), bufferVisitor), () -> "Buffer walker for " + nbt.getClass() + " read NBT End");
+                assertEquals(nbt, bufferVisitor.root, () -> "Buffer walker for " + nbt.getClass() + " visited invalid NBT: " + bufferVisitor.root);
+                assertFalse(buffer.hasRemaining(), () -> "Buffer walker for " + nbt.getClass() + " left unread bytes: " + buffer);
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to walk NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testLimits() throws Exception {
+        // Nested lists.
+        NBT nbt = new ListNBT();
+        for (int i = 0; i < 16; i++) {
+            ListNBT list = new ListNBT();
+            list.add(nbt);
+            nbt = list;
+        }
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.write(out, nbt);
+            byte[] data = byteOut.toByteArray();
+            assertThrows(IllegalStateException.class, () -> NBTWalker.walk(ByteBuffer.wrap(data), new NBTLimiter(Long.MAX_VALUE, 8, false, true, false), new NBTVisitor() {}));
+            assertThrows(IllegalStateException.class, () -> NBTWalker.walk(ByteBuffer.wrap(data), new NBTLimiter(data.length - 1, 512, false, true, false), new NBTVisitor() {}));
+            NBTLimiter limiter = new NBTLimiter(data.length, 512, false, true, false);
+            assertTrue(NBTWalker.walk(new DataInputStream(new ByteArrayInputStream(data)), limiter, new NBTVisitor() {}));
+            assertEquals(data.length, limiter.length());
+            assertEquals(0, limiter.depth());
+        }
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        byte[] data = TestConstants.write(orderedCompound());
+
+        // Skip the tag by key and the rest of the compound by value.
+        for (int pass = 0; pass < 2; pass++) {
+            List<String> events = new ArrayList<>();
+            NBTVisitor visitor = new NBTVisitor() {
+                @Override
+                public Result visitKey(byte type, String key) {
+                    events.add(key);
+                    return "nested".equals(key) ? Result.SKIP : Result.CONTINUE;
+                }
+
+                @Override
+                public Result visitInt(int value) {
+                    events.add("int " + value);
+                    return value == 2 ? Result.SKIP : Result.CONTINUE;
+                }
+
+                @Override
+                public Result visitListStart(byte type, int length) {
+                    events.add("list " + length);
+                    return Result.SKIP;
+                }
+
+                @Override
+                public Result visitCompoundEnd() {
+                    events.add("end");
+                    return Result.CONTINUE;
+                }
+            };
+            NBTLimiter limiter = new NBTLimiter(data.length, 512, false, true, false);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            boolean completed = pass == 0
+                    ? NBTWalker.walkPayload(new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1)), limiter, visitor, CompoundNBT.COMPOUND_NBT_TYPE)
+                    : NBTWalker.walkPayload(buffer.position(1), limiter, visitor, CompoundNBT.COMPOUND_NBT_TYPE);
+            assertTrue(completed, "Walker has stopped on skip");
+            assertEquals(List.of("a", "int 1", "nested", "list", "list 3", "counter", "int 2", "end"), events, "Walker emitted invalid events");
+            assertEquals(data.length - 1, limiter.length(), "Walker has not limited the skipped bytes");
+            assertEquals(0, limiter.depth(), "Walker has not popped the skipped depth");
+            if (pass == 1) assertFalse(buffer.hasRemaining(), () -> "Buffer walker left unread bytes: " + buffer);
+        }
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        byte[] data = TestConstants.write(orderedCompound());
+        List<String> events = new ArrayList<>();
+        NBTVisitor visitor = new NBTVisitor() {
+            @Override
+            public Result visitKey(byte type, String key) {
+                events.add(key);
+                return Result.CONTINUE;
+            }
+
+            @Override
+            public Result visitString(String value) {
+                events.add(value);
+                return "stop".equals(value) ? Result.STOP : Result.CONTINUE;
+            }
+        };
+        NBTLimiter limiter = NBTLimiter.vanillaProtocol();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        assertTrue(NBTWalker.walk(buffer, limiter, visitor), "Walker read NBT End");
+        assertEquals(List.of("a", "nested", "name", "stop"), events, "Walker emitted events after stop");
+        assertEquals(0, limiter.depth(), "Walker has not restored the depth after stop");
+        assertTrue(buffer.hasRemaining(), "Walker read the tag after stop");
+    }
+
+    /**
+     * Creates the compound with the predictable order of entries.
+     *
+     * @return Compound {@code {a: 1, nested: {name: "stop", deep: [[1]]}, list: [{}, {}, {}], counter: 2, after: 3}}
+     */
+    private static CompoundNBT orderedCompound() {
+        ListNBT inner = new ListNBT();
+        inner.add(new IntNBT(1));
+        ListNBT deep = new ListNBT();
+        deep.add(inner);
+        CompoundNBT nested = new CompoundNBT(new LinkedHashMap<>());
+        nested.put("name", new StringNBT("stop"));
+        nested.put("deep", deep);
+        ListNBT list = new ListNBT();
+        for (int i = 0; i < 3; i++) {
+            list.add(new CompoundNBT());
+        }
+        CompoundNBT compound = new CompoundNBT(new LinkedHashMap<>());
+        compound.put("a", new IntNBT(1));
+        compound.put("nested", nested);
+        compound.put("list", list);
+        compound.put("counter", new IntNBT(2));
+        compound.put("after", new IntNBT(3));
+        return compound;
+    }
+
+    /**
+     * Visitor that builds the tree back.
+     */
+    private static final class TreeVisitor implements NBTVisitor {
+        private final Deque<NBT> containers = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+        private String rootName;
+        private String key;
+        private NBT root;
+
+        @Override
+        public Result visitKey(byte type, String key) {
+            if (this.containers.isEmpty()) {
+                this.rootName = key;
+            }
+            this.key = key;
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitByte(byte value) {
+            this.add(new ByteNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitShort(short value) {
+            this.add(new ShortNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitInt(int value) {
+            this.add(new IntNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitLong(long value) {
+            this.add(new LongNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitFloat(float value) {
+            this.add(new FloatNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitDouble(double value) {
+            this.add(new DoubleNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitString(String value) {
+            this.add(new StringNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitByteArray(byte[] value) {
+            this.add(new ByteArrayNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitIntArray(int[] value) {
+            this.add(new IntArrayNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitLongArray(long[] value) {
+            this.add(new LongArrayNBT(value));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitListStart(byte type, int length) {
+            this.start(new ListNBT());
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitListEnd() {
+            this.end();
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitCompoundStart() {
+            this.start(new CompoundNBT());
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitCompoundEnd() {
+            this.end();
+            return Result.CONTINUE;
+        }
+
+        private void start(NBT container) {
+            this.add(container);
+            this.containers.push(container);
+            this.keys.push(String.valueOf(this.key));
+        }
+
+        private void end() {
+            this.containers.pop();
+            this.key = this.keys.pop();
+        }
+
+        private void add(NBT nbt) {
+            NBT parent = this.containers.peek();
+            if (parent == null) {
+                this.root = nbt;
+            } else if (parent instanceof CompoundNBT compound) {
+                compound.put(this.key, nbt);
+            } else {
+                ((ListNBT) parent).add(nbt);
+            }
+        }
+    }
+}
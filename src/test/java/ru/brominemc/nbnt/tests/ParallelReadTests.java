@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTStringPool;
+import ru.brominemc.nbnt.utils.exceptions.LongNBTException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBT#readParallel(ByteBuffer, NBTLimiter)} reading the same NBT as {@link NBT#read(ByteBuffer, NBTLimiter)}.
+ *
+ * @author VidTu
+ */
+public final class ParallelReadTests {
+    @Test
+    public void testSmall() throws IOException {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            byte[] data = TestConstants.write(nbt);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            assertEquals(nbt, NBT.readParallel(buffer, NBTLimiter.unlimited()));
+            assertEquals(data.length, buffer.position());
+        }
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+        CompoundNBT chunk = TestConstants.chunk();
+        byte[] data = TestConstants.write(chunk);
+
+        // Read sequentially and in parallel.
+        NBTLimiter sequentialLimiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false);
+        NBTLimiter parallelLimiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false);
+        NBT sequential = NBT.read(ByteBuffer.wrap(data), sequentialLimiter);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        NBT parallel = NBT.readParallel(buffer, parallelLimiter);
+        assertEquals(chunk, sequential);
+        assertEquals(sequential, parallel);
+        assertEquals(data.length, buffer.position());
+        assertEquals(sequentialLimiter.length(), parallelLimiter.length());
+        assertEquals(0, parallelLimiter.depth());
+
+        // Named.
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.writeNamed(out, "chunk", chunk);
+            Map.Entry<String, NBT> entry = NBT.readNamedParallel(ByteBuffer.wrap(byteOut.toByteArray()), NBTLimiter.unlimited());
+            assertNotNull(entry);
+            assertEquals("chunk", entry.getKey());
+            assertEquals(chunk, entry.getValue());
+        }
+    }
+
+    @Test
+    public void testPoolForks() throws IOException {
+        // Count the forks of the pool.
+        AtomicInteger forks = new AtomicInteger();
+        NBTStringPool pool = new NBTStringPool() {
+            @Override
+            public String get(byte[] data, int offset, int length) {
+                return null;
+            }
+
+            @Override
+            public String put(byte[] data, int offset, int length, String str) {
+                return str;
+            }
+
+            @Override
+            public NBTStringPool fork() {
+                forks.incrementAndGet();
+                return NBTStringPool.local(64);
+            }
+        };
+
+        // The pool is forked once per thread, not per task.
+        CompoundNBT chunk = TestConstants.chunk();
+        NBTLimiter limiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false, pool);
+        assertEquals(chunk, NBT.readParallel(ByteBuffer.wrap(TestConstants.write(chunk)), limiter));
+        int threads = ForkJoinPool.getCommonPoolParallelism() + 2;
+        assertTrue(forks.get() <= threads, () -> "Forked " + forks.get() + " times for " + threads + " threads");
+    }
+
+    @Test
+    public void testInvalid() throws IOException {
+        byte[] data = TestConstants.write(TestConstants.chunk());
+
+        // Limits are checked before reading.
+        assertThrows(LongNBTException.class, () -> NBT.readParallel(ByteBuffer.wrap(data), new NBTLimiter(data.length - 1, 512, false, true, false)));
+
+        // Malformed strings are found while reading.
+        byte[] marker = "marker".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < data.length - marker.length; i++) {
+            if (!Arrays.equals(data, i, i + marker.length, marker, 0, marker.length)) continue;
+            data[i] = (byte) 0xFF;
+        }
+        assertThrows(UTFDataFormatException.class, () -> NBT.readParallel(ByteBuffer.wrap(data), NBTLimiter.unlimited()));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBT#writeParallel(java.io.DataOutput, NBT)} writing the same bytes as {@link NBT#write(java.io.DataOutput, NBT)}.
+ *
+ * @author VidTu
+ */
+public final class ParallelWriteTests {
+    @Test
+    public void testSmall() throws IOException {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            assertArrayEquals(TestConstants.write(nbt), writeParallel(nbt));
+        }
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+        CompoundNBT chunk = TestConstants.chunk();
+        byte[] expected = TestConstants.write(chunk);
+        assertArrayEquals(expected, writeParallel(chunk));
+
+        // Lazy subtrees are written as is.
+        CompoundNBT lazy = (CompoundNBT) NBT.readLazy(ByteBuffer.wrap(expected), NBTLimiter.unlimited());
+        assertNotNull(lazy);
+        CompoundNBT wrapper = new CompoundNBT();
+        wrapper.put("lazy", lazy);
+        wrapper.put("chunk", chunk);
+        assertArrayEquals(TestConstants.write(wrapper), writeParallel(wrapper));
+
+        // Named.
+        try (ByteArrayOutputStream sequentialOut = new ByteArrayOutputStream();
+             DataOutputStream sequential = new DataOutputStream(sequentialOut);
+             ByteArrayOutputStream parallelOut = new ByteArrayOutputStream();
+             DataOutputStream parallel = new DataOutputStream(parallelOut)) {
+            NBT.writeNamed(sequential, "chunk", chunk);
+            NBT.writeNamedParallel(parallel, "chunk", chunk);
+            assertArrayEquals(sequentialOut.toByteArray(), parallelOut.toByteArray());
+        }
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        CompoundNBT chunk = TestConstants.chunk();
+        byte[] expected = TestConstants.write(chunk);
+        Path file = Files.createTempFile("nbnt", ".nbt");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                assertEquals(expected.length, NBT.writeParallel(channel, chunk));
+            }
+            assertArrayEquals(expected, Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testStalledChannel() {
+        GatheringByteChannel stalled = new GatheringByteChannel() {
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) {
+                return 0L;
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs) {
+                return 0L;
+            }
+
+            @Override
+            public int write(ByteBuffer src) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // NO-OP
+            }
+        };
+        assertThrows(IOException.class, () -> NBT.writeParallel(stalled, TestConstants.chunk()));
+    }
+
+    /**
+     * Writes the NBT with the type in parallel.
+     *
+     * @param nbt Target NBT
+     * @return Written bytes
+     * @throws IOException On I/O exception
+     */
+    private static byte[] writeParallel(NBT nbt) throws IOException {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.writeParallel(out, nbt);
+            return byteOut.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.ByteNBT;
+import ru.brominemc.nbnt.types.DoubleNBT;
+import ru.brominemc.nbnt.types.FloatNBT;
+import ru.brominemc.nbnt.types.IntNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.LongNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.ShortNBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for primitive lists read from the input or the buffer.
+ *
+ * @author VidTu
+ */
+public final class PrimitiveListTests {
+    @Test
+    public void testReadWrite() throws IOException {
+        for (ListNBT list : lists()) {
+            byte[] data = TestConstants.write(list);
+
+            // Read from the stream.
+            ListNBT streamList = (ListNBT) NBT.read(new DataInputStream(new ByteArrayInputStream(data)), NBTLimiter.unlimited());
+            assertNotNull(streamList);
+            assertEquals(list.type(), streamList.type());
+            assertEquals(list.serializedSize(), streamList.serializedSize());
+            assertArrayEquals(data, TestConstants.write(streamList), () -> "Stream list of " + list.type() + " written differently");
+
+            // Read from the buffer.
+            ListNBT bufferList = (ListNBT) NBT.read(ByteBuffer.wrap(data), NBTLimiter.unlimited());
+            assertNotNull(bufferList);
+            assertEquals(streamList, bufferList);
+            assertEquals(streamList.hashCode(), bufferList.hashCode());
+            NBTBufferOutput out = new NBTBufferOutput(ByteBuffer.allocate(data.length));
+            NBT.write(out, bufferList);
+            assertArrayEquals(data, out.buffer().array(), () -> "Buffer list of " + list.type() + " written differently");
+
+            // Compare with tags.
+            assertEquals(list.hashCode(), bufferList.hashCode());
+            assertEquals(list, bufferList);
+            assertEquals(list, streamList);
+        }
+    }
+
+    @Test
+    public void testPrimitives() throws IOException {
+        ListNBT source = new ListNBT();
+        source.addInt(1);
+        source.addInt(2);
+        source.addInt(3);
+        ListNBT list = (ListNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(source)), NBTLimiter.unlimited());
+        assertNotNull(list);
+
+        // Primitive methods.
+        list.addInt(4);
+        assertTrue(list.containsInt(4));
+        assertFalse(list.containsInt(5));
+        assertFalse(list.containsLong(4L));
+        assertTrue(list.removeInt(2));
+        assertFalse(list.removeInt(2));
+        assertTrue(list.contains(new IntNBT(3)));
+        assertThrows(IllegalArgumentException.class, () -> list.addString("string"));
+        assertEquals(IntNBT.class, list.type());
+        assertEquals(List.of(new IntNBT(1), new IntNBT(3), new IntNBT(4)), list);
+
+        // Tags are attached to the list.
+        ((IntNBT) list.getFirst()).value(42);
+        assertTrue(list.containsInt(42));
+        list.addInt(5);
+        ListNBT read = (ListNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(list)), NBTLimiter.unlimited());
+        assertEquals(List.of(new IntNBT(42), new IntNBT(3), new IntNBT(4), new IntNBT(5)), read);
+
+        // Empty list.
+        read.clear();
+        assertNull(read.type());
+        read.addString("string");
+        assertEquals(StringNBT.class, read.type());
+        assertEquals(read, NBT.read(ByteBuffer.wrap(TestConstants.write(read)), NBTLimiter.unlimited()));
+    }
+
+    @Test
+    public void testTags() throws IOException {
+        ListNBT source = new ListNBT();
+        source.addDouble(1.0F);
+        source.addDouble(2.0F);
+        ListNBT list = (ListNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(source)), NBTLimiter.unlimited());
+        assertNotNull(list);
+
+        // Added and set tags are kept.
+        DoubleNBT added = new DoubleNBT(3.0D);
+        list.add(added);
+        added.value(99.0D);
+        assertSame(added, list.get(2));
+        assertTrue(list.containsDouble(99.0D));
+        DoubleNBT set = new DoubleNBT(4.0D);
+        list.set(0, set);
+        set.value(98.0D);
+        assertSame(set, list.getFirst());
+
+        // Read tags are cached and attached.
+        for (NBT nbt : list) {
+            assertSame(nbt, list.get(list.indexOf(nbt)));
+        }
+        ((DoubleNBT) list.get(1)).value(97.0D);
+        list.addDouble(5.0F);
+        list.removeDouble(5.0D);
+        assertEquals(List.of(new DoubleNBT(98.0D), new DoubleNBT(97.0D), new DoubleNBT(99.0D)), list);
+        assertEquals(list, NBT.read(ByteBuffer.wrap(TestConstants.write(list)), NBTLimiter.unlimited()));
+
+        // Frozen tags are cached and keep the attached tags.
+        NBT first = list.getFirst();
+        list.freeze();
+        assertSame(first, list.getFirst());
+        assertTrue(first.frozen());
+        assertSame(list.get(1), list.get(1));
+        assertEquals(List.of(new DoubleNBT(98.0D), new DoubleNBT(97.0D), new DoubleNBT(99.0D)), list);
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        ListNBT source = new ListNBT();
+        for (int i = 0; i < 4096; i++) {
+            source.addInt(i);
+        }
+        for (int attempt = 0; attempt < 16; attempt++) {
+            ListNBT list = (ListNBT) NBT.read(ByteBuffer.wrap(TestConstants.write(source)), NBTLimiter.unlimited());
+            assertNotNull(list);
+            List<NBT> first = Collections.synchronizedList(new ArrayList<>());
+            Thread[] threads = new Thread[4];
+            CyclicBarrier barrier = new CyclicBarrier(threads.length);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        barrier.await();
+                        int sum = 0;
+                        for (NBT nbt : list) {
+                            sum += ((IntNBT) nbt).value();
+                        }
+                        assertEquals(4096 * 4095 / 2, sum);
+                        first.add(list.getFirst());
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertNull(error.get());
+            for (NBT nbt : first) {
+                assertSame(list.getFirst(), nbt);
+            }
+        }
+    }
+
+    /**
+     * Creates the sample lists of every primitive type.
+     *
+     * @return Sample lists
+     */
+    private static List<ListNBT> lists() {
+        ListNBT bytes = new ListNBT();
+        ListNBT shorts = new ListNBT();
+        ListNBT ints = new ListNBT();
+        ListNBT longs = new ListNBT();
+        ListNBT floats = new ListNBT();
+        ListNBT doubles = new ListNBT();
+        ListNBT strings = new ListNBT();
+        for (int i = 0; i < 5000; i++) {
+            bytes.add(new ByteNBT((byte) i));
+            shorts.add(new ShortNBT((short) (i * 31)));
+            ints.add(new IntNBT(i * 1_000_003));
+            longs.add(new LongNBT(i * 1_000_000_007L));
+            floats.add(new FloatNBT(i / 3.0F));
+            doubles.add(new DoubleNBT(i / 7.0D));
+            strings.add(new StringNBT("string_" + i + (i % 10 == 0 ? "\u0000€" : "")));
+        }
+        return List.of(bytes, shorts, ints, longs, floats, doubles, strings);
+    }
+}
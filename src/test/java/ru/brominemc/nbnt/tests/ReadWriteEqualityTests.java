@@ -18,14 +18,21 @@ package ru.brominemc.nbnt.tests;
 
 import org.junit.jupiter.api.Test;
 import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.LongArrayNBT;
 import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTBufferOutput;
 import ru.brominemc.nbnt.utils.NBTLimiter;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -90,4 +97,130 @@ public final class ReadWriteEqualityTests {
             }
         }
     }
+
+    @Test
+    public void testNamedBuffer() {
+        String name = "example_tag_name";
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                assertDoesNotThrow(() -> NBT.writeNamed(out, name, nbt), () -> "Named writer for " + nbt.getClass() + " wasn't able to write: " + nbt);
+                for (ByteBuffer buffer : buffers(byteOut.toByteArray())) {
+                    Map.Entry<String, NBT> entry = assertDoesNotThrow(() -> NBT.readNamed(buffer, NBTLimiter.unlimited()), () -> "Named buffer reader for " + nbt.getClass() + " wasn't able to read: " + nbt);
+                    assertNotNull(entry, () -> "Named buffer reader for " + nbt.getClass() + " returned null");
+                    assertEquals(name, entry.getKey(), () -> "Named buffer reader for " + nbt.getClass() + " returned invalid name: " + entry);
+                    assertEquals(nbt, entry.getValue(), () -> "Named buffer reader for " + nbt.getClass() + " returned invalid NBT: " + entry);
+                    assertFalse(buffer.hasRemaining(), () -> "Named buffer reader for " + nbt.getClass() + " left unread bytes: " + buffer);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to read/write named NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testUnnamedBuffer() {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                assertDoesNotThrow(() -> NBT.writeUnnamed(out, nbt), () -> "Unnamed writer for " + nbt.getClass() + " wasn't able to write: " + nbt);
+                for (ByteBuffer buffer : buffers(byteOut.toByteArray())) {
+                    NBT readNbt = assertDoesNotThrow(() -> NBT.readUnnamed(buffer, NBTLimiter.unlimited()), () -> "Unnamed buffer reader for " + nbt.getClass() + " wasn't able to read: " + nbt);
+                    assertEquals(nbt, readNbt, () -> "Unnamed buffer reader for " + nbt.getClass() + " returned invalid NBT: " + readNbt);
+                    assertFalse(buffer.hasRemaining(), () -> "Unnamed buffer reader for " + nbt.getClass() + " left unread bytes: " + buffer);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to read/write unnamed NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testPlainBuffer() {
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                assertDoesNotThrow(() -> NBT.write(out, nbt), () -> "Plain writer for " + nbt.getClass() + " wasn't able to write: " + nbt);
+                for (ByteBuffer buffer : buffers(byteOut.toByteArray())) {
+                    NBT readNbt = assertDoesNotThrow(() -> NBT.read(buffer, NBTLimiter.vanillaProtocol()), () -> "Plain buffer reader for " + nbt.getClass() + " wasn't able to read: " + nbt);
+                    assertEquals(nbt, readNbt, () -> "Plain buffer reader for " + nbt.getClass() + " returned invalid NBT: " + readNbt);
+                    assertFalse(buffer.hasRemaining(), () -> "Plain buffer reader for " + nbt.getClass() + " left unread bytes: " + buffer);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to read/write plain NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeArrays() throws Exception {
+        Random random = new Random(0x4E424E54L);
+        for (int length : new int[]{1, 1023, 1024, 1025, 2048, 5000, 100_000}) {
+            for (NBT nbt : new NBT[]{new IntArrayNBT(random.ints(length).toArray()), new LongArrayNBT(random.longs(length).toArray())}) {
+                try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                     DataOutputStream out = new DataOutputStream(byteOut)) {
+                    NBT.write(out, nbt);
+                    byte[] data = byteOut.toByteArray();
+                    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                        assertEquals(nbt, NBT.read(in, NBTLimiter.unlimited()), () -> "Invalid bulk read for " + nbt.getClass() + " of length " + length);
+                    }
+                    ByteBuffer buffer = ByteBuffer.allocate(data.length);
+                    NBT.write(buffer, nbt);
+                    assertArrayEquals(data, buffer.array(), () -> "Invalid bulk buffer write for " + nbt.getClass() + " of length " + length);
+                    ByteArrayOutputStream channelOut = new ByteArrayOutputStream();
+                    NBTBufferOutput spilling = new NBTBufferOutput(ByteBuffer.allocate(64), Channels.newChannel(channelOut));
+                    NBT.write(spilling, nbt);
+                    spilling.flush();
+                    assertArrayEquals(data, channelOut.toByteArray(), () -> "Invalid bulk channel write for " + nbt.getClass() + " of length " + length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStringRewrite() throws Exception {
+        StringNBT nbt = new StringNBT("first");
+        for (String value : new String[]{"first", "second \u00e9", "third \u4e2d", ""}) {
+            nbt.value(value);
+            for (int i = 0; i < 2; i++) {
+                try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                     DataOutputStream out = new DataOutputStream(byteOut)) {
+                    nbt.write(out);
+                    assertEquals(byteOut.size(), nbt.serializedSize(), () -> "Invalid size after rewrite: " + nbt);
+                    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(byteOut.toByteArray()))) {
+                        assertEquals(value, in.readUTF(), () -> "Invalid string after rewrite: " + nbt);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFrozenStringRewrite() throws Exception {
+        for (String value : new String[]{"first", "second \u00e9", "third \u4e2d", ""}) {
+            StringNBT nbt = new StringNBT(value).freeze();
+            for (int i = 0; i < 2; i++) {
+                try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                     DataOutputStream out = new DataOutputStream(byteOut)) {
+                    nbt.write(out);
+                    assertEquals(byteOut.size(), nbt.serializedSize(), () -> "Invalid size after rewrite: " + nbt);
+                    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(byteOut.toByteArray()))) {
+                        assertEquals(value, in.readUTF(), () -> "Invalid string after rewrite: " + nbt);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Wraps the data into a heap and a direct buffer.
+     *
+     * @param data Target data
+     * @return Heap and direct buffers with the data
+     */
+    private static ByteBuffer[] buffers(byte[] data) {
+        ByteBuffer heap = ByteBuffer.wrap(data);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        return new ByteBuffer[]{heap, direct};
+    }
 }
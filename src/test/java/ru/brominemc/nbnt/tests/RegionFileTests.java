@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.types.ByteArrayNBT;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTCompression;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTRegionFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBTRegionFile} reading and writing the chunks.
+ *
+ * @author VidTu
+ */
+public final class RegionFileTests {
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            Path path = dir.resolve("r.-1.0.mca");
+            NBTCompression[] compressions = {NBTCompression.GZIP, NBTCompression.ZLIB, NBTCompression.NONE};
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                assertFalse(region.hasChunk(-1, 0));
+                assertNull(region.readChunk(-1, 0, NBTLimiter.unlimited()));
+                for (int i = 0; i < 96; i++) {
+                    region.writeChunk(-32 + (i & 31), i >> 5, "chunk", chunk(i, 1000 + i * 100), compressions[i % 3]);
+                }
+                for (int i = 0; i < 96; i++) {
+                    assertTrue(region.hasChunk(-32 + (i & 31), i >> 5));
+                    assertNotEquals(0, region.timestamp(-32 + (i & 31), i >> 5));
+                    Map.Entry<String, NBT> entry = region.readChunk(-32 + (i & 31), i >> 5, NBTLimiter.unlimited());
+                    assertNotNull(entry);
+                    assertEquals("chunk", entry.getKey());
+                    assertEquals(chunk(i, 1000 + i * 100), entry.getValue());
+                }
+                region.flush();
+            }
+            assertEquals(0, Files.size(path) % NBTRegionFile.SECTOR_SIZE);
+
+            // Reopen.
+            try (NBTRegionFile region = new NBTRegionFile(path, true)) {
+                for (int i = 0; i < 96; i++) {
+                    assertEquals(chunk(i, 1000 + i * 100), region.readChunk(i, i >> 5, NBTLimiter.unlimited()).getValue());
+                }
+                assertFalse(region.hasChunk(0, 3));
+                assertThrows(UnsupportedOperationException.class, () -> region.writeChunk(0, 0, new CompoundNBT()));
+                assertThrows(UnsupportedOperationException.class, () -> region.deleteChunk(0, 0));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testSectorReuse() throws IOException {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            Path path = dir.resolve("r.0.0.mca");
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                for (int i = 0; i < 8; i++) {
+                    region.writeChunk(i, 0, "", chunk(i, 20000), NBTCompression.NONE);
+                }
+                long size = Files.size(path);
+
+                // Rewriting moves the chunk into the free sectors and frees the old ones.
+                for (int round = 0; round < 16; round++) {
+                    for (int i = 0; i < 8; i++) {
+                        region.writeChunk(i, 0, "", chunk(i + round, 20000), NBTCompression.NONE);
+                    }
+                }
+                assertTrue(Files.size(path) <= size + 5 * NBTRegionFile.SECTOR_SIZE, () -> "grown from " + size);
+
+                // Deleted chunk sectors are reused.
+                assertTrue(region.deleteChunk(3, 0));
+                assertFalse(region.deleteChunk(3, 0));
+                assertFalse(region.hasChunk(3, 0));
+                long deleted = Files.size(path);
+                region.writeChunk(9, 0, "", chunk(9, 20000), NBTCompression.NONE);
+                assertEquals(deleted, Files.size(path));
+                for (int i = 0; i < 8; i++) {
+                    if (i == 3) continue;
+                    assertEquals(chunk(i + 15, 20000), region.readChunk(i, 0, NBTLimiter.unlimited()).getValue());
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testExternal() throws IOException {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            Path path = dir.resolve("r.0.0.mca");
+            Path external = dir.resolve("c.5.7.mcc");
+            CompoundNBT large = chunk(0, 2 << 20);
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                region.writeChunk(5, 7, "", large, NBTCompression.NONE);
+                assertTrue(Files.exists(external));
+                region.writeChunk(5, 7, "", large, NBTCompression.NONE);
+                assertFalse(Files.exists(dir.resolve("c.5.7.mcc.tmp")));
+                assertTrue(Files.size(path) <= 4 * NBTRegionFile.SECTOR_SIZE);
+                assertEquals(large, region.readChunk(5, 7, NBTLimiter.unlimited()).getValue());
+
+                // Small again.
+                region.writeChunk(5, 7, "", chunk(1, 100), NBTCompression.ZLIB);
+                assertFalse(Files.exists(external));
+                assertEquals(chunk(1, 100), region.readChunk(5, 7, NBTLimiter.unlimited()).getValue());
+
+                // Deleted.
+                region.writeChunk(5, 7, "", large, NBTCompression.GZIP);
+                assertTrue(Files.exists(external));
+                assertEquals(large, region.readChunk(5, 7, NBTLimiter.unlimited()).getValue());
+                region.deleteChunk(5, 7);
+                assertFalse(Files.exists(external));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testVanillaLayout() throws IOException {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            // Write the chunk at 1, 2 in sector 2 manually.
+            CompoundNBT chunk = chunk(7, 3000);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(compressed))) {
+                NBT.writeNamed(out, "", chunk);
+            }
+            int sectors = (compressed.size() + 5 + NBTRegionFile.SECTOR_SIZE - 1) / NBTRegionFile.SECTOR_SIZE;
+            ByteBuffer file = ByteBuffer.allocate((2 + sectors) * NBTRegionFile.SECTOR_SIZE);
+            int index = 1 + 2 * 32;
+            file.putInt(index * 4, 2 << 8 | sectors);
+            file.putInt(NBTRegionFile.SECTOR_SIZE + index * 4, 123456);
+            file.position(2 * NBTRegionFile.SECTOR_SIZE).putInt(compressed.size() + 1).put((byte) 2).put(compressed.toByteArray()).clear();
+            Path path = dir.resolve("r.0.0.mca");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                channel.write(file);
+            }
+
+            // Read.
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                assertEquals(123456, region.timestamp(1, 2));
+                assertEquals(chunk, region.readChunk(1, 2, NBTLimiter.unlimited()).getValue());
+
+                // The existing chunk sectors are not overwritten.
+                region.writeChunk(2, 2, chunk(8, 3000));
+                assertEquals(chunk, region.readChunk(1, 2, NBTLimiter.unlimited()).getValue());
+                assertEquals(chunk(8, 3000), region.readChunk(2, 2, NBTLimiter.unlimited()).getValue());
+            }
+
+            // Unsupported compression.
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{4}), 2 * NBTRegionFile.SECTOR_SIZE + 4);
+            }
+            try (NBTRegionFile region = new NBTRegionFile(path, true)) {
+                assertThrows(IOException.class, () -> region.readChunk(1, 2, NBTLimiter.unlimited()));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testOverlapping() throws IOException {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            Path path = dir.resolve("r.0.0.mca");
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                region.writeChunk(0, 0, chunk(0, 100));
+            }
+
+            // Point the second chunk into the sectors of the first one.
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer location = ByteBuffer.allocate(4);
+                channel.read(location, 0);
+                channel.write(location.flip(), 4);
+            }
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                assertTrue(region.hasChunk(0, 0));
+                assertFalse(region.hasChunk(1, 0));
+                region.writeChunk(2, 0, chunk(2, 100));
+                assertEquals(chunk(0, 100), region.readChunk(0, 0, NBTLimiter.unlimited()).getValue());
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        Path dir = Files.createTempDirectory("nbnt-region");
+        try {
+            Path path = dir.resolve("r.0.0.mca");
+            try (NBTRegionFile region = new NBTRegionFile(path, false)) {
+                for (int i = 0; i < 32; i++) {
+                    region.writeChunk(i, 0, chunk(i, 10000));
+                }
+
+                // Rewrite the chunks while reading them from other threads.
+                Thread[] threads = new Thread[4];
+                Throwable[] failure = new Throwable[1];
+                for (int t = 0; t < threads.length; t++) {
+                    threads[t] = new Thread(() -> {
+                        try {
+                            for (int round = 0; round < 20; round++) {
+                                for (int i = 0; i < 32; i++) {
+                                    assertEquals(chunk(i, 10000), region.readChunk(i, 0, NBTLimiter.unlimited()).getValue());
+                                }
+                            }
+                        } catch (Throwable th) {
+                            synchronized (failure) {
+                                failure[0] = th;
+                            }
+                        }
+                    });
+                    threads[t].start();
+                }
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < 32; i++) {
+                        region.writeChunk(i, 0, chunk(i, 10000));
+                    }
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                synchronized (failure) {
+                    assertNull(failure[0]);
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    /**
+     * Creates the chunk NBT.
+     *
+     * @param seed   Random seed
+     * @param length Random data length
+     * @return Chunk NBT
+     */
+    private static CompoundNBT chunk(int seed, int length) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        CompoundNBT chunk = new CompoundNBT();
+        chunk.putInt("DataVersion", 3465);
+        chunk.putString("Status", "minecraft:full");
+        chunk.put("data", new ByteArrayNBT(data));
+        return chunk;
+    }
+
+    /**
+     * Deletes the temporary directory.
+     *
+     * @param dir Target directory
+     * @throws IOException On I/O exception
+     */
+    private static void delete(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
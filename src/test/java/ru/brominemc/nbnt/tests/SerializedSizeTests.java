@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.NBT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for {@link NBT#serializedSize()} matching the written length.
+ *
+ * @author VidTu
+ */
+public final class SerializedSizeTests {
+    @Test
+    public void testSizes() {
+        String name = "example_tag_name \u0000 \u00e9 \u4e2d";
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                nbt.write(out);
+                assertEquals(byteOut.size(), nbt.serializedSize(), () -> "Invalid payload size for " + nbt.getClass() + ": " + nbt);
+                byteOut.reset();
+                NBT.write(out, nbt);
+                assertEquals(byteOut.size(), NBT.serializedSize(nbt), () -> "Invalid plain size for " + nbt.getClass() + ": " + nbt);
+                byteOut.reset();
+                NBT.writeNamed(out, name, nbt);
+                assertEquals(byteOut.size(), NBT.serializedSizeNamed(name, nbt), () -> "Invalid named size for " + nbt.getClass() + ": " + nbt);
+                byteOut.reset();
+                NBT.writeUnnamed(out, nbt);
+                assertEquals(byteOut.size(), NBT.serializedSizeUnnamed(nbt), () -> "Invalid unnamed size for " + nbt.getClass() + ": " + nbt);
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to compute NBT size (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testEnd() {
+        assertEquals(1L, NBT.serializedSize(null));
+        assertEquals(1L, NBT.serializedSizeNamed("ignored", null));
+        assertEquals(1L, NBT.serializedSizeUnnamed(null));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.IntArrayNBT;
+import ru.brominemc.nbnt.types.ListNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link NBT#skip(DataInput, NBTLimiter)} and related methods matching the readers.
+ *
+ * @author VidTu
+ */
+public final class SkipTests {
+    @Test
+    public void testSkip() {
+        String name = "example_tag_name";
+        for (NBT nbt : TestConstants.nbtObjects()) {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(byteOut)) {
+                NBT.writeNamed(out, name, nbt);
+                out.writeByte(42); // Marker
+                byte[] data = byteOut.toByteArray();
+
+                // Read for reference.
+                NBTLimiter readLimiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false);
+                assertNotNull(NBT.readNamed(ByteBuffer.wrap(data), readLimiter));
+
+                // Skip the stream.
+                NBTLimiter limiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false);
+                try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                    assertTrue(NBT.skipNamed(in, limiter), () -> "Skipper for " + nbt.getClass() + " read NBT End");
+                    assertEquals(42, in.readByte(), () -> "Skipper for " + nbt.getClass() + " skipped invalid amount of bytes");
+                }
+                assertEquals(readLimiter.length(), limiter.length(), () -> "Skipper for " + nbt.getClass() + " counted invalid length");
+                assertEquals(0, limiter.depth(), () -> "Skipper for " + nbt.getClass() + " left invalid depth");
+
+                // Skip the buffer.
+                limiter.reset();
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                assertTrue(NBT.skipUnnamed(buffer, limiter), () -> "Buffer skipper for " + nbt.getClass() + " read NBT End");
+                assertEquals(42, buffer.get(), () -> "Buffer skipper for " + nbt.getClass() + " skipped invalid amount of bytes");
+                assertEquals(readLimiter.length(), limiter.length(), () -> "Buffer skipper for " + nbt.getClass() + " counted invalid length");
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to skip NBT (" + nbt.getClass() + "): " + nbt, e);
+            }
+        }
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        ListNBT list = new ListNBT();
+        list.add(new IntArrayNBT(new int[]{1, 2, 3}));
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(byteOut)) {
+            NBT.write(out, list);
+            byte[] data = byteOut.toByteArray();
+
+            // Truncated.
+            byte[] truncated = Arrays.copyOf(data, data.length - 1);
+            assertThrows(EOFException.class, () -> NBT.skip(new DataInputStream(new ByteArrayInputStream(truncated)), NBTLimiter.unlimited()));
+            assertThrows(BufferUnderflowException.class, () -> NBT.skip(ByteBuffer.wrap(truncated), NBTLimiter.unlimited()));
+
+            // Negative array length. (type, list type, list length, array length)
+            byte[] negative = data.clone();
+            negative[1 + 1 + 4] = (byte) 0x80;
+            assertThrows(IllegalArgumentException.class, () -> NBT.skip(new DataInputStream(new ByteArrayInputStream(negative)), NBTLimiter.unlimited()));
+            assertThrows(IllegalArgumentException.class, () -> NBT.skip(ByteBuffer.wrap(negative), NBTLimiter.unlimited()));
+
+            // Too long.
+            assertThrows(IllegalStateException.class, () -> NBT.skip(ByteBuffer.wrap(data), new NBTLimiter(data.length - 1, 512, false, true, false)));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023-2024 BromineMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.brominemc.nbnt.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.brominemc.nbnt.TestConstants;
+import ru.brominemc.nbnt.types.CompoundNBT;
+import ru.brominemc.nbnt.types.NBT;
+import ru.brominemc.nbnt.types.StringNBT;
+import ru.brominemc.nbnt.utils.NBTLimiter;
+import ru.brominemc.nbnt.utils.NBTStringPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the {@link NBTStringPool} used by the {@link NBTLimiter}.
+ *
+ * @author VidTu
+ */
+public final class StringPoolTests {
+    @Test
+    public void testPool() throws IOException {
+        CompoundNBT source = new CompoundNBT();
+        source.putString("id", "minecraft:stone");
+        source.putByte("Count", (byte) 1);
+        source.putString("name", "Привет, мир");
+        source.putString("long", "x".repeat(100));
+        byte[] data = TestConstants.write(source);
+
+        // Read twice with the same pool.
+        NBTStringPool pool = NBTStringPool.local(64);
+        String preloaded = pool.add(new String("Count".toCharArray()));
+        NBTLimiter limiter = new NBTLimiter(Long.MAX_VALUE, 512, false, true, false, pool);
+        CompoundNBT first = (CompoundNBT) NBT.read(ByteBuffer.wrap(data), limiter);
+        limiter.reset();
+        CompoundNBT second = (CompoundNBT) NBT.read(new DataInputStream(new ByteArrayInputStream(data)), limiter);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(source, first);
+        assertEquals(source, second);
+
+        // Check pooled instances.
+        assertSame(preloaded, TestConstants.key(first, "Count"));
+        assertSame(TestConstants.key(first, "id"), TestConstants.key(second, "id"));
+        assertSame(((StringNBT) first.get("id")).value(), ((StringNBT) second.get("id")).value());
+        assertSame(((StringNBT) first.get("name")).value(), ((StringNBT) second.get("name")).value());
+        assertNotSame(((StringNBT) first.get("long")).value(), ((StringNBT) second.get("long")).value());
+    }
+}
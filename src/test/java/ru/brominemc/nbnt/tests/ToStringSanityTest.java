@@ -53,7 +53,7 @@ public class ToStringSanityTest {
             builder.append('{');
             boolean comma = false;
             for (Field field : nbt.getClass().getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers())) continue;
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) continue;
                 if (comma) {
                     builder.append(',');
                 }